@@ -22,11 +22,12 @@ package sootup.analysis.intraprocedural;
  * #L%
  */
 
-import java.util.IdentityHashMap;
 import java.util.Map;
 import javax.annotation.Nonnull;
 import sootup.core.graph.BasicBlock;
 import sootup.core.graph.StmtGraph;
+import sootup.core.graph.StmtIndex;
+import sootup.core.graph.StmtMap;
 import sootup.core.jimple.common.stmt.Stmt;
 
 /**
@@ -41,13 +42,17 @@ public abstract class AbstractFlowAnalysis<F> {
   /** The graph being analysed. */
   protected final StmtGraph<? extends BasicBlock<?>> graph;
 
+  /** Dense index of the graph nodes, shared by the flow maps. */
+  protected final StmtIndex stmtIndex;
+
   /** Maps graph nodes to IN sets. */
   protected final Map<Stmt, F> stmtToBeforeFlow;
 
   /** Constructs a flow analysis on the given <code>StmtGraph</code>. */
   public AbstractFlowAnalysis(StmtGraph<? extends BasicBlock<?>> graph) {
     this.graph = graph;
-    this.stmtToBeforeFlow = new IdentityHashMap<>(graph.getNodes().size() * 2 + 1);
+    this.stmtIndex = graph.getStmtIndex();
+    this.stmtToBeforeFlow = new StmtMap<>(stmtIndex);
   }
 
   /** Returns the flow object corresponding to the initial values for each graph node. */
@@ -26,6 +26,7 @@ import java.util.*;
 import javax.annotation.Nonnull;
 import sootup.core.graph.BasicBlock;
 import sootup.core.graph.StmtGraph;
+import sootup.core.graph.StmtMap;
 import sootup.core.jimple.common.stmt.JGotoStmt;
 import sootup.core.jimple.common.stmt.Stmt;
 
@@ -328,7 +329,7 @@ public abstract class FlowAnalysis<A> extends AbstractFlowAnalysis<A> {
   /** Constructs a flow analysis on the given <code>DirectedGraph</code>. */
   public FlowAnalysis(@Nonnull StmtGraph<? extends BasicBlock<?>> graph) {
     super(graph);
-    this.stmtToAfterFlow = new IdentityHashMap<>(graph.getNodes().size() * 2 + 1);
+    this.stmtToAfterFlow = new StmtMap<>(stmtIndex);
     this.filterStmtToAfterFlow = Collections.emptyMap();
   }
 
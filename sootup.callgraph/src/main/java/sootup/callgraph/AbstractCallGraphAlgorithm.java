@@ -26,10 +26,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import sootup.callgraph.CallGraph.Call;
-import sootup.core.IdentifierFactory;
 import sootup.core.jimple.basic.Value;
 import sootup.core.jimple.common.expr.AbstractInvokeExpr;
 import sootup.core.jimple.common.expr.JStaticInvokeExpr;
@@ -43,8 +40,6 @@ import sootup.core.model.SootClassMember;
 import sootup.core.model.SootMethod;
 import sootup.core.signatures.MethodSignature;
 import sootup.core.signatures.MethodSubSignature;
-import sootup.core.typehierarchy.HierarchyComparator;
-import sootup.core.typehierarchy.TypeHierarchy;
 import sootup.core.types.ClassType;
 import sootup.core.views.View;
 import sootup.java.core.JavaIdentifierFactory;
@@ -57,12 +52,14 @@ import sootup.java.core.types.JavaClassType;
  */
 public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
 
-  private static final Logger logger = LoggerFactory.getLogger(AbstractCallGraphAlgorithm.class);
-
   @Nonnull protected final View view;
 
+  /** the dispatch tables of the view, which live as long as this algorithm */
+  @Nonnull protected final DispatchTable dispatchTable;
+
   protected AbstractCallGraphAlgorithm(@Nonnull View view) {
     this.view = view;
+    this.dispatchTable = new DispatchTable(view);
   }
 
   /**
@@ -505,19 +502,14 @@ public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
   /**
    * Searches for the signature of the method that is the concrete implementation of <code>m</code>.
    * This is done by checking each superclass and the class itself for whether it contains the
-   * concrete implementation.
+   * concrete implementation. Nothing is memoized; algorithms look the method up in their {@link
+   * #dispatchTable} instead.
    */
   @Nonnull
   public static Optional<MethodSignature> resolveConcreteDispatch(View view, MethodSignature m) {
-    Optional<? extends SootMethod> methodOp = findConcreteMethod(view, m);
-    if (methodOp.isPresent()) {
-      SootMethod method = methodOp.get();
-      if (method.isAbstract()) {
-        return Optional.empty();
-      }
-      return Optional.of(method.getSignature());
-    }
-    return Optional.empty();
+    return DispatchTable.computeMethod(view, m.getDeclClassType(), m.getSubSignature())
+        .filter(method -> !method.isAbstract())
+        .map(SootMethod::getSignature);
   }
 
   /**
@@ -526,69 +518,10 @@ public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
    * @param view it contains all classes
    * @param sig the signature of the searched method
    * @return the found method object, or null if the method was not found.
+   * @see DispatchTable#findMethod(MethodSignature)
    */
   public static Optional<SootMethod> findConcreteMethod(
       @Nonnull View view, @Nonnull MethodSignature sig) {
-    IdentifierFactory identifierFactory = view.getIdentifierFactory();
-    SootClass startclass = view.getClass(sig.getDeclClassType()).orElse(null);
-    if (startclass == null) {
-      logger.warn(
-          "Could not find \""
-              + sig.getDeclClassType()
-              + "\" of method"
-              + sig
-              + " to resolve the concrete method");
-      return Optional.empty();
-    }
-    Optional<SootMethod> startMethod =
-        startclass.getMethod(sig.getSubSignature()).map(method -> (SootMethod) method);
-    if (startMethod.isPresent()) {
-      return startMethod;
-    }
-    TypeHierarchy typeHierarchy = view.getTypeHierarchy();
-
-    Stream<ClassType> superClasses = typeHierarchy.superClassesOf(sig.getDeclClassType());
-    Iterator<ClassType> iterator = superClasses.iterator();
-    while (iterator.hasNext()) {
-      ClassType superClassType = iterator.next();
-      Optional<SootMethod> method =
-          view.getMethod(
-                  identifierFactory.getMethodSignature(superClassType, sig.getSubSignature()))
-              .map(sm -> (SootMethod) sm);
-      if (method.isPresent()) {
-        return method;
-      }
-    }
-
-    // interface1 is a sub-interface of interface2
-    // interface1 is a super-interface of interface2
-    // due to multiple inheritance in interfaces
-    final HierarchyComparator hierarchyComparator =
-        new HierarchyComparator(view.getTypeHierarchy());
-    Optional<SootMethod> defaultMethod =
-        typeHierarchy
-            .implementedInterfacesOf(sig.getDeclClassType())
-            .map(
-                classType ->
-                    view.getMethod(
-                        identifierFactory.getMethodSignature(classType, sig.getSubSignature())))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .min(
-                (m1, m2) ->
-                    hierarchyComparator.compare(
-                        m1.getDeclaringClassType(), m2.getDeclaringClassType()))
-            .map(method -> (SootMethod) method);
-
-    if (defaultMethod.isPresent()) {
-      return defaultMethod;
-    }
-    logger.warn(
-        "Could not find \""
-            + sig.getSubSignature()
-            + "\" in "
-            + sig.getDeclClassType().getClassName()
-            + " and in its superclasses and interfaces");
-    return Optional.empty();
+    return DispatchTable.computeMethod(view, sig.getDeclClassType(), sig.getSubSignature());
   }
 }
@@ -89,7 +89,7 @@ public class ClassHierarchyAnalysisAlgorithm extends AbstractCallGraphAlgorithm
       return Stream.empty();
     }
 
-    SootMethod targetMethod = findConcreteMethod(view, targetMethodSignature).orElse(null);
+    SootMethod targetMethod = dispatchTable.findMethod(targetMethodSignature).orElse(null);
 
     if (targetMethod == null
         || MethodModifier.isStatic(targetMethod.getModifiers())
@@ -107,8 +107,7 @@ public class ClassHierarchyAnalysisAlgorithm extends AbstractCallGraphAlgorithm
         noImplementedMethod.stream()
             .map(
                 classType ->
-                    resolveConcreteDispatch(
-                        view,
+                    dispatchTable.resolveConcreteDispatch(
                         factory.getMethodSignature(
                             classType, targetMethodSignature.getSubSignature())))
             .filter(Optional::isPresent)
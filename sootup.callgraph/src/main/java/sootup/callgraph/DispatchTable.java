@@ -0,0 +1,227 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 2019-2024 Christian Brüggemann, Ben Hermann, Markus Schmidt, Jonas Klauke and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sootup.core.IdentifierFactory;
+import sootup.core.ViewChangeListener;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.signatures.MethodSubSignature;
+import sootup.core.typehierarchy.HierarchyComparator;
+import sootup.core.typehierarchy.TypeHierarchy;
+import sootup.core.types.ClassType;
+import sootup.core.views.MutableView;
+import sootup.core.views.View;
+
+/**
+ * The virtual dispatch tables of the classes of a {@link View}: for each class, it maps a method
+ * sub-signature to the method that is invoked on an instance of the class. The method is the one
+ * declared by the class itself or by its nearest superclass, or else the most specific default
+ * method of its interfaces.
+ *
+ * <p>The tables are built lazily, one entry at a time, so that resolving the same receiver type and
+ * sub-signature again is a hash lookup. They can be used concurrently. Each call graph algorithm
+ * owns the tables of its view (see {@link AbstractCallGraphAlgorithm#dispatchTable}), so the
+ * resolved methods are released together with the algorithm. The tables of a {@link MutableView}
+ * are cleared whenever the view changes.
+ */
+public final class DispatchTable {
+
+  private static final Logger logger = LoggerFactory.getLogger(DispatchTable.class);
+
+  @Nonnull private final View view;
+
+  @Nonnull
+  private final Map<ClassType, Map<MethodSubSignature, Optional<SootMethod>>> tables =
+      new ConcurrentHashMap<>();
+
+  public DispatchTable(@Nonnull View view) {
+    this.view = view;
+    if (view instanceof MutableView) {
+      ((MutableView) view)
+          .addChangeListener(new ClearingViewChangeListener((MutableView) view, tables));
+    }
+  }
+
+  /**
+   * Returns the method that is invoked by a call of the given sub-signature on an instance of the
+   * given class. The method may be abstract. If the class is not contained in the view or neither
+   * it nor one of its supertypes declares the method, an empty Optional is returned.
+   */
+  @Nonnull
+  public Optional<SootMethod> findMethod(
+      @Nonnull ClassType classType, @Nonnull MethodSubSignature subSignature) {
+    Map<MethodSubSignature, Optional<SootMethod>> table =
+        tables.computeIfAbsent(classType, type -> new ConcurrentHashMap<>());
+    Optional<SootMethod> method = table.get(subSignature);
+    if (method == null) {
+      // computed outside of the map, so that concurrent lookups of other entries are not blocked
+      method = computeMethod(view, classType, subSignature);
+      Optional<SootMethod> existing = table.putIfAbsent(subSignature, method);
+      if (existing != null) {
+        method = existing;
+      }
+    }
+    return method;
+  }
+
+  /** Returns the method that is invoked by a call of the given signature. */
+  @Nonnull
+  public Optional<SootMethod> findMethod(@Nonnull MethodSignature signature) {
+    return findMethod(signature.getDeclClassType(), signature.getSubSignature());
+  }
+
+  /**
+   * Returns the signature of the concrete method that is invoked by a call of the given signature,
+   * i.e. an empty Optional if the invoked method is abstract or there is none.
+   */
+  @Nonnull
+  public Optional<MethodSignature> resolveConcreteDispatch(@Nonnull MethodSignature signature) {
+    return findMethod(signature)
+        .filter(method -> !method.isAbstract())
+        .map(SootMethod::getSignature);
+  }
+
+  /** Resolves a method like {@link #findMethod(ClassType, MethodSubSignature)} without a table. */
+  @Nonnull
+  static Optional<SootMethod> computeMethod(
+      @Nonnull View view, @Nonnull ClassType classType, @Nonnull MethodSubSignature subSignature) {
+    IdentifierFactory identifierFactory = view.getIdentifierFactory();
+    SootClass startclass = view.getClass(classType).orElse(null);
+    if (startclass == null) {
+      logger.warn(
+          "Could not find \""
+              + classType
+              + "\" of method"
+              + identifierFactory.getMethodSignature(classType, subSignature)
+              + " to resolve the concrete method");
+      return Optional.empty();
+    }
+    Optional<SootMethod> startMethod =
+        startclass.getMethod(subSignature).map(method -> (SootMethod) method);
+    if (startMethod.isPresent()) {
+      return startMethod;
+    }
+    TypeHierarchy typeHierarchy = view.getTypeHierarchy();
+
+    Iterator<ClassType> iterator = typeHierarchy.superClassesOf(classType).iterator();
+    while (iterator.hasNext()) {
+      ClassType superClassType = iterator.next();
+      Optional<SootMethod> method =
+          view.getMethod(identifierFactory.getMethodSignature(superClassType, subSignature))
+              .map(sm -> (SootMethod) sm);
+      if (method.isPresent()) {
+        return method;
+      }
+    }
+
+    // interface1 is a sub-interface of interface2
+    // interface1 is a super-interface of interface2
+    // due to multiple inheritance in interfaces
+    final HierarchyComparator hierarchyComparator = new HierarchyComparator(typeHierarchy);
+    Optional<SootMethod> defaultMethod =
+        typeHierarchy
+            .implementedInterfacesOf(classType)
+            .map(
+                interfaceType ->
+                    view.getMethod(
+                        identifierFactory.getMethodSignature(interfaceType, subSignature)))
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .min(
+                (m1, m2) ->
+                    hierarchyComparator.compare(
+                        m1.getDeclaringClassType(), m2.getDeclaringClassType()))
+            .map(method -> (SootMethod) method);
+
+    if (defaultMethod.isPresent()) {
+      return defaultMethod;
+    }
+    logger.warn(
+        "Could not find \""
+            + subSignature
+            + "\" in "
+            + classType.getClassName()
+            + " and in its superclasses and interfaces");
+    return Optional.empty();
+  }
+
+  /**
+   * Drops all tables, as any change of a class may change the dispatch of other classes. The view
+   * keeps its listeners, so the tables are only referenced weakly: once they are no longer used,
+   * the listener removes itself from the view on the next change.
+   */
+  private static class ClearingViewChangeListener implements ViewChangeListener {
+
+    @Nonnull private final MutableView view;
+
+    @Nonnull
+    private final WeakReference<Map<ClassType, Map<MethodSubSignature, Optional<SootMethod>>>>
+        tables;
+
+    ClearingViewChangeListener(
+        @Nonnull MutableView view,
+        @Nonnull Map<ClassType, Map<MethodSubSignature, Optional<SootMethod>>> tables) {
+      this.view = view;
+      this.tables = new WeakReference<>(tables);
+    }
+
+    private void clear() {
+      Map<ClassType, Map<MethodSubSignature, Optional<SootMethod>>> tables = this.tables.get();
+      if (tables != null) {
+        tables.clear();
+      } else {
+        view.removeChangeListener(this);
+      }
+    }
+
+    @Override
+    public void classAdded(SootClass sc) {
+      clear();
+    }
+
+    @Override
+    public void classRemoved(SootClass sc) {
+      clear();
+    }
+
+    @Override
+    public void methodAdded(SootMethod m) {
+      clear();
+    }
+
+    @Override
+    public void methodRemoved(SootMethod m) {
+      clear();
+    }
+  }
+}
@@ -132,7 +132,7 @@ public class RapidTypeAnalysisAlgorithm extends AbstractCallGraphAlgorithm {
     Stream<MethodSignature> result = Stream.of(resolveBaseMethodSignature);
 
     SootMethod concreteBaseMethod =
-        findConcreteMethod(view, resolveBaseMethodSignature).orElse(null);
+        dispatchTable.findMethod(resolveBaseMethodSignature).orElse(null);
 
     if (concreteBaseMethod == null
         || MethodModifier.isStatic(concreteBaseMethod.getModifiers())
@@ -177,7 +177,7 @@ public class RapidTypeAnalysisAlgorithm extends AbstractCallGraphAlgorithm {
                   view.getIdentifierFactory()
                       .getMethodSignature(classType, resolveBaseMethodSignature.getSubSignature());
               if (instantiatedClasses.contains(classType)) {
-                return resolveConcreteDispatch(view, method);
+                return dispatchTable.resolveConcreteDispatch(method);
               } else {
                 saveIgnoredCall(source, method, invokableStmt);
                 return Optional.<MethodSignature>empty();
@@ -253,7 +253,7 @@ public class RapidTypeAnalysisAlgorithm extends AbstractCallGraphAlgorithm {
       newEdges.forEach(
           call -> {
             MethodSignature concreteTarget =
-                resolveConcreteDispatch(view, call.getTargetMethodSignature()).orElse(null);
+                dispatchTable.resolveConcreteDispatch(call.getTargetMethodSignature()).orElse(null);
             if (concreteTarget == null) {
               return;
             }
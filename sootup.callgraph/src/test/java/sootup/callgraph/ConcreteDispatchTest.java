@@ -11,11 +11,14 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import sootup.core.IdentifierFactory;
 import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.SootMethod;
 import sootup.core.signatures.MethodSignature;
 import sootup.core.types.ClassType;
 import sootup.java.bytecode.inputlocation.DefaultRTJarAnalysisInputLocation;
 import sootup.java.bytecode.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.JavaSootMethod;
 import sootup.java.core.views.JavaView;
+import sootup.java.core.views.MutableJavaView;
 
 /** @author : Hasitha Rajapakse, Jonas Klauke * */
 @Tag("Java8")
@@ -177,4 +180,36 @@ public class ConcreteDispatchTest {
     assertNotNull(candidateSubInterface2);
     assertEquals(candidateSubInterface, candidateSubInterface2);
   }
+
+  @Test
+  public void dispatchTableMemoizesMethods() {
+    DispatchTable dispatchTable = new DispatchTable(view);
+
+    IdentifierFactory identifierFactory = view.getIdentifierFactory();
+    MethodSignature methodA =
+        identifierFactory.getMethodSignature(
+            getClassType("A"), "method2", "void", Collections.emptyList());
+    SootMethod target = dispatchTable.findMethod(methodA).orElse(null);
+    assertNotNull(target);
+    assertEquals(getClassType("B"), target.getDeclaringClassType());
+    assertSame(target, dispatchTable.findMethod(methodA).orElse(null));
+  }
+
+  @Test
+  public void dispatchTableOfMutableViewFollowsChanges() {
+    MutableJavaView mutableView =
+        new MutableJavaView(
+            new JavaClassPathAnalysisInputLocation(
+                "src/test/resources/callgraph/ConcreteDispatch/binary"));
+    IdentifierFactory identifierFactory = mutableView.getIdentifierFactory();
+    MethodSignature methodA =
+        identifierFactory.getMethodSignature(
+            getClassType("A"), "method2", "void", Collections.emptyList());
+    DispatchTable dispatchTable = new DispatchTable(mutableView);
+    JavaSootMethod target = (JavaSootMethod) dispatchTable.findMethod(methodA).orElse(null);
+    assertNotNull(target);
+
+    mutableView.removeMethod(target);
+    assertFalse(dispatchTable.findMethod(methodA).isPresent());
+  }
 }
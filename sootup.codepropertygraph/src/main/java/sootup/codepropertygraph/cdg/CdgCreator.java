@@ -54,7 +54,7 @@ public class CdgCreator {
     }
 
     StmtGraph<?> stmtGraph = method.getBody().getStmtGraph();
-    PostDominanceFinder postDominanceFinder = new PostDominanceFinder(stmtGraph);
+    PostDominanceFinder postDominanceFinder = stmtGraph.getPostDominanceFinder();
 
     List<? extends BasicBlock<?>> blocks = stmtGraph.getBlocksSorted();
     for (BasicBlock<?> currBlock : blocks) {
@@ -22,6 +22,7 @@ package sootup.core;
  * #L%
  */
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import javax.annotation.Nonnull;
@@ -215,6 +216,28 @@ public interface IdentifierFactory {
    */
   ClassType getClassType(String fullyQualifiedClassName);
 
+  /**
+   * Returns the names from which {@link #getClassTypeFromNames(List)} restores a class type that is
+   * equal to the given one, e.g. to store the type in a file. Factories that create different kinds
+   * of class types add what distinguishes them, e.g. the module of a class.
+   *
+   * @throws IllegalArgumentException if the type can not be restored from names by this factory
+   */
+  @Nonnull
+  default List<String> getClassTypeNames(@Nonnull ClassType type) {
+    String name = type.getFullyQualifiedName();
+    if (!getClassType(name).equals(type)) {
+      throw new IllegalArgumentException("The class type " + type + " can not be restored.");
+    }
+    return Collections.singletonList(name);
+  }
+
+  /** Restores a class type from the names created by {@link #getClassTypeNames(ClassType)}. */
+  @Nonnull
+  default ClassType getClassTypeFromNames(@Nonnull List<String> names) {
+    return getClassType(names.get(0));
+  }
+
   /**
    * Gets the type.
    *
@@ -0,0 +1,39 @@
+package sootup.core.cache;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+/**
+ * Implemented by {@link ClassCache}s that count their hits, misses and evictions, e.g. to tune the
+ * cache size of a view that is shared between analysis threads.
+ */
+public interface CacheStatistics {
+
+  /** Returns the number of lookups that found a cached class. */
+  long getHitCount();
+
+  /** Returns the number of lookups that did not find a cached class. */
+  long getMissCount();
+
+  /** Returns the number of classes that were removed from the cache to make room for others. */
+  long getEvictionCount();
+}
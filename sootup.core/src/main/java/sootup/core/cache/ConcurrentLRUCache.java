@@ -0,0 +1,161 @@
+package sootup.core.cache;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+import sootup.core.model.SootClass;
+import sootup.core.types.ClassType;
+
+/**
+ * Thread-safe cache that implements a least recently used strategy per segment. The cached classes
+ * are distributed over a fixed number of segments by the hash of their {@link ClassType}; each
+ * segment is an access-ordered map with its own lock and evicts its least recently used class once
+ * it exceeds its share of the total capacity. Threads that access different segments do not contend
+ * with each other.
+ *
+ * <p>As the recency order is maintained per segment, the evicted class is not necessarily the least
+ * recently used class of the whole cache.
+ */
+public class ConcurrentLRUCache implements ClassCache, CacheStatistics {
+
+  private final Segment[] segments;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public ConcurrentLRUCache(int cacheSize, int segmentCount) {
+    if (cacheSize < 1) {
+      throw new IllegalArgumentException("Cache size has to be at least 1");
+    }
+    if (segmentCount < 1) {
+      throw new IllegalArgumentException("Segment count has to be at least 1");
+    }
+    // do not create segments that could not hold a single class
+    int segments = Math.min(segmentCount, cacheSize);
+    this.segments = new Segment[segments];
+    for (int i = 0; i < segments; i++) {
+      // distribute the remainder so that the capacities sum up to cacheSize
+      int capacity = cacheSize / segments + (i < cacheSize % segments ? 1 : 0);
+      this.segments[i] = new Segment(capacity);
+    }
+  }
+
+  @Nonnull
+  private Segment segmentFor(@Nonnull ClassType classType) {
+    int hash = classType.hashCode();
+    // spread the higher bits as ClassType hashes are not well distributed in the lower bits
+    hash ^= (hash >>> 16);
+    return segments[(hash & 0x7fffffff) % segments.length];
+  }
+
+  @Override
+  public SootClass getClass(ClassType classType) {
+    Segment segment = segmentFor(classType);
+    SootClass sootClass;
+    synchronized (segment) {
+      sootClass = segment.get(classType);
+    }
+    if (sootClass == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return sootClass;
+  }
+
+  @Nonnull
+  @Override
+  public Collection<SootClass> getClasses() {
+    List<SootClass> classes = new ArrayList<>();
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        classes.addAll(segment.values());
+      }
+    }
+    return classes;
+  }
+
+  @Override
+  public void putClass(ClassType classType, SootClass sootClass) {
+    Segment segment = segmentFor(classType);
+    synchronized (segment) {
+      segment.putIfAbsent(classType, sootClass);
+    }
+  }
+
+  @Override
+  public boolean hasClass(ClassType classType) {
+    Segment segment = segmentFor(classType);
+    synchronized (segment) {
+      return segment.containsKey(classType);
+    }
+  }
+
+  @Override
+  public int size() {
+    int size = 0;
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  @Override
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  @Override
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  /** An access-ordered map that is only accessed while holding its own monitor. */
+  private class Segment extends LinkedHashMap<ClassType, SootClass> {
+    private final int capacity;
+
+    Segment(int capacity) {
+      super(capacity, 1, true);
+      this.capacity = capacity;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<ClassType, SootClass> eldest) {
+      if (size() > capacity) {
+        evictions.increment();
+        return true;
+      }
+      return false;
+    }
+  }
+}
@@ -33,7 +33,7 @@ import sootup.core.types.ClassType;
 public class MutableFullCache extends FullCache implements MutableClassCache {
 
   @Override
-  public SootClass removeClass(@Nonnull ClassType classType) {
+  public synchronized SootClass removeClass(@Nonnull ClassType classType) {
     if (this.hasClass(classType)) {
       return cache.remove(classType);
     }
@@ -0,0 +1,50 @@
+package sootup.core.cache.body;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import sootup.core.model.Body;
+import sootup.core.model.SootMethod;
+
+/**
+ * Decides how long the {@link Body} of a {@link SootMethod} is kept in memory after it has been
+ * resolved. A policy is configured on the view and handed to every method the view creates.
+ *
+ * @see StrongBodyRetentionPolicy
+ * @see SoftBodyRetentionPolicy
+ * @see WeightedLRUBodyRetentionPolicy
+ * @see RebuildBodyRetentionPolicy
+ */
+public interface BodyRetentionPolicy {
+
+  /**
+   * Creates the holder that is asked for the body of a single method.
+   *
+   * @param bodyResolver resolves the body from the {@link sootup.core.frontend.BodySource} of the
+   *     method. It may be called again whenever a previously resolved body has been released.
+   * @return a thread-safe supplier of the body
+   */
+  @Nonnull
+  Supplier<Body> createBodyHolder(@Nonnull Supplier<Body> bodyResolver);
+}
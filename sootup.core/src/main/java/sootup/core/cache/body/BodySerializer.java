@@ -0,0 +1,1384 @@
+package sootup.core.cache.body;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import javax.annotation.Nonnull;
+import sootup.core.IdentifierFactory;
+import sootup.core.graph.BasicBlock;
+import sootup.core.graph.MutableBlockStmtGraph;
+import sootup.core.graph.StmtGraph;
+import sootup.core.jimple.Jimple;
+import sootup.core.jimple.basic.Immediate;
+import sootup.core.jimple.basic.LValue;
+import sootup.core.jimple.basic.Local;
+import sootup.core.jimple.basic.NoPositionInformation;
+import sootup.core.jimple.basic.SimpleStmtPositionInfo;
+import sootup.core.jimple.basic.StmtPositionInfo;
+import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.common.constant.BooleanConstant;
+import sootup.core.jimple.common.constant.ClassConstant;
+import sootup.core.jimple.common.constant.DoubleConstant;
+import sootup.core.jimple.common.constant.EnumConstant;
+import sootup.core.jimple.common.constant.FloatConstant;
+import sootup.core.jimple.common.constant.IntConstant;
+import sootup.core.jimple.common.constant.LongConstant;
+import sootup.core.jimple.common.constant.MethodHandle;
+import sootup.core.jimple.common.constant.MethodType;
+import sootup.core.jimple.common.constant.NullConstant;
+import sootup.core.jimple.common.constant.StringConstant;
+import sootup.core.jimple.common.expr.AbstractBinopExpr;
+import sootup.core.jimple.common.expr.AbstractConditionExpr;
+import sootup.core.jimple.common.expr.AbstractInstanceInvokeExpr;
+import sootup.core.jimple.common.expr.AbstractInvokeExpr;
+import sootup.core.jimple.common.expr.JAddExpr;
+import sootup.core.jimple.common.expr.JAndExpr;
+import sootup.core.jimple.common.expr.JCastExpr;
+import sootup.core.jimple.common.expr.JCmpExpr;
+import sootup.core.jimple.common.expr.JCmpgExpr;
+import sootup.core.jimple.common.expr.JCmplExpr;
+import sootup.core.jimple.common.expr.JDivExpr;
+import sootup.core.jimple.common.expr.JDynamicInvokeExpr;
+import sootup.core.jimple.common.expr.JEqExpr;
+import sootup.core.jimple.common.expr.JGeExpr;
+import sootup.core.jimple.common.expr.JGtExpr;
+import sootup.core.jimple.common.expr.JInstanceOfExpr;
+import sootup.core.jimple.common.expr.JInterfaceInvokeExpr;
+import sootup.core.jimple.common.expr.JLeExpr;
+import sootup.core.jimple.common.expr.JLengthExpr;
+import sootup.core.jimple.common.expr.JLtExpr;
+import sootup.core.jimple.common.expr.JMulExpr;
+import sootup.core.jimple.common.expr.JNeExpr;
+import sootup.core.jimple.common.expr.JNegExpr;
+import sootup.core.jimple.common.expr.JNewArrayExpr;
+import sootup.core.jimple.common.expr.JNewExpr;
+import sootup.core.jimple.common.expr.JNewMultiArrayExpr;
+import sootup.core.jimple.common.expr.JOrExpr;
+import sootup.core.jimple.common.expr.JRemExpr;
+import sootup.core.jimple.common.expr.JShlExpr;
+import sootup.core.jimple.common.expr.JShrExpr;
+import sootup.core.jimple.common.expr.JSpecialInvokeExpr;
+import sootup.core.jimple.common.expr.JStaticInvokeExpr;
+import sootup.core.jimple.common.expr.JSubExpr;
+import sootup.core.jimple.common.expr.JUshrExpr;
+import sootup.core.jimple.common.expr.JVirtualInvokeExpr;
+import sootup.core.jimple.common.expr.JXorExpr;
+import sootup.core.jimple.common.ref.IdentityRef;
+import sootup.core.jimple.common.ref.JArrayRef;
+import sootup.core.jimple.common.ref.JCaughtExceptionRef;
+import sootup.core.jimple.common.ref.JInstanceFieldRef;
+import sootup.core.jimple.common.ref.JParameterRef;
+import sootup.core.jimple.common.ref.JStaticFieldRef;
+import sootup.core.jimple.common.ref.JThisRef;
+import sootup.core.jimple.common.stmt.BranchingStmt;
+import sootup.core.jimple.common.stmt.FallsThroughStmt;
+import sootup.core.jimple.common.stmt.JAssignStmt;
+import sootup.core.jimple.common.stmt.JGotoStmt;
+import sootup.core.jimple.common.stmt.JIdentityStmt;
+import sootup.core.jimple.common.stmt.JIfStmt;
+import sootup.core.jimple.common.stmt.JInvokeStmt;
+import sootup.core.jimple.common.stmt.JNopStmt;
+import sootup.core.jimple.common.stmt.JReturnStmt;
+import sootup.core.jimple.common.stmt.JReturnVoidStmt;
+import sootup.core.jimple.common.stmt.JThrowStmt;
+import sootup.core.jimple.common.stmt.Stmt;
+import sootup.core.jimple.javabytecode.stmt.JBreakpointStmt;
+import sootup.core.jimple.javabytecode.stmt.JEnterMonitorStmt;
+import sootup.core.jimple.javabytecode.stmt.JExitMonitorStmt;
+import sootup.core.jimple.javabytecode.stmt.JRetStmt;
+import sootup.core.jimple.javabytecode.stmt.JSwitchStmt;
+import sootup.core.jimple.visitor.AbstractStmtVisitor;
+import sootup.core.jimple.visitor.AbstractValueVisitor;
+import sootup.core.model.Body;
+import sootup.core.model.FullPosition;
+import sootup.core.model.LinePosition;
+import sootup.core.model.Position;
+import sootup.core.signatures.FieldSignature;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.signatures.MethodSubSignature;
+import sootup.core.types.ArrayType;
+import sootup.core.types.ClassType;
+import sootup.core.types.NullType;
+import sootup.core.types.PrimitiveType;
+import sootup.core.types.Type;
+import sootup.core.types.UnknownType;
+import sootup.core.types.VoidType;
+
+/**
+ * Converts a {@link Body} into a compact binary form and back, e.g. to keep it in a {@link
+ * PersistentBodyCache}.
+ *
+ * <p>The {@link StmtGraph} is stored block by block together with the (exceptional) successors of
+ * each block. Strings, types, signatures and locals are stored once and referenced by an index
+ * afterwards. A body that contains a construct without a binary form (e.g. a phi expression) can
+ * not be serialized.
+ */
+public class BodySerializer {
+
+  /** The version of the binary format. It has to be increased whenever the format changes. */
+  public static final int FORMAT_VERSION = 2;
+
+  private static final int MAGIC = 0x4a424f44;
+
+  /* kinds of statements */
+  private static final int IDENTITY = 0;
+  private static final int ASSIGN = 1;
+  private static final int INVOKE = 2;
+  private static final int IF = 3;
+  private static final int GOTO = 4;
+  private static final int NOP = 5;
+  private static final int RETURN = 6;
+  private static final int RETURN_VOID = 7;
+  private static final int THROW = 8;
+  private static final int ENTER_MONITOR = 9;
+  private static final int EXIT_MONITOR = 10;
+  private static final int TABLE_SWITCH = 11;
+  private static final int LOOKUP_SWITCH = 12;
+  private static final int RET = 13;
+  private static final int BREAKPOINT = 14;
+
+  /* kinds of values */
+  private static final int LOCAL = 0;
+  private static final int INT_CONSTANT = 1;
+  private static final int LONG_CONSTANT = 2;
+  private static final int FLOAT_CONSTANT = 3;
+  private static final int DOUBLE_CONSTANT = 4;
+  private static final int NULL_CONSTANT = 5;
+  private static final int BOOLEAN_CONSTANT = 6;
+  private static final int STRING_CONSTANT = 7;
+  private static final int CLASS_CONSTANT = 8;
+  private static final int ENUM_CONSTANT = 9;
+  private static final int METHOD_HANDLE = 10;
+  private static final int METHOD_TYPE = 11;
+  private static final int THIS_REF = 12;
+  private static final int PARAMETER_REF = 13;
+  private static final int CAUGHT_EXCEPTION_REF = 14;
+  private static final int ARRAY_REF = 15;
+  private static final int INSTANCE_FIELD_REF = 16;
+  private static final int STATIC_FIELD_REF = 17;
+  private static final int ADD = 18;
+  private static final int AND = 19;
+  private static final int CMP = 20;
+  private static final int CMPG = 21;
+  private static final int CMPL = 22;
+  private static final int DIV = 23;
+  private static final int EQ = 24;
+  private static final int NE = 25;
+  private static final int GE = 26;
+  private static final int GT = 27;
+  private static final int LE = 28;
+  private static final int LT = 29;
+  private static final int MUL = 30;
+  private static final int OR = 31;
+  private static final int REM = 32;
+  private static final int SHL = 33;
+  private static final int SHR = 34;
+  private static final int USHR = 35;
+  private static final int SUB = 36;
+  private static final int XOR = 37;
+  private static final int NEG = 38;
+  private static final int LENGTH = 39;
+  private static final int CAST = 40;
+  private static final int INSTANCE_OF = 41;
+  private static final int NEW = 42;
+  private static final int NEW_ARRAY = 43;
+  private static final int NEW_MULTI_ARRAY = 44;
+  private static final int VIRTUAL_INVOKE = 45;
+  private static final int SPECIAL_INVOKE = 46;
+  private static final int INTERFACE_INVOKE = 47;
+  private static final int STATIC_INVOKE = 48;
+  private static final int DYNAMIC_INVOKE = 49;
+
+  /* kinds of types */
+  private static final int PRIMITIVE_TYPE = 0;
+  private static final int CLASS_TYPE = 1;
+  private static final int ARRAY_TYPE = 2;
+  private static final int VOID_TYPE = 3;
+  private static final int NULL_TYPE = 4;
+  private static final int UNKNOWN_TYPE = 5;
+
+  /* kinds of positions */
+  private static final int NO_POSITION = 0;
+  private static final int LINE_POSITION = 1;
+  private static final int FULL_POSITION = 2;
+
+  @Nonnull private final IdentifierFactory identifierFactory;
+  @Nonnull private final BiFunction<String, Type, Local> localFactory;
+
+  public BodySerializer(@Nonnull IdentifierFactory identifierFactory) {
+    this(identifierFactory, Jimple::newLocal);
+  }
+
+  /**
+   * @param identifierFactory creates the types and signatures of deserialized bodies
+   * @param localFactory creates the locals of deserialized bodies from their name and type
+   */
+  public BodySerializer(
+      @Nonnull IdentifierFactory identifierFactory,
+      @Nonnull BiFunction<String, Type, Local> localFactory) {
+    this.identifierFactory = identifierFactory;
+    this.localFactory = localFactory;
+  }
+
+  /**
+   * Returns the binary form of the given body.
+   *
+   * @throws IllegalArgumentException if the body contains a construct that has no binary form
+   */
+  @Nonnull
+  public byte[] serialize(@Nonnull Body body) {
+    return new Writer().write(body);
+  }
+
+  /**
+   * Creates a body from its binary form.
+   *
+   * @throws IllegalArgumentException if the data is not the binary form of a body
+   */
+  @Nonnull
+  public Body deserialize(@Nonnull byte[] data) {
+    try {
+      return new Reader(ByteBuffer.wrap(data)).read();
+    } catch (BufferUnderflowException | IndexOutOfBoundsException | ClassCastException e) {
+      throw new IllegalArgumentException("The data is not a serialized body.", e);
+    }
+  }
+
+  /** Writes a body; one instance per body as the indices of the shared entries are per body. */
+  private class Writer {
+
+    @Nonnull private final ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+    @Nonnull private final Map<String, Integer> strings = new HashMap<>();
+    @Nonnull private final Map<Type, Integer> types = new HashMap<>();
+    @Nonnull private final Map<MethodSignature, Integer> methodSignatures = new HashMap<>();
+    @Nonnull private final Map<FieldSignature, Integer> fieldSignatures = new HashMap<>();
+    @Nonnull private final Map<Local, Integer> locals = new HashMap<>();
+    @Nonnull private final StmtWriter stmtWriter = new StmtWriter();
+    @Nonnull private final ValueWriter valueWriter = new ValueWriter();
+
+    @Nonnull
+    byte[] write(@Nonnull Body body) {
+      writeInt(MAGIC);
+      writeVarInt(FORMAT_VERSION);
+      writeMethodSignature(body.getMethodSignature());
+      writePosition(body.getPosition());
+
+      Set<Local> bodyLocals = body.getLocals();
+      writeVarInt(bodyLocals.size());
+      bodyLocals.forEach(this::writeLocal);
+
+      StmtGraph<?> graph = body.getStmtGraph();
+      // the sorted order omits blocks that are not reachable from the start (e.g. dead handlers)
+      List<BasicBlock<?>> blocks = new ArrayList<>(graph.getBlocksSorted());
+      Map<Stmt, Integer> blockIdx = new IdentityHashMap<>();
+      for (BasicBlock<?> block : blocks) {
+        blockIdx.put(block.getHead(), blockIdx.size());
+      }
+      for (BasicBlock<?> block : graph.getBlocks()) {
+        if (!blockIdx.containsKey(block.getHead())) {
+          blockIdx.put(block.getHead(), blockIdx.size());
+          blocks.add(block);
+        }
+      }
+
+      writeVarInt(blocks.size());
+      for (BasicBlock<?> block : blocks) {
+        List<Stmt> stmts = block.getStmts();
+        writeVarInt(stmts.size());
+        stmts.forEach(stmt -> stmt.accept(stmtWriter));
+      }
+      for (BasicBlock<?> block : blocks) {
+        List<? extends BasicBlock<?>> successors = block.getSuccessors();
+        writeVarInt(successors.size());
+        successors.forEach(successor -> writeBlockIndex(blockIdx, successor));
+
+        Map<? extends ClassType, ? extends BasicBlock<?>> exceptionalSuccessors =
+            block.getExceptionalSuccessors();
+        writeVarInt(exceptionalSuccessors.size());
+        exceptionalSuccessors.forEach(
+            (exceptionType, handler) -> {
+              writeType(exceptionType);
+              writeBlockIndex(blockIdx, handler);
+            });
+      }
+
+      Integer startingBlockIdx = blockIdx.get(graph.getStartingStmt());
+      writeVarInt(startingBlockIdx == null ? 0 : startingBlockIdx);
+      return out.toByteArray();
+    }
+
+    private void writeBlockIndex(@Nonnull Map<Stmt, Integer> blockIdx, BasicBlock<?> block) {
+      Integer idx = block == null ? null : blockIdx.get(block.getHead());
+      if (idx == null) {
+        throw new IllegalArgumentException("Successor block is not part of the StmtGraph.");
+      }
+      writeVarInt(idx);
+    }
+
+    private void writeVarInt(int value) {
+      while ((value & ~0x7F) != 0) {
+        out.write((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      out.write(value);
+    }
+
+    private void writeSignedVarInt(int value) {
+      writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    private void writeInt(int value) {
+      out.write(value >>> 24);
+      out.write(value >>> 16);
+      out.write(value >>> 8);
+      out.write(value);
+    }
+
+    private void writeLong(long value) {
+      writeInt((int) (value >>> 32));
+      writeInt((int) value);
+    }
+
+    /** Writes the index of an already written entry or 0 to announce that a definition follows. */
+    private <T> boolean writeReference(@Nonnull Map<T, Integer> entries, @Nonnull T entry) {
+      Integer idx = entries.get(entry);
+      if (idx != null) {
+        writeVarInt(idx + 1);
+        return true;
+      }
+      writeVarInt(0);
+      return false;
+    }
+
+    private void writeString(@Nonnull String str) {
+      if (writeReference(strings, str)) {
+        return;
+      }
+      byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+      writeVarInt(bytes.length);
+      out.write(bytes, 0, bytes.length);
+      strings.put(str, strings.size());
+    }
+
+    private void writeType(@Nonnull Type type) {
+      if (writeReference(types, type)) {
+        return;
+      }
+      if (type instanceof PrimitiveType) {
+        String name = ((PrimitiveType) type).getName();
+        // augmented types of the type assigner (e.g. integer1) can not be restored by name
+        if (!identifierFactory.getPrimitiveType(name).filter(type::equals).isPresent()) {
+          throw new IllegalArgumentException("Unsupported primitive type " + name);
+        }
+        writeVarInt(PRIMITIVE_TYPE);
+        writeString(name);
+      } else if (type instanceof ClassType) {
+        List<String> parts = identifierFactory.getClassTypeNames((ClassType) type);
+        writeVarInt(CLASS_TYPE);
+        writeVarInt(parts.size());
+        parts.forEach(this::writeString);
+      } else if (type instanceof ArrayType) {
+        writeVarInt(ARRAY_TYPE);
+        writeType(((ArrayType) type).getBaseType());
+        writeVarInt(((ArrayType) type).getDimension());
+      } else if (type == VoidType.getInstance()) {
+        writeVarInt(VOID_TYPE);
+      } else if (type == NullType.getInstance()) {
+        writeVarInt(NULL_TYPE);
+      } else if (type == UnknownType.getInstance()) {
+        writeVarInt(UNKNOWN_TYPE);
+      } else {
+        throw new IllegalArgumentException("The type " + type + " can not be serialized.");
+      }
+      types.put(type, types.size());
+    }
+
+    private void writeTypes(@Nonnull List<Type> typeList) {
+      writeVarInt(typeList.size());
+      typeList.forEach(this::writeType);
+    }
+
+    private void writeMethodSignature(@Nonnull MethodSignature signature) {
+      if (writeReference(methodSignatures, signature)) {
+        return;
+      }
+      writeType(signature.getDeclClassType());
+      writeString(signature.getName());
+      writeType(signature.getType());
+      writeTypes(signature.getParameterTypes());
+      methodSignatures.put(signature, methodSignatures.size());
+    }
+
+    private void writeFieldSignature(@Nonnull FieldSignature signature) {
+      if (writeReference(fieldSignatures, signature)) {
+        return;
+      }
+      writeType(signature.getDeclClassType());
+      writeString(signature.getName());
+      writeType(signature.getType());
+      fieldSignatures.put(signature, fieldSignatures.size());
+    }
+
+    private void writeLocal(@Nonnull Local local) {
+      if (writeReference(locals, local)) {
+        return;
+      }
+      writeString(local.getName());
+      writeType(local.getType());
+      locals.put(local, locals.size());
+    }
+
+    private void writePosition(@Nonnull Position position) {
+      if (position == NoPositionInformation.getInstance()) {
+        writeVarInt(NO_POSITION);
+      } else if (position instanceof LinePosition) {
+        writeVarInt(LINE_POSITION);
+        writeSignedVarInt(position.getFirstLine());
+      } else if (position.getClass() == FullPosition.class) {
+        writeVarInt(FULL_POSITION);
+        writeSignedVarInt(position.getFirstLine());
+        writeSignedVarInt(position.getFirstCol());
+        writeSignedVarInt(position.getLastLine());
+        writeSignedVarInt(position.getLastCol());
+      } else {
+        throw new IllegalArgumentException(
+            "The position " + position.getClass() + " can not be serialized.");
+      }
+    }
+
+    private void writeStmtHeader(int kind, @Nonnull Stmt stmt) {
+      writeVarInt(kind);
+      StmtPositionInfo positionInfo = stmt.getPositionInfo();
+      if (positionInfo == StmtPositionInfo.getNoStmtPositionInfo()) {
+        writeVarInt(NO_POSITION);
+      } else if (positionInfo.getClass() == SimpleStmtPositionInfo.class) {
+        writePosition(positionInfo.getStmtPosition());
+      } else {
+        throw new IllegalArgumentException(
+            "The position info " + positionInfo.getClass() + " can not be serialized.");
+      }
+    }
+
+    private void writeValue(@Nonnull Value value) {
+      value.accept(valueWriter);
+    }
+
+    private void writeValues(@Nonnull List<? extends Value> values) {
+      writeVarInt(values.size());
+      values.forEach(this::writeValue);
+    }
+
+    private void writeBinop(int kind, @Nonnull AbstractBinopExpr expr) {
+      writeVarInt(kind);
+      writeValue(expr.getOp1());
+      writeValue(expr.getOp2());
+    }
+
+    private void writeInvoke(int kind, @Nonnull AbstractInvokeExpr expr) {
+      writeVarInt(kind);
+      if (expr instanceof AbstractInstanceInvokeExpr) {
+        writeLocal(((AbstractInstanceInvokeExpr) expr).getBase());
+      }
+      writeMethodSignature(expr.getMethodSignature());
+      writeValues(expr.getArgs());
+    }
+
+    private class StmtWriter extends AbstractStmtVisitor {
+
+      @Override
+      public void caseIdentityStmt(@Nonnull JIdentityStmt stmt) {
+        writeStmtHeader(IDENTITY, stmt);
+        writeLocal(stmt.getLeftOp());
+        writeValue(stmt.getRightOp());
+      }
+
+      @Override
+      public void caseAssignStmt(@Nonnull JAssignStmt stmt) {
+        writeStmtHeader(ASSIGN, stmt);
+        writeValue(stmt.getLeftOp());
+        writeValue(stmt.getRightOp());
+      }
+
+      @Override
+      public void caseInvokeStmt(@Nonnull JInvokeStmt stmt) {
+        writeStmtHeader(INVOKE, stmt);
+        writeValue(stmt.getInvokeExpr().get());
+      }
+
+      @Override
+      public void caseIfStmt(@Nonnull JIfStmt stmt) {
+        writeStmtHeader(IF, stmt);
+        writeValue(stmt.getCondition());
+      }
+
+      @Override
+      public void caseGotoStmt(@Nonnull JGotoStmt stmt) {
+        writeStmtHeader(GOTO, stmt);
+      }
+
+      @Override
+      public void caseNopStmt(@Nonnull JNopStmt stmt) {
+        writeStmtHeader(NOP, stmt);
+      }
+
+      @Override
+      public void caseReturnStmt(@Nonnull JReturnStmt stmt) {
+        writeStmtHeader(RETURN, stmt);
+        writeValue(stmt.getOp());
+      }
+
+      @Override
+      public void caseReturnVoidStmt(@Nonnull JReturnVoidStmt stmt) {
+        writeStmtHeader(RETURN_VOID, stmt);
+      }
+
+      @Override
+      public void caseThrowStmt(@Nonnull JThrowStmt stmt) {
+        writeStmtHeader(THROW, stmt);
+        writeValue(stmt.getOp());
+      }
+
+      @Override
+      public void caseEnterMonitorStmt(@Nonnull JEnterMonitorStmt stmt) {
+        writeStmtHeader(ENTER_MONITOR, stmt);
+        writeValue(stmt.getOp());
+      }
+
+      @Override
+      public void caseExitMonitorStmt(@Nonnull JExitMonitorStmt stmt) {
+        writeStmtHeader(EXIT_MONITOR, stmt);
+        writeValue(stmt.getOp());
+      }
+
+      @Override
+      public void caseSwitchStmt(@Nonnull JSwitchStmt stmt) {
+        if (stmt.isTableSwitch()) {
+          writeStmtHeader(TABLE_SWITCH, stmt);
+          writeValue(stmt.getKey());
+          int lowIndex = stmt.getValueCount() == 0 ? 0 : stmt.getValue(0);
+          writeSignedVarInt(lowIndex);
+          writeSignedVarInt(lowIndex + stmt.getValueCount() - 1);
+        } else {
+          writeStmtHeader(LOOKUP_SWITCH, stmt);
+          writeValue(stmt.getKey());
+          List<IntConstant> values = stmt.getValues();
+          writeVarInt(values.size());
+          values.forEach(value -> writeSignedVarInt(value.getValue()));
+        }
+      }
+
+      @Override
+      public void caseRetStmt(@Nonnull JRetStmt stmt) {
+        writeStmtHeader(RET, stmt);
+        writeValue(stmt.getStmtAddress());
+      }
+
+      @Override
+      public void caseBreakpointStmt(@Nonnull JBreakpointStmt stmt) {
+        writeStmtHeader(BREAKPOINT, stmt);
+      }
+
+      @Override
+      public void defaultCaseStmt(@Nonnull Stmt stmt) {
+        throw new IllegalArgumentException("The stmt " + stmt + " can not be serialized.");
+      }
+    }
+
+    private class ValueWriter extends AbstractValueVisitor {
+
+      @Override
+      public void caseLocal(@Nonnull Local local) {
+        writeVarInt(LOCAL);
+        writeLocal(local);
+      }
+
+      @Override
+      public void caseIntConstant(@Nonnull IntConstant constant) {
+        writeVarInt(INT_CONSTANT);
+        writeSignedVarInt(constant.getValue());
+      }
+
+      @Override
+      public void caseLongConstant(@Nonnull LongConstant constant) {
+        writeVarInt(LONG_CONSTANT);
+        writeLong(constant.getValue());
+      }
+
+      @Override
+      public void caseFloatConstant(@Nonnull FloatConstant constant) {
+        writeVarInt(FLOAT_CONSTANT);
+        writeInt(Float.floatToRawIntBits(constant.getValue()));
+      }
+
+      @Override
+      public void caseDoubleConstant(@Nonnull DoubleConstant constant) {
+        writeVarInt(DOUBLE_CONSTANT);
+        writeLong(Double.doubleToRawLongBits(constant.getValue()));
+      }
+
+      @Override
+      public void caseNullConstant(@Nonnull NullConstant constant) {
+        writeVarInt(NULL_CONSTANT);
+      }
+
+      @Override
+      public void caseBooleanConstant(@Nonnull BooleanConstant constant) {
+        writeVarInt(BOOLEAN_CONSTANT);
+        writeVarInt(constant == BooleanConstant.getTrue() ? 1 : 0);
+      }
+
+      @Override
+      public void caseStringConstant(@Nonnull StringConstant constant) {
+        writeVarInt(STRING_CONSTANT);
+        writeString(constant.getValue());
+        writeType(constant.getType());
+      }
+
+      @Override
+      public void caseClassConstant(@Nonnull ClassConstant constant) {
+        writeVarInt(CLASS_CONSTANT);
+        writeString(constant.getValue());
+        writeType(constant.getType());
+      }
+
+      @Override
+      public void caseEnumConstant(@Nonnull EnumConstant constant) {
+        writeVarInt(ENUM_CONSTANT);
+        writeString(constant.getValue());
+        writeType(constant.getType());
+      }
+
+      @Override
+      public void caseMethodHandle(@Nonnull MethodHandle handle) {
+        writeVarInt(METHOD_HANDLE);
+        writeVarInt(handle.getKind().getValue());
+        if (handle.isMethodRef()) {
+          writeMethodSignature((MethodSignature) handle.getReferenceSignature());
+        } else {
+          writeFieldSignature((FieldSignature) handle.getReferenceSignature());
+        }
+        writeType(handle.getType());
+      }
+
+      @Override
+      public void caseMethodType(@Nonnull MethodType methodType) {
+        writeVarInt(METHOD_TYPE);
+        MethodSubSignature subSignature = methodType.getMethodSubSignature();
+        writeString(subSignature.getName());
+        writeType(subSignature.getType());
+        writeTypes(subSignature.getParameterTypes());
+        writeType(methodType.getType());
+      }
+
+      @Override
+      public void caseThisRef(@Nonnull JThisRef ref) {
+        writeVarInt(THIS_REF);
+        writeType(ref.getType());
+      }
+
+      @Override
+      public void caseParameterRef(@Nonnull JParameterRef ref) {
+        writeVarInt(PARAMETER_REF);
+        writeType(ref.getType());
+        writeVarInt(ref.getIndex());
+      }
+
+      @Override
+      public void caseCaughtExceptionRef(@Nonnull JCaughtExceptionRef ref) {
+        writeVarInt(CAUGHT_EXCEPTION_REF);
+        writeType(ref.getType());
+      }
+
+      @Override
+      public void caseArrayRef(@Nonnull JArrayRef ref) {
+        writeVarInt(ARRAY_REF);
+        writeLocal(ref.getBase());
+        writeValue(ref.getIndex());
+      }
+
+      @Override
+      public void caseInstanceFieldRef(@Nonnull JInstanceFieldRef ref) {
+        writeVarInt(INSTANCE_FIELD_REF);
+        writeLocal(ref.getBase());
+        writeFieldSignature(ref.getFieldSignature());
+      }
+
+      @Override
+      public void caseStaticFieldRef(@Nonnull JStaticFieldRef ref) {
+        writeVarInt(STATIC_FIELD_REF);
+        writeFieldSignature(ref.getFieldSignature());
+      }
+
+      @Override
+      public void caseAddExpr(@Nonnull JAddExpr expr) {
+        writeBinop(ADD, expr);
+      }
+
+      @Override
+      public void caseAndExpr(@Nonnull JAndExpr expr) {
+        writeBinop(AND, expr);
+      }
+
+      @Override
+      public void caseCmpExpr(@Nonnull JCmpExpr expr) {
+        writeBinop(CMP, expr);
+      }
+
+      @Override
+      public void caseCmpgExpr(@Nonnull JCmpgExpr expr) {
+        writeBinop(CMPG, expr);
+      }
+
+      @Override
+      public void caseCmplExpr(@Nonnull JCmplExpr expr) {
+        writeBinop(CMPL, expr);
+      }
+
+      @Override
+      public void caseDivExpr(@Nonnull JDivExpr expr) {
+        writeBinop(DIV, expr);
+      }
+
+      @Override
+      public void caseEqExpr(@Nonnull JEqExpr expr) {
+        writeBinop(EQ, expr);
+      }
+
+      @Override
+      public void caseNeExpr(@Nonnull JNeExpr expr) {
+        writeBinop(NE, expr);
+      }
+
+      @Override
+      public void caseGeExpr(@Nonnull JGeExpr expr) {
+        writeBinop(GE, expr);
+      }
+
+      @Override
+      public void caseGtExpr(@Nonnull JGtExpr expr) {
+        writeBinop(GT, expr);
+      }
+
+      @Override
+      public void caseLeExpr(@Nonnull JLeExpr expr) {
+        writeBinop(LE, expr);
+      }
+
+      @Override
+      public void caseLtExpr(@Nonnull JLtExpr expr) {
+        writeBinop(LT, expr);
+      }
+
+      @Override
+      public void caseMulExpr(@Nonnull JMulExpr expr) {
+        writeBinop(MUL, expr);
+      }
+
+      @Override
+      public void caseOrExpr(@Nonnull JOrExpr expr) {
+        writeBinop(OR, expr);
+      }
+
+      @Override
+      public void caseRemExpr(@Nonnull JRemExpr expr) {
+        writeBinop(REM, expr);
+      }
+
+      @Override
+      public void caseShlExpr(@Nonnull JShlExpr expr) {
+        writeBinop(SHL, expr);
+      }
+
+      @Override
+      public void caseShrExpr(@Nonnull JShrExpr expr) {
+        writeBinop(SHR, expr);
+      }
+
+      @Override
+      public void caseUshrExpr(@Nonnull JUshrExpr expr) {
+        writeBinop(USHR, expr);
+      }
+
+      @Override
+      public void caseSubExpr(@Nonnull JSubExpr expr) {
+        writeBinop(SUB, expr);
+      }
+
+      @Override
+      public void caseXorExpr(@Nonnull JXorExpr expr) {
+        writeBinop(XOR, expr);
+      }
+
+      @Override
+      public void caseNegExpr(@Nonnull JNegExpr expr) {
+        writeVarInt(NEG);
+        writeValue(expr.getOp());
+      }
+
+      @Override
+      public void caseLengthExpr(@Nonnull JLengthExpr expr) {
+        writeVarInt(LENGTH);
+        writeValue(expr.getOp());
+      }
+
+      @Override
+      public void caseCastExpr(@Nonnull JCastExpr expr) {
+        writeVarInt(CAST);
+        writeValue(expr.getOp());
+        writeType(expr.getType());
+      }
+
+      @Override
+      public void caseInstanceOfExpr(@Nonnull JInstanceOfExpr expr) {
+        writeVarInt(INSTANCE_OF);
+        writeValue(expr.getOp());
+        writeType(expr.getCheckType());
+      }
+
+      @Override
+      public void caseNewExpr(@Nonnull JNewExpr expr) {
+        writeVarInt(NEW);
+        writeType(expr.getType());
+      }
+
+      @Override
+      public void caseNewArrayExpr(@Nonnull JNewArrayExpr expr) {
+        writeVarInt(NEW_ARRAY);
+        writeType(expr.getBaseType());
+        writeValue(expr.getSize());
+      }
+
+      @Override
+      public void caseNewMultiArrayExpr(@Nonnull JNewMultiArrayExpr expr) {
+        writeVarInt(NEW_MULTI_ARRAY);
+        writeType(expr.getBaseType());
+        writeValues(expr.getSizes());
+      }
+
+      @Override
+      public void caseVirtualInvokeExpr(@Nonnull JVirtualInvokeExpr expr) {
+        writeInvoke(VIRTUAL_INVOKE, expr);
+      }
+
+      @Override
+      public void caseSpecialInvokeExpr(@Nonnull JSpecialInvokeExpr expr) {
+        writeInvoke(SPECIAL_INVOKE, expr);
+      }
+
+      @Override
+      public void caseInterfaceInvokeExpr(@Nonnull JInterfaceInvokeExpr expr) {
+        writeInvoke(INTERFACE_INVOKE, expr);
+      }
+
+      @Override
+      public void caseStaticInvokeExpr(@Nonnull JStaticInvokeExpr expr) {
+        writeInvoke(STATIC_INVOKE, expr);
+      }
+
+      @Override
+      public void caseDynamicInvokeExpr(@Nonnull JDynamicInvokeExpr expr) {
+        writeInvoke(DYNAMIC_INVOKE, expr);
+        writeMethodSignature(expr.getBootstrapMethodSignature());
+        writeValues(expr.getBootstrapArgs());
+        writeSignedVarInt(expr.getHandleTag());
+      }
+
+      @Override
+      public void defaultCaseValue(@Nonnull Value value) {
+        throw new IllegalArgumentException("The value " + value + " can not be serialized.");
+      }
+    }
+  }
+
+  /** Reads a body; one instance per body as the indices of the shared entries are per body. */
+  private class Reader {
+
+    @Nonnull private final ByteBuffer in;
+    @Nonnull private final List<String> strings = new ArrayList<>();
+    @Nonnull private final List<Type> types = new ArrayList<>();
+    @Nonnull private final List<MethodSignature> methodSignatures = new ArrayList<>();
+    @Nonnull private final List<FieldSignature> fieldSignatures = new ArrayList<>();
+    @Nonnull private final List<Local> locals = new ArrayList<>();
+
+    Reader(@Nonnull ByteBuffer in) {
+      this.in = in;
+    }
+
+    @Nonnull
+    Body read() {
+      if (in.getInt() != MAGIC) {
+        throw new IllegalArgumentException("The data is not a serialized body.");
+      }
+      int formatVersion = readVarInt();
+      if (formatVersion != FORMAT_VERSION) {
+        throw new IllegalArgumentException(
+            "The body is serialized in the unsupported format version " + formatVersion + ".");
+      }
+      MethodSignature methodSignature = readMethodSignature();
+      Position position = readPosition();
+
+      int localCount = readVarInt();
+      Set<Local> bodyLocals = new LinkedHashSet<>(localCount * 2);
+      for (int i = 0; i < localCount; i++) {
+        bodyLocals.add(readLocal());
+      }
+
+      int blockCount = readVarInt();
+      List<List<Stmt>> blocks = new ArrayList<>(blockCount);
+      for (int i = 0; i < blockCount; i++) {
+        int stmtCount = readVarInt();
+        List<Stmt> stmts = new ArrayList<>(stmtCount);
+        for (int j = 0; j < stmtCount; j++) {
+          stmts.add(readStmt());
+        }
+        blocks.add(stmts);
+      }
+
+      MutableBlockStmtGraph graph = new MutableBlockStmtGraph();
+      int[][] successors = new int[blockCount][];
+      for (int i = 0; i < blockCount; i++) {
+        successors[i] = new int[readVarInt()];
+        for (int j = 0; j < successors[i].length; j++) {
+          successors[i][j] = readVarInt();
+        }
+        int exceptionalSuccessorCount = readVarInt();
+        Map<ClassType, Stmt> exceptionalSuccessors = new HashMap<>(exceptionalSuccessorCount * 2);
+        for (int j = 0; j < exceptionalSuccessorCount; j++) {
+          ClassType exceptionType = (ClassType) readType();
+          exceptionalSuccessors.put(exceptionType, blocks.get(readVarInt()).get(0));
+        }
+        graph.addBlock(blocks.get(i), exceptionalSuccessors);
+      }
+      for (int i = 0; i < blockCount; i++) {
+        List<Stmt> block = blocks.get(i);
+        Stmt tail = block.get(block.size() - 1);
+        for (int j = 0; j < successors[i].length; j++) {
+          Stmt successor = blocks.get(successors[i][j]).get(0);
+          if (tail instanceof BranchingStmt) {
+            graph.putEdge((BranchingStmt) tail, j, successor);
+          } else {
+            graph.putEdge((FallsThroughStmt) tail, successor);
+          }
+        }
+      }
+
+      int startingBlockIdx = readVarInt();
+      if (blockCount > 0) {
+        graph.setStartingStmt(blocks.get(startingBlockIdx).get(0));
+      }
+
+      return Body.builder(graph)
+          .setMethodSignature(methodSignature)
+          .setLocals(bodyLocals)
+          .setPosition(position)
+          .build();
+    }
+
+    private int readVarInt() {
+      int value = 0;
+      for (int shift = 0; shift < 35; shift += 7) {
+        byte b = in.get();
+        value |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IllegalArgumentException("The data contains a malformed number.");
+    }
+
+    private int readSignedVarInt() {
+      int value = readVarInt();
+      return (value >>> 1) ^ -(value & 1);
+    }
+
+    /** Returns the index of an already read entry or -1 if its definition follows. */
+    private int readReference() {
+      return readVarInt() - 1;
+    }
+
+    @Nonnull
+    private String readString() {
+      int idx = readReference();
+      if (idx >= 0) {
+        return strings.get(idx);
+      }
+      byte[] bytes = new byte[readVarInt()];
+      in.get(bytes);
+      String str = new String(bytes, StandardCharsets.UTF_8);
+      strings.add(str);
+      return str;
+    }
+
+    @Nonnull
+    private Type readType() {
+      int idx = readReference();
+      if (idx >= 0) {
+        return types.get(idx);
+      }
+      Type type;
+      int kind = readVarInt();
+      switch (kind) {
+        case PRIMITIVE_TYPE:
+          String name = readString();
+          type =
+              identifierFactory
+                  .getPrimitiveType(name)
+                  .orElseThrow(
+                      () -> new IllegalArgumentException("Unknown primitive type " + name));
+          break;
+        case CLASS_TYPE:
+          int partCount = readVarInt();
+          List<String> parts = new ArrayList<>(partCount);
+          for (int i = 0; i < partCount; i++) {
+            parts.add(readString());
+          }
+          type = identifierFactory.getClassTypeFromNames(parts);
+          break;
+        case ARRAY_TYPE:
+          Type baseType = readType();
+          type = identifierFactory.getArrayType(baseType, readVarInt());
+          break;
+        case VOID_TYPE:
+          type = VoidType.getInstance();
+          break;
+        case NULL_TYPE:
+          type = NullType.getInstance();
+          break;
+        case UNKNOWN_TYPE:
+          type = UnknownType.getInstance();
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown kind of type " + kind);
+      }
+      types.add(type);
+      return type;
+    }
+
+    @Nonnull
+    private List<Type> readTypes() {
+      int count = readVarInt();
+      List<Type> typeList = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        typeList.add(readType());
+      }
+      return typeList;
+    }
+
+    @Nonnull
+    private MethodSignature readMethodSignature() {
+      int idx = readReference();
+      if (idx >= 0) {
+        return methodSignatures.get(idx);
+      }
+      ClassType declClassType = (ClassType) readType();
+      String name = readString();
+      Type returnType = readType();
+      MethodSignature signature =
+          identifierFactory.getMethodSignature(declClassType, name, returnType, readTypes());
+      methodSignatures.add(signature);
+      return signature;
+    }
+
+    @Nonnull
+    private FieldSignature readFieldSignature() {
+      int idx = readReference();
+      if (idx >= 0) {
+        return fieldSignatures.get(idx);
+      }
+      ClassType declClassType = (ClassType) readType();
+      String name = readString();
+      FieldSignature signature =
+          identifierFactory.getFieldSignature(name, declClassType, readType());
+      fieldSignatures.add(signature);
+      return signature;
+    }
+
+    @Nonnull
+    private Local readLocal() {
+      int idx = readReference();
+      if (idx >= 0) {
+        return locals.get(idx);
+      }
+      String name = readString();
+      Local local = localFactory.apply(name, readType());
+      locals.add(local);
+      return local;
+    }
+
+    @Nonnull
+    private Position readPosition() {
+      int kind = readVarInt();
+      switch (kind) {
+        case NO_POSITION:
+          return NoPositionInformation.getInstance();
+        case LINE_POSITION:
+          return new LinePosition(readSignedVarInt());
+        case FULL_POSITION:
+          return new FullPosition(
+              readSignedVarInt(), readSignedVarInt(), readSignedVarInt(), readSignedVarInt());
+        default:
+          throw new IllegalArgumentException("Unknown kind of position " + kind);
+      }
+    }
+
+    @Nonnull
+    private StmtPositionInfo readStmtPositionInfo() {
+      Position position = readPosition();
+      return position == NoPositionInformation.getInstance()
+          ? StmtPositionInfo.getNoStmtPositionInfo()
+          : new SimpleStmtPositionInfo(position);
+    }
+
+    @Nonnull
+    private Stmt readStmt() {
+      int kind = readVarInt();
+      StmtPositionInfo positionInfo = readStmtPositionInfo();
+      switch (kind) {
+        case IDENTITY:
+          Local local = readLocal();
+          return Jimple.newIdentityStmt(local, (IdentityRef) readValue(), positionInfo);
+        case ASSIGN:
+          LValue variable = (LValue) readValue();
+          return Jimple.newAssignStmt(variable, readValue(), positionInfo);
+        case INVOKE:
+          return Jimple.newInvokeStmt((AbstractInvokeExpr) readValue(), positionInfo);
+        case IF:
+          return Jimple.newIfStmt((AbstractConditionExpr) readValue(), positionInfo);
+        case GOTO:
+          return Jimple.newGotoStmt(positionInfo);
+        case NOP:
+          return Jimple.newNopStmt(positionInfo);
+        case RETURN:
+          return Jimple.newReturnStmt(readImmediate(), positionInfo);
+        case RETURN_VOID:
+          return Jimple.newReturnVoidStmt(positionInfo);
+        case THROW:
+          return Jimple.newThrowStmt(readImmediate(), positionInfo);
+        case ENTER_MONITOR:
+          return Jimple.newEnterMonitorStmt(readImmediate(), positionInfo);
+        case EXIT_MONITOR:
+          return Jimple.newExitMonitorStmt(readImmediate(), positionInfo);
+        case TABLE_SWITCH:
+          Immediate tableKey = readImmediate();
+          int lowIndex = readSignedVarInt();
+          return Jimple.newTableSwitchStmt(tableKey, lowIndex, readSignedVarInt(), positionInfo);
+        case LOOKUP_SWITCH:
+          Immediate lookupKey = readImmediate();
+          int valueCount = readVarInt();
+          List<IntConstant> values = new ArrayList<>(valueCount);
+          for (int i = 0; i < valueCount; i++) {
+            values.add(IntConstant.getInstance(readSignedVarInt()));
+          }
+          return Jimple.newLookupSwitchStmt(lookupKey, values, positionInfo);
+        case RET:
+          return Jimple.newRetStmt(readImmediate(), positionInfo);
+        case BREAKPOINT:
+          return Jimple.newBreakpointStmt(positionInfo);
+        default:
+          throw new IllegalArgumentException("Unknown kind of stmt " + kind);
+      }
+    }
+
+    @Nonnull
+    private Immediate readImmediate() {
+      return (Immediate) readValue();
+    }
+
+    @Nonnull
+    private List<Immediate> readImmediates() {
+      int count = readVarInt();
+      List<Immediate> immediates = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        immediates.add(readImmediate());
+      }
+      return immediates;
+    }
+
+    @Nonnull
+    private Value readValue() {
+      int kind = readVarInt();
+      switch (kind) {
+        case LOCAL:
+          return readLocal();
+        case INT_CONSTANT:
+          return IntConstant.getInstance(readSignedVarInt());
+        case LONG_CONSTANT:
+          return LongConstant.getInstance(in.getLong());
+        case FLOAT_CONSTANT:
+          return FloatConstant.getInstance(Float.intBitsToFloat(in.getInt()));
+        case DOUBLE_CONSTANT:
+          return DoubleConstant.getInstance(Double.longBitsToDouble(in.getLong()));
+        case NULL_CONSTANT:
+          return NullConstant.getInstance();
+        case BOOLEAN_CONSTANT:
+          return BooleanConstant.getInstance(readVarInt());
+        case STRING_CONSTANT:
+          String str = readString();
+          return new StringConstant(str, readType());
+        case CLASS_CONSTANT:
+          String className = readString();
+          return new ClassConstant(className, readType());
+        case ENUM_CONSTANT:
+          String enumValue = readString();
+          return new EnumConstant(enumValue, (ClassType) readType());
+        case METHOD_HANDLE:
+          return readMethodHandle();
+        case METHOD_TYPE:
+          String subSignatureName = readString();
+          Type returnType = readType();
+          MethodSubSignature subSignature =
+              identifierFactory.getMethodSubSignature(subSignatureName, returnType, readTypes());
+          return new MethodType(subSignature, (ClassType) readType());
+        case THIS_REF:
+          return Jimple.newThisRef((ClassType) readType());
+        case PARAMETER_REF:
+          Type parameterType = readType();
+          return Jimple.newParameterRef(parameterType, readVarInt());
+        case CAUGHT_EXCEPTION_REF:
+          return new JCaughtExceptionRef(readType());
+        case ARRAY_REF:
+          Local arrayBase = readLocal();
+          return new JArrayRef(arrayBase, readImmediate());
+        case INSTANCE_FIELD_REF:
+          Local fieldBase = readLocal();
+          return Jimple.newInstanceFieldRef(fieldBase, readFieldSignature());
+        case STATIC_FIELD_REF:
+          return Jimple.newStaticFieldRef(readFieldSignature());
+        case NEG:
+          return Jimple.newNegExpr(readImmediate());
+        case LENGTH:
+          return Jimple.newLengthExpr(readImmediate());
+        case CAST:
+          Immediate castOp = readImmediate();
+          return Jimple.newCastExpr(castOp, readType());
+        case INSTANCE_OF:
+          Immediate instanceOfOp = readImmediate();
+          return Jimple.newInstanceOfExpr(instanceOfOp, readType());
+        case NEW:
+          return Jimple.newNewExpr((ClassType) readType());
+        case NEW_ARRAY:
+          Type elementType = readType();
+          return new JNewArrayExpr(elementType, readImmediate(), identifierFactory);
+        case NEW_MULTI_ARRAY:
+          ArrayType arrayType = (ArrayType) readType();
+          return Jimple.newNewMultiArrayExpr(arrayType, readImmediates());
+        case VIRTUAL_INVOKE:
+          Local virtualBase = readLocal();
+          MethodSignature virtualSignature = readMethodSignature();
+          return Jimple.newVirtualInvokeExpr(virtualBase, virtualSignature, readImmediates());
+        case SPECIAL_INVOKE:
+          Local specialBase = readLocal();
+          MethodSignature specialSignature = readMethodSignature();
+          return Jimple.newSpecialInvokeExpr(specialBase, specialSignature, readImmediates());
+        case INTERFACE_INVOKE:
+          Local interfaceBase = readLocal();
+          MethodSignature interfaceSignature = readMethodSignature();
+          return Jimple.newInterfaceInvokeExpr(interfaceBase, interfaceSignature, readImmediates());
+        case STATIC_INVOKE:
+          MethodSignature staticSignature = readMethodSignature();
+          return Jimple.newStaticInvokeExpr(staticSignature, readImmediates());
+        case DYNAMIC_INVOKE:
+          MethodSignature dynamicSignature = readMethodSignature();
+          List<Immediate> dynamicArgs = readImmediates();
+          MethodSignature bootstrapSignature = readMethodSignature();
+          List<Immediate> bootstrapArgs = readImmediates();
+          return Jimple.newDynamicInvokeExpr(
+              bootstrapSignature, bootstrapArgs, dynamicSignature, readSignedVarInt(), dynamicArgs);
+        default:
+          return readBinop(kind);
+      }
+    }
+
+    @Nonnull
+    private MethodHandle readMethodHandle() {
+      MethodHandle.Kind kind = MethodHandle.Kind.getKind(readVarInt());
+      if (MethodHandle.isMethodRef(kind.getValue())) {
+        MethodSignature methodSignature = readMethodSignature();
+        return new MethodHandle(methodSignature, kind, readType());
+      }
+      FieldSignature fieldSignature = readFieldSignature();
+      return new MethodHandle(fieldSignature, kind, readType());
+    }
+
+    @Nonnull
+    private Value readBinop(int kind) {
+      Immediate op1 = readImmediate();
+      Immediate op2 = readImmediate();
+      switch (kind) {
+        case ADD:
+          return Jimple.newAddExpr(op1, op2);
+        case AND:
+          return Jimple.newAndExpr(op1, op2);
+        case CMP:
+          return Jimple.newCmpExpr(op1, op2);
+        case CMPG:
+          return Jimple.newCmpgExpr(op1, op2);
+        case CMPL:
+          return Jimple.newCmplExpr(op1, op2);
+        case DIV:
+          return Jimple.newDivExpr(op1, op2);
+        case EQ:
+          return Jimple.newEqExpr(op1, op2);
+        case NE:
+          return Jimple.newNeExpr(op1, op2);
+        case GE:
+          return Jimple.newGeExpr(op1, op2);
+        case GT:
+          return Jimple.newGtExpr(op1, op2);
+        case LE:
+          return Jimple.newLeExpr(op1, op2);
+        case LT:
+          return Jimple.newLtExpr(op1, op2);
+        case MUL:
+          return Jimple.newMulExpr(op1, op2);
+        case OR:
+          return Jimple.newOrExpr(op1, op2);
+        case REM:
+          return Jimple.newRemExpr(op1, op2);
+        case SHL:
+          return Jimple.newShlExpr(op1, op2);
+        case SHR:
+          return Jimple.newShrExpr(op1, op2);
+        case USHR:
+          return Jimple.newUshrExpr(op1, op2);
+        case SUB:
+          return Jimple.newSubExpr(op1, op2);
+        case XOR:
+          return Jimple.newXorExpr(op1, op2);
+        default:
+          throw new IllegalArgumentException("Unknown kind of value " + kind);
+      }
+    }
+  }
+}
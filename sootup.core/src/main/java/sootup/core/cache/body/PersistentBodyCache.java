@@ -0,0 +1,231 @@
+package sootup.core.cache.body;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sootup.core.cache.CacheStatistics;
+import sootup.core.transform.BodyInterceptor;
+
+/**
+ * Keeps serialized bodies (see {@link BodySerializer}) in a directory so that they survive the
+ * current run. A frontend consults the cache before it converts a method and stores the result
+ * afterwards, i.e. re-analysing unchanged inputs (e.g. the same library jars in every CI run) skips
+ * most of the conversion work.
+ *
+ * <p>Entries are addressed by keys that cover everything the body depends on: the bytes of the
+ * source (e.g. the class file), the applied {@link BodyInterceptor}s and their configuration (see
+ * {@link BodyInterceptor#getCacheKey()}), the version of SootUp and of the binary format (see
+ * {@link #createSourceKey(byte[], List)}). Therefore entries never have to be invalidated -
+ * outdated entries are just not requested anymore. The cache can be shared by concurrent processes
+ * as every entry is published atomically.
+ *
+ * <p>Without a version, e.g. in a development build, a change of the code would not change the
+ * keys. Then no body is persisted, unless a version is passed explicitly.
+ */
+public class PersistentBodyCache implements CacheStatistics {
+
+  private static final Logger logger = LoggerFactory.getLogger(PersistentBodyCache.class);
+  private static final String FILE_EXTENSION = ".body";
+
+  @Nonnull private final Path directory;
+  @Nullable private final String version;
+  @Nonnull private final LongAdder hitCount = new LongAdder();
+  @Nonnull private final LongAdder missCount = new LongAdder();
+
+  /**
+   * Creates a cache for the bodies created by the running version of SootUp.
+   *
+   * @param directory the directory of the cache; it is created if it does not exist
+   */
+  public PersistentBodyCache(@Nonnull Path directory) {
+    this(directory, PersistentBodyCache.class.getPackage().getImplementationVersion());
+  }
+
+  /**
+   * @param directory the directory of the cache; it is created if it does not exist
+   * @param version identifies the code that creates the bodies, e.g. a build number, or null if it
+   *     is unknown which disables the cache
+   */
+  public PersistentBodyCache(@Nonnull Path directory, @Nullable String version) {
+    this.directory = directory;
+    this.version = version;
+    if (version == null) {
+      logger.warn(
+          "The version of SootUp is unknown, so no bodies are persisted in " + directory + ".");
+    }
+  }
+
+  @Nonnull
+  public Path getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Creates the key part of a source, e.g. of a class file, from which the bodies of its methods
+   * are created. Bodies of the same source that were created by other (or otherwise configured)
+   * interceptors or by another version of SootUp have a different key.
+   *
+   * @return the key, or nothing if the bodies of the source must not be persisted since the version
+   *     or the key of an interceptor is unknown
+   */
+  @Nonnull
+  public Optional<String> createSourceKey(
+      @Nonnull byte[] sourceBytes, @Nonnull List<BodyInterceptor> bodyInterceptors) {
+    if (version == null) {
+      return Optional.empty();
+    }
+    MessageDigest digest = createDigest();
+    digest.update(version.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+    digest.update((byte) BodySerializer.FORMAT_VERSION);
+    for (BodyInterceptor bodyInterceptor : bodyInterceptors) {
+      Optional<String> interceptorKey = bodyInterceptor.getCacheKey();
+      if (!interceptorKey.isPresent()) {
+        return Optional.empty();
+      }
+      digest.update(interceptorKey.get().getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) 0);
+    }
+    digest.update(sourceBytes);
+    return Optional.of(toHex(digest.digest()));
+  }
+
+  /**
+   * Creates the key of the body of a member of a source.
+   *
+   * @param sourceKey the key of the source (see {@link #createSourceKey(byte[], List)})
+   * @param memberIdentifier identifies the member in its source, e.g. its name and descriptor
+   */
+  @Nonnull
+  public static String createBodyKey(@Nonnull String sourceKey, @Nonnull String memberIdentifier) {
+    MessageDigest digest = createDigest();
+    digest.update(sourceKey.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+    digest.update(memberIdentifier.getBytes(StandardCharsets.UTF_8));
+    return toHex(digest.digest());
+  }
+
+  /** Returns the serialized body of the given key if the cache contains it. */
+  @Nonnull
+  public Optional<byte[]> load(@Nonnull String key) {
+    Path file = fileOf(key);
+    if (Files.exists(file)) {
+      try {
+        byte[] data = Files.readAllBytes(file);
+        hitCount.increment();
+        return Optional.of(data);
+      } catch (IOException e) {
+        logger.warn("Could not read the cached body " + file, e);
+      }
+    }
+    missCount.increment();
+    return Optional.empty();
+  }
+
+  /**
+   * Stores the serialized body for the given key. A failure to write the entry is logged and
+   * otherwise ignored as the body can always be created again.
+   */
+  public void store(@Nonnull String key, @Nonnull byte[] data) {
+    Path file = fileOf(key);
+    Path tempFile = null;
+    try {
+      Path parent = file.getParent();
+      Files.createDirectories(parent);
+      tempFile = Files.createTempFile(parent, key, ".tmp");
+      Files.write(tempFile, data);
+      try {
+        Files.move(
+            tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      logger.warn("Could not store the body " + file, e);
+      if (tempFile != null) {
+        try {
+          Files.deleteIfExists(tempFile);
+        } catch (IOException ignored) {
+          // the temporary file is never read
+        }
+      }
+    }
+  }
+
+  /** Returns the number of requested bodies that were found in the cache. */
+  @Override
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /** Returns the number of requested bodies that were not found in the cache. */
+  @Override
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  /** Entries are never evicted, so this is always 0. */
+  @Override
+  public long getEvictionCount() {
+    return 0;
+  }
+
+  @Nonnull
+  private Path fileOf(@Nonnull String key) {
+    // spread the entries over subdirectories to keep the directories small
+    return directory.resolve(key.substring(0, 2)).resolve(key + FILE_EXTENSION);
+  }
+
+  @Nonnull
+  private static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // every Java platform has to support SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Nonnull
+  private static String toHex(@Nonnull byte[] bytes) {
+    StringBuilder sb = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return sb.toString();
+  }
+}
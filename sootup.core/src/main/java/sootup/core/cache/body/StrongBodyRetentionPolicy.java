@@ -0,0 +1,48 @@
+package sootup.core.cache.body;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import com.google.common.base.Suppliers;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import sootup.core.model.Body;
+
+/** Keeps every resolved body for the lifetime of its method. This is the default policy. */
+public class StrongBodyRetentionPolicy implements BodyRetentionPolicy {
+
+  @Nonnull
+  private static final StrongBodyRetentionPolicy INSTANCE = new StrongBodyRetentionPolicy();
+
+  @Nonnull
+  public static StrongBodyRetentionPolicy getInstance() {
+    return INSTANCE;
+  }
+
+  private StrongBodyRetentionPolicy() {}
+
+  @Nonnull
+  @Override
+  public Supplier<Body> createBodyHolder(@Nonnull Supplier<Body> bodyResolver) {
+    return Suppliers.memoize(bodyResolver::get);
+  }
+}
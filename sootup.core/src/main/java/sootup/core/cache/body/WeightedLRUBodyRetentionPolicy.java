@@ -0,0 +1,121 @@
+package sootup.core.cache.body;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import sootup.core.model.Body;
+
+/**
+ * Keeps the most recently used bodies as long as their total number of statements does not exceed a
+ * given limit. Bodies are released in least recently used order and resolved again on the next
+ * request. The limit is shared by all methods that were created with the same policy instance.
+ */
+public class WeightedLRUBodyRetentionPolicy implements BodyRetentionPolicy {
+
+  private final long maxStmtCount;
+  private long retainedStmtCount = 0;
+
+  @Nonnull
+  private final LinkedHashMap<WeightedBodyHolder, Body> retainedBodies =
+      new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * @param maxStmtCount the maximum number of statements of all retained bodies. A single body that
+   *     exceeds this limit is still retained until the next body is resolved.
+   */
+  public WeightedLRUBodyRetentionPolicy(long maxStmtCount) {
+    if (maxStmtCount < 1) {
+      throw new IllegalArgumentException("The statement limit has to be at least 1");
+    }
+    this.maxStmtCount = maxStmtCount;
+  }
+
+  @Nonnull
+  @Override
+  public Supplier<Body> createBodyHolder(@Nonnull Supplier<Body> bodyResolver) {
+    return new WeightedBodyHolder(bodyResolver);
+  }
+
+  /** Returns the number of statements of all currently retained bodies. */
+  public synchronized long getRetainedStmtCount() {
+    return retainedStmtCount;
+  }
+
+  /** Returns the number of currently retained bodies. */
+  public synchronized int getRetainedBodyCount() {
+    return retainedBodies.size();
+  }
+
+  private synchronized Body lookup(@Nonnull WeightedBodyHolder holder) {
+    return retainedBodies.get(holder);
+  }
+
+  private synchronized void retain(@Nonnull WeightedBodyHolder holder, @Nonnull Body body) {
+    Body previous = retainedBodies.put(holder, body);
+    if (previous != null) {
+      retainedStmtCount -= weightOf(previous);
+    }
+    retainedStmtCount += weightOf(body);
+
+    Iterator<Map.Entry<WeightedBodyHolder, Body>> it = retainedBodies.entrySet().iterator();
+    while (retainedStmtCount > maxStmtCount && retainedBodies.size() > 1) {
+      Map.Entry<WeightedBodyHolder, Body> eldest = it.next();
+      retainedStmtCount -= weightOf(eldest.getValue());
+      it.remove();
+    }
+  }
+
+  private static int weightOf(@Nonnull Body body) {
+    // count the body itself, so that empty bodies are not retained for free
+    return body.getStmtGraph().getNodes().size() + 1;
+  }
+
+  private class WeightedBodyHolder implements Supplier<Body> {
+    @Nonnull private final Supplier<Body> bodyResolver;
+
+    WeightedBodyHolder(@Nonnull Supplier<Body> bodyResolver) {
+      this.bodyResolver = bodyResolver;
+    }
+
+    @Override
+    public Body get() {
+      Body body = lookup(this);
+      if (body != null) {
+        return body;
+      }
+      // resolve outside of the policy lock so that distinct methods are resolved in parallel
+      synchronized (this) {
+        body = lookup(this);
+        if (body == null) {
+          body = bodyResolver.get();
+          retain(this, body);
+        }
+        return body;
+      }
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package sootup.core.cache.provider;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import sootup.core.cache.ClassCache;
+import sootup.core.cache.ConcurrentLRUCache;
+
+/** Provides a new {@link ConcurrentLRUCache} object. */
+public class ConcurrentLRUCacheProvider implements ClassCacheProvider {
+  private final int cacheSize;
+  private final int segmentCount;
+
+  /**
+   * Create a new ConcurrentLRUCacheProvider that returns a {@link ConcurrentLRUCache} with a
+   * default size of 100 and one segment per available processor.
+   */
+  public ConcurrentLRUCacheProvider() {
+    this(100);
+  }
+
+  /**
+   * Create a new ConcurrentLRUCacheProvider that returns a {@link ConcurrentLRUCache} with the
+   * specified size and one segment per available processor.
+   */
+  public ConcurrentLRUCacheProvider(int cacheSize) {
+    this(cacheSize, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Create a new ConcurrentLRUCacheProvider that returns a {@link ConcurrentLRUCache} with the
+   * specified size and number of segments.
+   */
+  public ConcurrentLRUCacheProvider(int cacheSize, int segmentCount) {
+    if (cacheSize < 1) {
+      throw new IllegalArgumentException("Cache size has to be at least 1");
+    }
+    if (segmentCount < 1) {
+      throw new IllegalArgumentException("Segment count has to be at least 1");
+    }
+    this.cacheSize = cacheSize;
+    this.segmentCount = segmentCount;
+  }
+
+  @Override
+  public ClassCache createCache() {
+    return new ConcurrentLRUCache(cacheSize, segmentCount);
+  }
+}
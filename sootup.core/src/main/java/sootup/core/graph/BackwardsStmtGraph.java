@@ -51,7 +51,7 @@ public class BackwardsStmtGraph extends ForwardingStmtGraph {
   @Nonnull
   @Override
   public List<? extends BasicBlock<?>> getBlocksSorted() {
-    return PostOrderBlockTraversal.getBlocksSorted(backingGraph);
+    return backingGraph.getBlocksPostOrder();
   }
 
   @Nonnull
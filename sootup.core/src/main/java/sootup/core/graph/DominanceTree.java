@@ -47,7 +47,8 @@ public class DominanceTree {
     }
 
     for (int i = 0; i < treeSize; i++) {
-      if (iDoms[i] != i) {
+      // the root has no immediate dominator (-1)
+      if (iDoms[i] != i && iDoms[i] != -1) {
         parents[i] = iDoms[i];
         children[iDoms[i]].add(i);
       }
@@ -127,6 +127,12 @@ public class ForwardingStmtGraph<V extends BasicBlock<V>> extends StmtGraph<V> {
     return backingGraph.iterator();
   }
 
+  @Nonnull
+  @Override
+  public StmtIndex getStmtIndex() {
+    return backingGraph.getStmtIndex();
+  }
+
   @Nonnull
   @Override
   public List<Trap> buildTraps() {
@@ -22,216 +22,543 @@ package sootup.core.graph;
  * #L%
  */
 
-import com.google.common.collect.Lists;
+import com.google.common.collect.ComparisonChain;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterators;
 import java.util.*;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import sootup.core.jimple.basic.Trap;
+import sootup.core.jimple.common.ref.JCaughtExceptionRef;
+import sootup.core.jimple.common.stmt.JIdentityStmt;
 import sootup.core.jimple.common.stmt.Stmt;
 import sootup.core.types.ClassType;
 
-// FIXME: implement!
+/**
+ * A frozen, compact copy of a {@link StmtGraph}, e.g. the graph of a finished {@link
+ * sootup.core.model.Body}. The Stmts are stored in their linearized (i.e. Jimple output) order in
+ * one array, so each block is a range of that array. The flows between the blocks are stored as
+ * adjacency arrays over the block indices (compressed sparse rows), the exceptional flows as a
+ * table of (exception type, handler block) entries per block. A Stmt is mapped to its index by an
+ * open addressing identity hash table instead of a map of boxed entries.
+ */
 public class ImmutableBlockStmtGraph
     extends StmtGraph<ImmutableBlockStmtGraph.ImmutableBasicBlock> {
 
-  private final List<ImmutableBasicBlock> blocks;
-  private final Map<Stmt, ImmutableBasicBlock> stmtToBlock = new HashMap<>();
+  private static final int NONE = StmtIndex.NONE;
+
+  @Nullable private final Stmt startingStmt;
+
+  /** the Stmts of block i are at the indices blockStarts[i] to blockStarts[i+1] (exclusive) */
+  @Nonnull private final Stmt[] stmts;
+
+  @Nonnull private final int[] stmtBlocks;
+  @Nonnull private final int[] blockStarts;
+  @Nonnull private final ImmutableBasicBlock[] blocks;
+
+  /** the successor blocks of block i are at the indices successorStarts[i] to [i+1] (excl.) */
+  @Nonnull private final int[] successorStarts;
+
+  @Nonnull private final int[] successors;
+  @Nonnull private final int[] predecessorStarts;
+  @Nonnull private final int[] predecessors;
+
+  /** the exceptional successors of block i are at the indices exceptionStarts[i] to [i+1] */
+  @Nonnull private final int[] exceptionStarts;
+
+  @Nonnull private final ClassType[] exceptionTypes;
+  @Nonnull private final int[] exceptionHandlers;
 
-  public ImmutableBlockStmtGraph(@Nonnull MutableStmtGraph graph) {
+  /** maps a Stmt to its position in stmts */
+  @Nonnull private final StmtIndex stmtIndex;
 
-    final List<? extends BasicBlock<?>> mblocks = graph.getBlocksSorted();
-    blocks = Lists.newArrayListWithExpectedSize(mblocks.size());
-    for (BasicBlock<?> block : mblocks) {
-      /* TODO: link predecessors/successors as well..
-      // final ImmutableBasicBlock ib = new ImmutableBasicBlock();
-      block.getStmts().forEach(stmt -> stmtToBlock.put(stmt, ib));
+  @Nonnull private final List<ImmutableBasicBlock> blockList;
+  @Nonnull private final Collection<Stmt> nodes = new NodeCollection();
+  @Nullable private volatile List<Trap> traps;
 
-      blocks.add(ib);*/
+  /** the graph never changes, so block orders and dominance information are computed once */
+  @Nonnull private final StmtGraphAnalysisCache analysisCache = new StmtGraphAnalysisCache(this);
+
+  /** Copies the given graph. */
+  public ImmutableBlockStmtGraph(@Nonnull StmtGraph<?> graph) {
+    startingStmt = graph.getStartingStmt();
+
+    // linearize the blocks in the order in which they are printed
+    List<BasicBlock<?>> sourceBlocks = new ArrayList<>(graph.getBlocks().size());
+    Iterators.addAll(sourceBlocks, graph.getBlockIterator());
+    int blockCount = sourceBlocks.size();
+    Map<BasicBlock<?>, Integer> blockIds = new IdentityHashMap<>(blockCount);
+    int stmtCount = 0;
+    for (BasicBlock<?> block : sourceBlocks) {
+      blockIds.put(block, blockIds.size());
+      stmtCount += block.getStmtCount();
+    }
+
+    stmts = new Stmt[stmtCount];
+    stmtBlocks = new int[stmtCount];
+    blockStarts = new int[blockCount + 1];
+    blocks = new ImmutableBasicBlock[blockCount];
+    successorStarts = new int[blockCount + 1];
+    predecessorStarts = new int[blockCount + 1];
+    exceptionStarts = new int[blockCount + 1];
+    int stmtIdx = 0;
+    for (int id = 0; id < blockCount; id++) {
+      BasicBlock<?> block = sourceBlocks.get(id);
+      blockStarts[id] = stmtIdx;
+      for (Stmt stmt : block.getStmts()) {
+        stmtBlocks[stmtIdx] = id;
+        stmts[stmtIdx++] = stmt;
+      }
+      blocks[id] = new ImmutableBasicBlock(id);
+      successorStarts[id + 1] = successorStarts[id] + block.getSuccessors().size();
+      predecessorStarts[id + 1] = predecessorStarts[id] + block.getPredecessors().size();
+      exceptionStarts[id + 1] = exceptionStarts[id] + block.getExceptionalSuccessors().size();
     }
+    blockStarts[blockCount] = stmtIdx;
+
+    successors = new int[successorStarts[blockCount]];
+    predecessors = new int[predecessorStarts[blockCount]];
+    exceptionTypes = new ClassType[exceptionStarts[blockCount]];
+    exceptionHandlers = new int[exceptionStarts[blockCount]];
+    for (int id = 0; id < blockCount; id++) {
+      BasicBlock<?> block = sourceBlocks.get(id);
+      int i = successorStarts[id];
+      for (BasicBlock<?> successor : block.getSuccessors()) {
+        successors[i++] = blockIds.get(successor);
+      }
+      i = predecessorStarts[id];
+      for (BasicBlock<?> predecessor : block.getPredecessors()) {
+        predecessors[i++] = blockIds.get(predecessor);
+      }
+      i = exceptionStarts[id];
+      for (Map.Entry<? extends ClassType, ? extends BasicBlock<?>> entry :
+          block.getExceptionalSuccessors().entrySet()) {
+        exceptionTypes[i] = entry.getKey();
+        exceptionHandlers[i++] = blockIds.get(entry.getValue());
+      }
+    }
+
+    stmtIndex = new StmtIndex(stmts);
+
+    blockList = Collections.unmodifiableList(Arrays.asList(blocks));
   }
 
   @Nullable
   @Override
   public Stmt getStartingStmt() {
-    return blocks.isEmpty() ? null : blocks.get(0).getHead();
+    return startingStmt;
   }
 
+  @Nullable
   @Override
-  public BasicBlock<?> getStartingStmtBlock() {
-    throw new UnsupportedOperationException("Not implemented yet!");
+  public ImmutableBasicBlock getStartingStmtBlock() {
+    return startingStmt == null ? null : getBlockOf(startingStmt);
   }
 
+  @Nonnull
   @Override
-  public BasicBlock<ImmutableBasicBlock> getBlockOf(@Nonnull Stmt stmt) {
-    throw new UnsupportedOperationException("Not implemented yet!");
+  public ImmutableBasicBlock getBlockOf(@Nonnull Stmt stmt) {
+    int idx = indexOf(stmt);
+    if (idx == NONE) {
+      throw new IllegalArgumentException("stmt '" + stmt + "' does not exist in this StmtGraph!");
+    }
+    return blocks[stmtBlocks[idx]];
   }
 
+  /**
+   * Returns the Stmts in their linearized order, i.e. block by block and in the order of each
+   * block, which is also the order of {@link #getStmtIndex()}. The set answers contains() in O(1).
+   */
   @Nonnull
   @Override
-  public List<Stmt> getNodes() {
-    int size = 0;
-    for (ImmutableBasicBlock block : blocks) {
-      size += block.getStmtCount();
-    }
-    final ArrayList<Stmt> stmts = new ArrayList<>(size);
-    for (ImmutableBasicBlock block : blocks) {
-      stmts.addAll(block.getStmts());
-    }
-    return stmts;
+  public Collection<Stmt> getNodes() {
+    return nodes;
+  }
+
+  @Override
+  public List<Stmt> getStmts() {
+    return new ArrayList<>(Arrays.asList(stmts));
   }
 
   @Nonnull
   @Override
-  public Collection<ImmutableBasicBlock> getBlocks() {
-    return blocks;
+  public List<ImmutableBasicBlock> getBlocks() {
+    return blockList;
   }
 
   @Nonnull
   @Override
   public List<? extends BasicBlock<?>> getBlocksSorted() {
-    return blocks;
+    return analysisCache.getReversePostOrder();
+  }
+
+  @Nonnull
+  @Override
+  public List<BasicBlock<?>> getBlocksPostOrder() {
+    return analysisCache.getPostOrder();
+  }
+
+  @Nonnull
+  @Override
+  public DominanceFinder getDominanceFinder() {
+    return analysisCache.getDominanceFinder();
+  }
+
+  @Nonnull
+  @Override
+  public PostDominanceFinder getPostDominanceFinder() {
+    return analysisCache.getPostDominanceFinder();
+  }
+
+  @Nonnull
+  @Override
+  public DominanceTree getDominanceTree() {
+    return analysisCache.getDominanceTree();
+  }
+
+  @Nonnull
+  @Override
+  public DominanceTree getPostDominanceTree() {
+    return analysisCache.getPostDominanceTree();
+  }
+
+  @Override
+  public Iterator<BasicBlock<?>> getBlockIterator() {
+    return Iterators.forArray(blocks);
   }
 
   @Override
   public boolean containsNode(@Nonnull Stmt node) {
-    throw new UnsupportedOperationException("Not implemented yet!");
+    return indexOf(node) != NONE;
   }
 
   @Nonnull
   @Override
   public List<Stmt> predecessors(@Nonnull Stmt node) {
-    throw new UnsupportedOperationException("Not implemented yet!");
+    int idx = requireIndexOf(node);
+    int block = stmtBlocks[idx];
+    if (idx != blockStarts[block]) {
+      return Collections.singletonList(stmts[idx - 1]);
+    }
+    List<Stmt> preds = new ArrayList<>(predecessorStarts[block + 1] - predecessorStarts[block]);
+    for (int i = predecessorStarts[block]; i < predecessorStarts[block + 1]; i++) {
+      preds.add(stmts[blockStarts[predecessors[i] + 1] - 1]);
+    }
+    return preds;
   }
 
+  /** Returns the Stmts of the blocks which have the given trap handler as exceptional successor. */
   @Nonnull
   @Override
   public List<Stmt> exceptionalPredecessors(@Nonnull Stmt node) {
-    throw new UnsupportedOperationException("not implemented");
+    int idx = requireIndexOf(node);
+    int block = stmtBlocks[idx];
+    if (idx != blockStarts[block] || !isTrapHandler(node)) {
+      // only the head of a block which is an exception handler can have exceptional predecessors
+      return Collections.emptyList();
+    }
+    List<Stmt> exceptionalPreds = new ArrayList<>();
+    for (int i = predecessorStarts[block]; i < predecessorStarts[block + 1]; i++) {
+      int predecessor = predecessors[i];
+      if (hasExceptionalSuccessor(predecessor, block)) {
+        exceptionalPreds.addAll(blocks[predecessor].getStmts());
+      }
+    }
+    return exceptionalPreds;
   }
 
   @Nonnull
   @Override
   public List<Stmt> successors(@Nonnull Stmt node) {
-    throw new UnsupportedOperationException("Not implemented yet!");
+    int idx = requireIndexOf(node);
+    int block = stmtBlocks[idx];
+    if (idx != blockStarts[block + 1] - 1) {
+      return Collections.singletonList(stmts[idx + 1]);
+    }
+    List<Stmt> succs = new ArrayList<>(successorStarts[block + 1] - successorStarts[block]);
+    for (int i = successorStarts[block]; i < successorStarts[block + 1]; i++) {
+      succs.add(stmts[blockStarts[successors[i]]]);
+    }
+    return succs;
   }
 
   @Nonnull
   @Override
   public Map<ClassType, Stmt> exceptionalSuccessors(@Nonnull Stmt node) {
-    // FIXME! implement
-    throw new RuntimeException("not implemented");
+    int block = stmtBlocks[requireIndexOf(node)];
+    Map<ClassType, Stmt> map = new HashMap<>();
+    for (int i = exceptionStarts[block]; i < exceptionStarts[block + 1]; i++) {
+      map.put(exceptionTypes[i], stmts[blockStarts[exceptionHandlers[i]]]);
+    }
+    return map;
   }
 
   @Override
   public int inDegree(@Nonnull Stmt node) {
-    throw new UnsupportedOperationException("Not implemented yet!");
+    int idx = requireIndexOf(node);
+    int block = stmtBlocks[idx];
+    if (idx != blockStarts[block]) {
+      return 1;
+    }
+    return predecessorStarts[block + 1] - predecessorStarts[block];
   }
 
   @Override
   public int outDegree(@Nonnull Stmt node) {
-    throw new UnsupportedOperationException("Not implemented yet!");
+    int idx = requireIndexOf(node);
+    int block = stmtBlocks[idx];
+    if (idx != blockStarts[block + 1] - 1) {
+      return 1;
+    }
+    return successorStarts[block + 1] - successorStarts[block];
   }
 
   @Override
   public boolean hasEdgeConnecting(@Nonnull Stmt source, @Nonnull Stmt target) {
-    throw new UnsupportedOperationException("Not implemented yet!");
+    int idx = requireIndexOf(source);
+    int block = stmtBlocks[idx];
+    if (idx != blockStarts[block + 1] - 1) {
+      return stmts[idx + 1] == target;
+    }
+    requireIndexOf(target);
+    for (int i = successorStarts[block]; i < successorStarts[block + 1]; i++) {
+      if (stmts[blockStarts[successors[i]]] == target) {
+        return true;
+      }
+    }
+    return false;
   }
 
+  /**
+   * Returns the traps like the trap table in the bytecode. They are reconstructed once from the
+   * linearized blocks, in the same way as {@link MutableBlockStmtGraph#buildTraps()} does.
+   */
   @Nonnull
   @Override
   public List<Trap> buildTraps() {
-    throw new UnsupportedOperationException("Not implemented yet!");
+    List<Trap> traps = this.traps;
+    if (traps == null) {
+      traps = Collections.unmodifiableList(collectTraps());
+      this.traps = traps;
+    }
+    return new ArrayList<>(traps);
+  }
+
+  @Nonnull
+  private List<Trap> collectTraps() {
+    List<Trap> collectedTraps = new ArrayList<>();
+    Map<ClassType, Stmt> activeTraps = new HashMap<>();
+    Map<? extends ClassType, ImmutableBasicBlock> lastBlocksExceptions = Collections.emptyMap();
+    for (ImmutableBasicBlock block : blocks) {
+      final Map<ClassType, ImmutableBasicBlock> currentBlocksExceptions =
+          block.getExceptionalSuccessors();
+      // former trap info is not in the current blocks info -> add it to the trap collection
+      for (Map.Entry<? extends ClassType, ImmutableBasicBlock> entry :
+          lastBlocksExceptions.entrySet()) {
+        ImmutableBasicBlock trapHandlerBlock = entry.getValue();
+        if (trapHandlerBlock != currentBlocksExceptions.get(entry.getKey())) {
+          final Stmt trapBeginStmt = activeTraps.remove(entry.getKey());
+          if (trapBeginStmt == null) {
+            throw new IllegalStateException(
+                "Trap start for '" + entry.getKey() + "' is not in the Map!");
+          }
+          // trapend is exclusive!
+          collectedTraps.add(
+              new Trap(entry.getKey(), trapBeginStmt, block.getHead(), trapHandlerBlock.getHead()));
+        }
+      }
+      // is there a new trap in the current block -> add it to the active traps
+      for (Map.Entry<ClassType, ImmutableBasicBlock> entry : currentBlocksExceptions.entrySet()) {
+        if (entry.getValue() != lastBlocksExceptions.get(entry.getKey())) {
+          activeTraps.put(entry.getKey(), block.getHead());
+        }
+      }
+      lastBlocksExceptions = currentBlocksExceptions;
+    }
+    if (!activeTraps.isEmpty()) {
+      throw new IllegalArgumentException(
+          "Invalid StmtGraph. A Trap is not created as a traps endStmt was not visited during the iteration of all Stmts.");
+    }
+
+    collectedTraps.sort(
+        (a, b) ->
+            ComparisonChain.start()
+                .compare(blockIndexOf(a.getBeginStmt()), blockIndexOf(b.getBeginStmt()))
+                .compare(blockIndexOf(a.getEndStmt()), blockIndexOf(b.getEndStmt()))
+                .compare(a.getExceptionType().toString(), b.getExceptionType().toString())
+                .result());
+    return collectedTraps;
   }
 
+  /** The index of a Stmt is its position in the linearized order; it is shared by all callers. */
+  @Nonnull
+  @Override
+  public StmtIndex getStmtIndex() {
+    return stmtIndex;
+  }
+
+  /** Iterates the Stmts in their linearized order. */
   @Nonnull
   @Override
   public Iterator<Stmt> iterator() {
-    return new Iterator<Stmt>() {
-      final Iterator<ImmutableBasicBlock> blockIt = blocks.iterator();
-      Iterator<Stmt> stmtIt = blockIt.next().getStmts().iterator();
-
-      @Override
-      public boolean hasNext() {
-        // hint: there are no empty blocks!
-        return stmtIt.hasNext() || blockIt.hasNext();
+    return Iterators.forArray(stmts);
+  }
+
+  private int blockIndexOf(@Nonnull Stmt stmt) {
+    return stmtBlocks[requireIndexOf(stmt)];
+  }
+
+  private boolean hasExceptionalSuccessor(int block, int handlerBlock) {
+    for (int i = exceptionStarts[block]; i < exceptionStarts[block + 1]; i++) {
+      if (exceptionHandlers[i] == handlerBlock) {
+        return true;
       }
+    }
+    return false;
+  }
 
-      @Override
-      public Stmt next() {
-        if (stmtIt.hasNext()) {
-          return stmtIt.next();
-        }
-        stmtIt = blockIt.next().getStmts().iterator();
-        return stmtIt.next();
+  private static boolean isTrapHandler(@Nonnull Stmt stmt) {
+    return stmt instanceof JIdentityStmt
+        && ((JIdentityStmt) stmt).getRightOp() instanceof JCaughtExceptionRef;
+  }
+
+  private int indexOf(@Nonnull Stmt stmt) {
+    return stmtIndex.indexOf(stmt);
+  }
+
+  private int requireIndexOf(@Nonnull Stmt stmt) {
+    int idx = indexOf(stmt);
+    if (idx == NONE) {
+      throw new IllegalArgumentException(
+          "Stmt '" + stmt + "' is not contained in the BlockStmtGraph");
+    }
+    return idx;
+  }
+
+  /** The Stmts of this graph in linearized order; contains() is a lookup in the Stmt index. */
+  private class NodeCollection extends AbstractSet<Stmt> {
+
+    @Nonnull
+    @Override
+    public Iterator<Stmt> iterator() {
+      return Iterators.forArray(stmts);
+    }
+
+    @Override
+    public int size() {
+      return stmts.length;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return o instanceof Stmt && indexOf((Stmt) o) != NONE;
+    }
+  }
+
+  /** An unmodifiable view on the blocks whose indices are stored in a range of an array. */
+  private class BlockRange extends AbstractList<ImmutableBasicBlock> implements RandomAccess {
+    @Nonnull private final int[] blockIds;
+    private final int from;
+    private final int to;
+
+    private BlockRange(@Nonnull int[] blockIds, int from, int to) {
+      this.blockIds = blockIds;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public ImmutableBasicBlock get(int index) {
+      if (index < 0 || index >= to - from) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
       }
-    };
+      return blocks[blockIds[from + index]];
+    }
+
+    @Override
+    public int size() {
+      return to - from;
+    }
   }
 
+  /** A block is a range of the linearized Stmts. */
   public class ImmutableBasicBlock implements BasicBlock<ImmutableBasicBlock> {
-    private final MutableBasicBlock graph;
-    private final int startIdx;
-    private final int endIdx;
-    private final List<ImmutableBasicBlock> successors;
-    private final List<ImmutableBasicBlock> predecessors;
-
-    private ImmutableBasicBlock(
-        MutableBasicBlock graph,
-        int startIdx,
-        int endIdx,
-        List<ImmutableBasicBlock> successors,
-        List<ImmutableBasicBlock> predecessors) {
-      this.graph = graph;
-      this.startIdx = startIdx;
-      this.endIdx = endIdx;
-      this.successors = successors;
-      this.predecessors = predecessors;
+    private final int id;
+
+    private ImmutableBasicBlock(int id) {
+      this.id = id;
     }
 
     @Nonnull
     @Override
     public List<ImmutableBasicBlock> getPredecessors() {
-      return predecessors;
+      return new BlockRange(predecessors, predecessorStarts[id], predecessorStarts[id + 1]);
     }
 
     @Nonnull
     @Override
     public List<ImmutableBasicBlock> getSuccessors() {
-      return successors;
+      return new BlockRange(successors, successorStarts[id], successorStarts[id + 1]);
     }
 
     @Override
     @Nonnull
     public Map<ClassType, ImmutableBasicBlock> getExceptionalPredecessors() {
-      throw new UnsupportedOperationException("not implemented yet");
+      Map<ClassType, ImmutableBasicBlock> exceptionalPreds = new HashMap<>();
+      for (int i = predecessorStarts[id]; i < predecessorStarts[id + 1]; i++) {
+        int predecessor = predecessors[i];
+        for (int j = exceptionStarts[predecessor]; j < exceptionStarts[predecessor + 1]; j++) {
+          if (exceptionHandlers[j] == id) {
+            exceptionalPreds.put(exceptionTypes[j], blocks[predecessor]);
+          }
+        }
+      }
+      return exceptionalPreds;
     }
 
     @Nonnull
     @Override
-    public Map<? extends ClassType, ImmutableBasicBlock> getExceptionalSuccessors() {
-      throw new UnsupportedOperationException("not implemented yet");
+    public Map<ClassType, ImmutableBasicBlock> getExceptionalSuccessors() {
+      int from = exceptionStarts[id];
+      int to = exceptionStarts[id + 1];
+      if (from == to) {
+        return Collections.emptyMap();
+      }
+      ImmutableMap.Builder<ClassType, ImmutableBasicBlock> exceptionalSuccs =
+          ImmutableMap.builder();
+      for (int i = from; i < to; i++) {
+        exceptionalSuccs.put(exceptionTypes[i], blocks[exceptionHandlers[i]]);
+      }
+      return exceptionalSuccs.build();
     }
 
     @Nonnull
     @Override
     public List<Stmt> getStmts() {
-      throw new UnsupportedOperationException();
+      return Collections.unmodifiableList(
+          Arrays.asList(stmts).subList(blockStarts[id], blockStarts[id + 1]));
     }
 
     @Override
     public int getStmtCount() {
-      return endIdx - startIdx + 1;
+      return blockStarts[id + 1] - blockStarts[id];
     }
 
     @Nonnull
     @Override
     public Stmt getHead() {
-      throw new UnsupportedOperationException();
+      return stmts[blockStarts[id]];
     }
 
     @Nonnull
     @Override
     public Stmt getTail() {
-      throw new UnsupportedOperationException();
+      return stmts[blockStarts[id + 1] - 1];
+    }
+
+    @Override
+    public String toString() {
+      return "Block " + getStmts();
     }
   }
 }
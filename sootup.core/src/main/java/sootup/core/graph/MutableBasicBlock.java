@@ -40,6 +40,9 @@ public interface MutableBasicBlock extends BasicBlock<MutableBasicBlock> {
 
   void replaceStmt(Stmt oldStmt, Stmt newStmt);
 
+  /** Replaces all Stmts of this Block; the flows of the Block stay untouched. */
+  void setStmts(@Nonnull List<Stmt> stmts);
+
   void addPredecessorBlock(@Nonnull MutableBasicBlock block);
 
   void linkSuccessor(int successorIdx, MutableBasicBlock blockB);
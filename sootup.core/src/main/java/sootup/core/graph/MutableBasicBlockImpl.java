@@ -83,6 +83,12 @@ public class MutableBasicBlockImpl implements MutableBasicBlock {
     replaceStmt(idx, newStmt);
   }
 
+  @Override
+  public void setStmts(@Nonnull List<Stmt> newStmts) {
+    stmts.clear();
+    stmts.addAll(newStmts);
+  }
+
   @Override
   public void replaceStmt(int idx, Stmt newStmt) {
     if (idx < 0) {
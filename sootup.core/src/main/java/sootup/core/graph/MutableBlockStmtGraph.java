@@ -55,6 +55,9 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
 
   @Nonnull private final Set<MutableBasicBlock> blocks = new HashSet<>();
 
+  /** cleared by every modification of this graph */
+  @Nonnull private final StmtGraphAnalysisCache analysisCache = new StmtGraphAnalysisCache(this);
+
   public MutableBlockStmtGraph() {}
 
   public MutableBlockStmtGraph(boolean isStatic, MethodSignature sig, LocalGenerator localgen) {
@@ -130,6 +133,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
       @Nonnull List<List<Stmt>> blocks,
       @Nonnull Map<BranchingStmt, List<Stmt>> successorMap,
       @Nonnull List<Trap> traps) {
+    analysisCache.invalidate();
 
     if (blocks.isEmpty()) {
       return;
@@ -435,6 +439,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
   @Override
   public void addExceptionalEdge(
       @Nonnull Stmt stmt, @Nonnull ClassType exceptionType, @Nonnull Stmt traphandlerStmt) {
+    analysisCache.invalidate();
 
     Pair<Integer, MutableBasicBlock> blockPair = stmtToBlock.get(stmt);
     if (blockPair == null) {
@@ -457,6 +462,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
 
   @Override
   public void removeExceptionalEdge(@Nonnull Stmt node, @Nonnull ClassType exceptionType) {
+    analysisCache.invalidate();
     Pair<Integer, MutableBasicBlock> blockPair = stmtToBlock.get(node);
     if (blockPair == null) {
       throw new IllegalArgumentException(
@@ -469,6 +475,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
 
   @Override
   public void clearExceptionalEdges(@Nonnull Stmt node) {
+    analysisCache.invalidate();
     Pair<Integer, MutableBasicBlock> blockPair = stmtToBlock.get(node);
     if (blockPair == null) {
       throw new IllegalArgumentException(
@@ -487,7 +494,37 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
 
   @Nonnull
   public List<? extends BasicBlock<?>> getBlocksSorted() {
-    return ReversePostOrderBlockTraversal.getBlocksSorted(this);
+    return analysisCache.getReversePostOrder();
+  }
+
+  @Nonnull
+  @Override
+  public List<BasicBlock<?>> getBlocksPostOrder() {
+    return analysisCache.getPostOrder();
+  }
+
+  @Nonnull
+  @Override
+  public DominanceFinder getDominanceFinder() {
+    return analysisCache.getDominanceFinder();
+  }
+
+  @Nonnull
+  @Override
+  public PostDominanceFinder getPostDominanceFinder() {
+    return analysisCache.getPostDominanceFinder();
+  }
+
+  @Nonnull
+  @Override
+  public DominanceTree getDominanceTree() {
+    return analysisCache.getDominanceTree();
+  }
+
+  @Nonnull
+  @Override
+  public DominanceTree getPostDominanceTree() {
+    return analysisCache.getPostDominanceTree();
   }
 
   /**
@@ -496,6 +533,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
    */
   @Override
   public void addBlock(@Nonnull List<Stmt> stmts, @Nonnull Map<ClassType, Stmt> trapMap) {
+    analysisCache.invalidate();
     if (stmts.isEmpty()) {
       return;
     }
@@ -563,6 +601,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
 
   @Override
   public void removeBlock(BasicBlock<?> block) {
+    analysisCache.invalidate();
     Pair<Integer, MutableBasicBlock> blockOfPair = stmtToBlock.get(block.getHead());
     if (blockOfPair.getRight() != block) {
       throw new IllegalArgumentException(
@@ -583,6 +622,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
 
   @Override
   public void addNode(@Nonnull Stmt stmt, @Nonnull Map<ClassType, Stmt> exceptions) {
+    analysisCache.invalidate();
     Pair<Integer, MutableBasicBlock> blockPair = stmtToBlock.get(stmt);
     if (blockPair == null) {
       // Stmt does not exist in the graph -> create
@@ -847,6 +887,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
   }
 
   public void removeNode(@Nonnull Stmt stmt) {
+    analysisCache.invalidate();
     // TODO: [ms] whats intuitive? removing the flows to the block too? or is deleting a stmt
     // keeping the flows to it
     // is the answer different if its the tail? consistency vs intuitivity..
@@ -865,6 +906,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
    * @throws IllegalArgumentException if keepFlow is true but the stmt has multiple successors
    */
   public void removeNode(@Nonnull Stmt stmt, boolean keepFlow) {
+    analysisCache.invalidate();
     Pair<Integer, MutableBasicBlock> blockOfRemovedStmtPair = stmtToBlock.get(stmt);
     if (blockOfRemovedStmtPair == null) {
       throw new IllegalArgumentException("stmt '" + stmt + "' is not contained in this StmtGraph!");
@@ -976,6 +1018,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
 
   @Override
   public void replaceNode(@Nonnull Stmt oldStmt, @Nonnull Stmt newStmt) {
+    analysisCache.invalidate();
     if (oldStmt == newStmt) {
       return;
     }
@@ -1044,6 +1087,95 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
     stmtToBlock.remove(oldStmt);
   }
 
+  /**
+   * Rebuilds each Block whose operations keep its boundaries in a single pass. Operations that
+   * split or merge Blocks (i.e. involve BranchingStmts or empty a Block) are applied one by one
+   * afterwards, in the order in which they were added to the edit.
+   */
+  @Override
+  void applyBatchEdit(@Nonnull StmtGraphBatchEdit edit) {
+    analysisCache.invalidate();
+    final List<StmtGraphBatchEdit.Operation> operations = edit.getOperations();
+    Map<MutableBasicBlock, List<StmtGraphBatchEdit.Operation>> blockOperations =
+        new LinkedHashMap<>();
+    for (StmtGraphBatchEdit.Operation operation : operations) {
+      Pair<Integer, MutableBasicBlock> blockPair = stmtToBlock.get(operation.target);
+      if (blockPair == null) {
+        throw new IllegalArgumentException(
+            "Stmt '" + operation.target + "' is not contained in this StmtGraph!");
+      }
+      blockOperations.computeIfAbsent(blockPair.getRight(), k -> new ArrayList<>()).add(operation);
+    }
+
+    Set<StmtGraphBatchEdit.Operation> remaining =
+        Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Map.Entry<MutableBasicBlock, List<StmtGraphBatchEdit.Operation>> entry :
+        blockOperations.entrySet()) {
+      List<StmtGraphBatchEdit.Operation> ops = entry.getValue();
+      if (ops.stream().allMatch(StmtGraphBatchEdit.Operation::isLocal)
+          && rebuildBlock(entry.getKey(), ops)) {
+        continue;
+      }
+      remaining.addAll(ops);
+    }
+
+    for (StmtGraphBatchEdit.Operation operation : operations) {
+      if (remaining.contains(operation)) {
+        operation.applyTo(this);
+      }
+    }
+  }
+
+  /**
+   * Applies replacements, removals and insertions of non-branching Stmts to the given block.
+   *
+   * @return false if the block would become empty; nothing is modified in that case
+   */
+  private boolean rebuildBlock(
+      @Nonnull MutableBasicBlock block, @Nonnull List<StmtGraphBatchEdit.Operation> operations) {
+    Map<Stmt, StmtGraphBatchEdit.Operation> edits = new IdentityHashMap<>();
+    Map<Stmt, List<Stmt>> insertions = new IdentityHashMap<>();
+    for (StmtGraphBatchEdit.Operation operation : operations) {
+      if (operation.kind == StmtGraphBatchEdit.Kind.INSERT_BEFORE) {
+        insertions
+            .computeIfAbsent(operation.target, k -> new ArrayList<>())
+            .addAll(operation.insertedStmts);
+      } else {
+        edits.put(operation.target, operation);
+      }
+    }
+
+    final List<Stmt> oldStmts = block.getStmts();
+    List<Stmt> newStmts = new ArrayList<>(oldStmts.size());
+    for (Stmt stmt : oldStmts) {
+      List<Stmt> inserted = insertions.get(stmt);
+      if (inserted != null) {
+        newStmts.addAll(inserted);
+      }
+      StmtGraphBatchEdit.Operation edit = edits.get(stmt);
+      if (edit == null) {
+        newStmts.add(stmt);
+      } else if (edit.kind == StmtGraphBatchEdit.Kind.REPLACE) {
+        newStmts.add(edit.replacement);
+      }
+    }
+    if (newStmts.isEmpty()) {
+      return false;
+    }
+
+    if (startingStmt == block.getHead()) {
+      startingStmt = newStmts.get(0);
+    }
+    for (Stmt stmt : edits.keySet()) {
+      stmtToBlock.remove(stmt);
+    }
+    block.setStmts(newStmts);
+    for (int i = 0, size = newStmts.size(); i < size; i++) {
+      stmtToBlock.put(newStmts.get(i), new MutablePair<>(i, block));
+    }
+    return true;
+  }
+
   public void validateBlocks() {
     for (MutableBasicBlock block : blocks) {
 
@@ -1073,6 +1205,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
       @Nonnull Stmt beforeStmt,
       @Nonnull List<FallsThroughStmt> stmts,
       @Nonnull Map<ClassType, Stmt> exceptionMap) {
+    analysisCache.invalidate();
     if (stmts.isEmpty()) {
       return;
     }
@@ -1131,6 +1264,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
   /** Replaces all SuccessorEdge(s) of from to oldTo by mewTo */
   @Override
   public boolean replaceSucessorEdge(@Nonnull Stmt from, @Nonnull Stmt oldTo, @Nonnull Stmt newTo) {
+    analysisCache.invalidate();
     final Pair<Integer, MutableBasicBlock> mutableBasicBlockPair = stmtToBlock.get(from);
     if (mutableBasicBlockPair == null) {
       throw new IllegalArgumentException("stmt '" + from + "' does not exist in this StmtGraph!");
@@ -1173,6 +1307,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
   }
 
   protected void putEdge_internal(@Nonnull Stmt stmtA, int succesorIdx, @Nonnull Stmt stmtB) {
+    analysisCache.invalidate();
 
     Pair<Integer, MutableBasicBlock> blockAPair = stmtToBlock.get(stmtA);
     Pair<Integer, MutableBasicBlock> blockBPair = stmtToBlock.get(stmtB);
@@ -1278,6 +1413,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
 
   @Override
   public List<Integer> removeEdge(@Nonnull Stmt from, @Nonnull Stmt to) {
+    analysisCache.invalidate();
     Pair<Integer, MutableBasicBlock> blockOfFromPair = stmtToBlock.get(from);
     if (blockOfFromPair == null) {
       // Stmt is not existing anymore in this graph - so neither a connection.
@@ -1350,6 +1486,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
 
   @Override
   public void setEdges(@Nonnull BranchingStmt fromStmt, @Nonnull List<Stmt> targets) {
+    analysisCache.invalidate();
     if (fromStmt.getExpectedSuccessorCount() != targets.size()) {
       throw new IllegalArgumentException(
           "Size of Targets is not the amount of from's expected successors.");
@@ -1398,6 +1535,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
   }
 
   public void setStartingStmt(@Nonnull Stmt startingStmt) {
+    analysisCache.invalidate();
     if (stmtToBlock.get(startingStmt) == null) {
       Pair<Integer, MutableBasicBlock> block = stmtToBlock.get(startingStmt);
       if (block == null) {
@@ -1473,7 +1611,7 @@ public class MutableBlockStmtGraph extends MutableStmtGraph {
 
     List<Stmt> exceptionalPred = new ArrayList<>();
     for (BasicBlock<?> pBlock : block.getPredecessors()) {
-      if (pBlock.getExceptionalSuccessors().containsValue(pBlock)) {
+      if (pBlock.getExceptionalSuccessors().containsValue(block)) {
         exceptionalPred.addAll(pBlock.getStmts());
       }
     }
@@ -80,6 +80,22 @@ public abstract class MutableStmtGraph extends StmtGraph<MutableBasicBlock> {
     insertBefore(beforeStmt, Collections.singletonList(newStmt), Collections.emptyMap());
   }
 
+  /**
+   * Returns an empty {@link StmtGraphBatchEdit} to collect many replacements, removals and
+   * insertions that are applied to this graph at once.
+   */
+  @Nonnull
+  public StmtGraphBatchEdit batchEdit() {
+    return new StmtGraphBatchEdit(this);
+  }
+
+  /** Applies the operations of the given edit one after another. */
+  void applyBatchEdit(@Nonnull StmtGraphBatchEdit edit) {
+    for (StmtGraphBatchEdit.Operation operation : edit.getOperations()) {
+      operation.applyTo(this);
+    }
+  }
+
   /** removes "stmt" from the StmtGraph */
   public abstract void removeNode(@Nonnull Stmt stmt);
 
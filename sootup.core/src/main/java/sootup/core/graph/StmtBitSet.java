@@ -0,0 +1,132 @@
+package sootup.core.graph;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.jimple.common.stmt.Stmt;
+
+/**
+ * A Set of Stmts of a {@link StmtIndex}, stored as one bit per Stmt index. Adding a Stmt that is
+ * not indexed throws an IllegalArgumentException.
+ */
+public class StmtBitSet extends AbstractSet<Stmt> {
+
+  @Nonnull private final StmtIndex index;
+  @Nonnull private final BitSet bits;
+
+  public StmtBitSet(@Nonnull StmtIndex index) {
+    this.index = index;
+    this.bits = new BitSet(index.size());
+  }
+
+  @Nonnull
+  public StmtIndex getIndex() {
+    return index;
+  }
+
+  private int indexOf(@Nullable Object o) {
+    return o instanceof Stmt ? index.indexOf((Stmt) o) : StmtIndex.NONE;
+  }
+
+  @Override
+  public int size() {
+    return bits.cardinality();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return bits.isEmpty();
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    int idx = indexOf(o);
+    return idx != StmtIndex.NONE && bits.get(idx);
+  }
+
+  @Override
+  public boolean add(@Nonnull Stmt stmt) {
+    int idx = index.indexOf(stmt);
+    if (idx == StmtIndex.NONE) {
+      throw new IllegalArgumentException("Stmt '" + stmt + "' is not contained in the StmtIndex");
+    }
+    if (bits.get(idx)) {
+      return false;
+    }
+    bits.set(idx);
+    return true;
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    int idx = indexOf(o);
+    if (idx == StmtIndex.NONE || !bits.get(idx)) {
+      return false;
+    }
+    bits.clear(idx);
+    return true;
+  }
+
+  @Override
+  public void clear() {
+    bits.clear();
+  }
+
+  @Nonnull
+  @Override
+  public Iterator<Stmt> iterator() {
+    return new Iterator<Stmt>() {
+      private int next = bits.nextSetBit(0);
+      private int last = StmtIndex.NONE;
+
+      @Override
+      public boolean hasNext() {
+        return next >= 0;
+      }
+
+      @Override
+      public Stmt next() {
+        if (next < 0) {
+          throw new NoSuchElementException();
+        }
+        last = next;
+        next = bits.nextSetBit(next + 1);
+        return index.getStmt(last);
+      }
+
+      @Override
+      public void remove() {
+        if (last == StmtIndex.NONE) {
+          throw new IllegalStateException();
+        }
+        bits.clear(last);
+        last = StmtIndex.NONE;
+      }
+    };
+  }
+}
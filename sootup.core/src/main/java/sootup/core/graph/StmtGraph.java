@@ -79,12 +79,66 @@ public abstract class StmtGraph<V extends BasicBlock<V>> implements Iterable<Stm
     return res;
   }
 
+  /**
+   * Returns a dense index over the Stmts of this graph. The default implementation indexes a
+   * snapshot of getNodes(), i.e. it does not reflect modifications of a mutable graph that happen
+   * afterwards.
+   */
+  @Nonnull
+  public StmtIndex getStmtIndex() {
+    return new StmtIndex(getNodes());
+  }
+
+  /** Creates an empty array-backed map keyed by the Stmts of {@link #getStmtIndex()}. */
+  @Nonnull
+  public <T> StmtMap<T> newStmtMap() {
+    return new StmtMap<>(getStmtIndex());
+  }
+
+  /** Creates an empty bit set over the Stmts of {@link #getStmtIndex()}. */
+  @Nonnull
+  public StmtBitSet newStmtBitSet() {
+    return new StmtBitSet(getStmtIndex());
+  }
+
   @Nonnull
   public abstract Collection<? extends BasicBlock<?>> getBlocks();
 
+  /** Returns the blocks in reverse post order, starting with the block of the starting Stmt. */
   @Nonnull
   public abstract List<? extends BasicBlock<?>> getBlocksSorted();
 
+  /**
+   * Returns the blocks in post order. This and the following dominance queries are computed on each
+   * call; graphs that know when they are modified (e.g. MutableBlockStmtGraph,
+   * ImmutableBlockStmtGraph) cache the result until the next modification. Cached results are
+   * shared and must not be modified.
+   */
+  @Nonnull
+  public List<BasicBlock<?>> getBlocksPostOrder() {
+    return PostOrderBlockTraversal.getBlocksSorted(this);
+  }
+
+  @Nonnull
+  public DominanceFinder getDominanceFinder() {
+    return new DominanceFinder(this);
+  }
+
+  @Nonnull
+  public PostDominanceFinder getPostDominanceFinder() {
+    return new PostDominanceFinder(this);
+  }
+
+  @Nonnull
+  public DominanceTree getDominanceTree() {
+    return new DominanceTree(getDominanceFinder());
+  }
+
+  @Nonnull
+  public DominanceTree getPostDominanceTree() {
+    return new DominanceTree(getPostDominanceFinder());
+  }
+
   public Iterator<BasicBlock<?>> getBlockIterator() {
     return new BlockGraphIterator();
   }
@@ -0,0 +1,117 @@
+package sootup.core.graph;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Lazily computed block orders and dominance information of a StmtGraph. Graphs that are modified
+ * have to call {@link #invalidate()} on every modification.
+ */
+final class StmtGraphAnalysisCache {
+
+  @Nonnull private final StmtGraph<?> graph;
+
+  @Nullable private volatile List<BasicBlock<?>> reversePostOrder;
+  @Nullable private volatile List<BasicBlock<?>> postOrder;
+  @Nullable private volatile DominanceFinder dominanceFinder;
+  @Nullable private volatile PostDominanceFinder postDominanceFinder;
+  @Nullable private volatile DominanceTree dominanceTree;
+  @Nullable private volatile DominanceTree postDominanceTree;
+
+  StmtGraphAnalysisCache(@Nonnull StmtGraph<?> graph) {
+    this.graph = graph;
+  }
+
+  void invalidate() {
+    reversePostOrder = null;
+    postOrder = null;
+    dominanceFinder = null;
+    postDominanceFinder = null;
+    dominanceTree = null;
+    postDominanceTree = null;
+  }
+
+  @Nonnull
+  List<BasicBlock<?>> getReversePostOrder() {
+    List<BasicBlock<?>> order = reversePostOrder;
+    if (order == null) {
+      order = Collections.unmodifiableList(ReversePostOrderBlockTraversal.getBlocksSorted(graph));
+      reversePostOrder = order;
+    }
+    return order;
+  }
+
+  @Nonnull
+  List<BasicBlock<?>> getPostOrder() {
+    List<BasicBlock<?>> order = postOrder;
+    if (order == null) {
+      order = Collections.unmodifiableList(PostOrderBlockTraversal.getBlocksSorted(graph));
+      postOrder = order;
+    }
+    return order;
+  }
+
+  @Nonnull
+  DominanceFinder getDominanceFinder() {
+    DominanceFinder finder = dominanceFinder;
+    if (finder == null) {
+      finder = new DominanceFinder(graph);
+      dominanceFinder = finder;
+    }
+    return finder;
+  }
+
+  @Nonnull
+  PostDominanceFinder getPostDominanceFinder() {
+    PostDominanceFinder finder = postDominanceFinder;
+    if (finder == null) {
+      finder = new PostDominanceFinder(graph);
+      postDominanceFinder = finder;
+    }
+    return finder;
+  }
+
+  @Nonnull
+  DominanceTree getDominanceTree() {
+    DominanceTree tree = dominanceTree;
+    if (tree == null) {
+      tree = new DominanceTree(getDominanceFinder());
+      dominanceTree = tree;
+    }
+    return tree;
+  }
+
+  @Nonnull
+  DominanceTree getPostDominanceTree() {
+    DominanceTree tree = postDominanceTree;
+    if (tree == null) {
+      tree = new DominanceTree(getPostDominanceFinder());
+      postDominanceTree = tree;
+    }
+    return tree;
+  }
+}
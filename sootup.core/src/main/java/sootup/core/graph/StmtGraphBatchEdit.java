@@ -0,0 +1,177 @@
+package sootup.core.graph;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.*;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.jimple.common.stmt.FallsThroughStmt;
+import sootup.core.jimple.common.stmt.Stmt;
+
+/**
+ * Collects replacements, removals and insertions of Stmts of a {@link MutableStmtGraph} and applies
+ * them together via {@link #apply()}.
+ *
+ * <p>All operations refer to the graph as it is when the edit is created: each Stmt can be replaced
+ * or removed at most once, and insertions are positioned before a Stmt of the original graph. The
+ * operations have the same semantics as {@link MutableStmtGraph#replaceNode(Stmt, Stmt)}, {@link
+ * MutableStmtGraph#removeNode(Stmt)} and {@link MutableStmtGraph#insertBefore(Stmt, List, Map)}
+ * with the exceptional flows of the Stmt before which is inserted. {@link MutableBlockStmtGraph}
+ * rebuilds every Block whose boundaries are not affected in a single pass instead of shifting its
+ * Stmts once per operation.
+ */
+public final class StmtGraphBatchEdit {
+
+  enum Kind {
+    REPLACE,
+    REMOVE,
+    INSERT_BEFORE
+  }
+
+  static final class Operation {
+    @Nonnull final Kind kind;
+    @Nonnull final Stmt target;
+    @Nullable final Stmt replacement;
+    @Nonnull final List<FallsThroughStmt> insertedStmts;
+
+    private Operation(
+        @Nonnull Kind kind,
+        @Nonnull Stmt target,
+        @Nullable Stmt replacement,
+        @Nonnull List<FallsThroughStmt> insertedStmts) {
+      this.kind = kind;
+      this.target = target;
+      this.replacement = replacement;
+      this.insertedStmts = insertedStmts;
+    }
+
+    /** whether the operation keeps the boundaries of the Block that contains the target */
+    boolean isLocal() {
+      switch (kind) {
+        case REPLACE:
+          return !target.branches() && !replacement.branches();
+        case REMOVE:
+          return !target.branches();
+        default:
+          for (Stmt stmt : insertedStmts) {
+            if (stmt.branches()) {
+              return false;
+            }
+          }
+          return true;
+      }
+    }
+
+    void applyTo(@Nonnull MutableStmtGraph graph) {
+      switch (kind) {
+        case REPLACE:
+          graph.replaceNode(target, replacement);
+          break;
+        case REMOVE:
+          graph.removeNode(target);
+          break;
+        default:
+          graph.insertBefore(target, insertedStmts, graph.exceptionalSuccessors(target));
+      }
+    }
+  }
+
+  @Nonnull private final MutableStmtGraph graph;
+  @Nonnull private final List<Operation> operations = new ArrayList<>();
+  @Nonnull private final Set<Stmt> editedStmts = Collections.newSetFromMap(new IdentityHashMap<>());
+  private boolean applied = false;
+
+  StmtGraphBatchEdit(@Nonnull MutableStmtGraph graph) {
+    this.graph = graph;
+  }
+
+  @Nonnull
+  public StmtGraphBatchEdit replace(@Nonnull Stmt oldStmt, @Nonnull Stmt newStmt) {
+    if (oldStmt != newStmt) {
+      markEdited(oldStmt);
+      operations.add(new Operation(Kind.REPLACE, oldStmt, newStmt, Collections.emptyList()));
+    }
+    return this;
+  }
+
+  @Nonnull
+  public StmtGraphBatchEdit remove(@Nonnull Stmt stmt) {
+    markEdited(stmt);
+    operations.add(new Operation(Kind.REMOVE, stmt, null, Collections.emptyList()));
+    return this;
+  }
+
+  @Nonnull
+  public StmtGraphBatchEdit insertBefore(
+      @Nonnull Stmt beforeStmt, @Nonnull List<FallsThroughStmt> stmts) {
+    checkModifiable(beforeStmt);
+    if (!stmts.isEmpty()) {
+      operations.add(new Operation(Kind.INSERT_BEFORE, beforeStmt, null, new ArrayList<>(stmts)));
+    }
+    return this;
+  }
+
+  @Nonnull
+  public StmtGraphBatchEdit insertBefore(@Nonnull Stmt beforeStmt, @Nonnull FallsThroughStmt stmt) {
+    return insertBefore(beforeStmt, Collections.singletonList(stmt));
+  }
+
+  public boolean isEmpty() {
+    return operations.isEmpty();
+  }
+
+  /** Applies all collected operations to the graph. An edit can only be applied once. */
+  public void apply() {
+    if (applied) {
+      throw new IllegalStateException("This edit has already been applied.");
+    }
+    applied = true;
+    if (!operations.isEmpty()) {
+      graph.applyBatchEdit(this);
+    }
+  }
+
+  /** the collected operations in the order in which they were added */
+  @Nonnull
+  List<Operation> getOperations() {
+    return operations;
+  }
+
+  private void checkModifiable(@Nonnull Stmt stmt) {
+    if (applied) {
+      throw new IllegalStateException("This edit has already been applied.");
+    }
+    if (editedStmts.contains(stmt)) {
+      throw new IllegalArgumentException(
+          "Stmt '" + stmt + "' is already replaced or removed by this edit.");
+    }
+    if (!graph.containsNode(stmt)) {
+      throw new IllegalArgumentException("Stmt '" + stmt + "' is not contained in the StmtGraph.");
+    }
+  }
+
+  private void markEdited(@Nonnull Stmt stmt) {
+    checkModifiable(stmt);
+    editedStmts.add(stmt);
+  }
+}
@@ -0,0 +1,102 @@
+package sootup.core.graph;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.Collection;
+import javax.annotation.Nonnull;
+import sootup.core.jimple.common.stmt.Stmt;
+
+/**
+ * Assigns the dense indices 0 to size()-1 to a fixed set of Stmts. Stmts are compared by identity.
+ * Used as the key space of {@link StmtMap} and {@link StmtBitSet}.
+ */
+public final class StmtIndex {
+
+  /** returned by {@link #indexOf(Stmt)} for Stmts that are not indexed */
+  public static final int NONE = -1;
+
+  @Nonnull private final Stmt[] stmts;
+
+  /** open addressing hash table from a Stmt (compared by identity) to its index */
+  @Nonnull private final Stmt[] keys;
+
+  @Nonnull private final int[] values;
+
+  public StmtIndex(@Nonnull Collection<Stmt> stmts) {
+    this(stmts.toArray(new Stmt[0]));
+  }
+
+  /** Indexes the given array without copying it, so it must not be modified afterwards. */
+  StmtIndex(@Nonnull Stmt[] stmts) {
+    this.stmts = stmts;
+    int capacity = 2;
+    while (capacity < stmts.length * 2) {
+      capacity <<= 1;
+    }
+    keys = new Stmt[capacity];
+    values = new int[capacity];
+    for (int idx = 0; idx < stmts.length; idx++) {
+      int slot = hash(stmts[idx]) & (capacity - 1);
+      while (keys[slot] != null) {
+        if (keys[slot] == stmts[idx]) {
+          throw new IllegalArgumentException("Stmt '" + stmts[idx] + "' is indexed twice.");
+        }
+        slot = (slot + 1) & (capacity - 1);
+      }
+      keys[slot] = stmts[idx];
+      values[slot] = idx;
+    }
+  }
+
+  private static int hash(@Nonnull Stmt stmt) {
+    int h = System.identityHashCode(stmt);
+    return h ^ (h >>> 16);
+  }
+
+  /** Returns the index of the given Stmt or {@link #NONE}. */
+  public int indexOf(@Nonnull Stmt stmt) {
+    int mask = keys.length - 1;
+    for (int slot = hash(stmt) & mask; ; slot = (slot + 1) & mask) {
+      Stmt key = keys[slot];
+      if (key == stmt) {
+        return values[slot];
+      }
+      if (key == null) {
+        return NONE;
+      }
+    }
+  }
+
+  public boolean contains(@Nonnull Stmt stmt) {
+    return indexOf(stmt) != NONE;
+  }
+
+  @Nonnull
+  public Stmt getStmt(int index) {
+    return stmts[index];
+  }
+
+  public int size() {
+    return stmts.length;
+  }
+}
@@ -0,0 +1,166 @@
+package sootup.core.graph;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.*;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.jimple.common.stmt.Stmt;
+
+/**
+ * A Map from the Stmts of a {@link StmtIndex} to values, stored in an array indexed by the Stmt
+ * index. Lookups of Stmts that are not indexed return null; inserting them throws an
+ * IllegalArgumentException. Null values are not supported.
+ *
+ * @param <V> the type of the values
+ */
+public class StmtMap<V> extends AbstractMap<Stmt, V> {
+
+  @Nonnull private final StmtIndex index;
+  @Nonnull private final Object[] values;
+  private int size = 0;
+
+  public StmtMap(@Nonnull StmtIndex index) {
+    this.index = index;
+    this.values = new Object[index.size()];
+  }
+
+  @Nonnull
+  public StmtIndex getIndex() {
+    return index;
+  }
+
+  private int indexOf(@Nullable Object key) {
+    return key instanceof Stmt ? index.indexOf((Stmt) key) : StmtIndex.NONE;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    int idx = indexOf(key);
+    return idx != StmtIndex.NONE && values[idx] != null;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V get(Object key) {
+    int idx = indexOf(key);
+    return idx == StmtIndex.NONE ? null : (V) values[idx];
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V put(@Nonnull Stmt key, @Nonnull V value) {
+    Objects.requireNonNull(value);
+    int idx = index.indexOf(key);
+    if (idx == StmtIndex.NONE) {
+      throw new IllegalArgumentException("Stmt '" + key + "' is not contained in the StmtIndex");
+    }
+    V old = (V) values[idx];
+    if (old == null) {
+      size++;
+    }
+    values[idx] = value;
+    return old;
+  }
+
+  @Override
+  public V remove(Object key) {
+    int idx = indexOf(key);
+    return idx == StmtIndex.NONE ? null : removeAt(idx);
+  }
+
+  @SuppressWarnings("unchecked")
+  private V removeAt(int idx) {
+    V old = (V) values[idx];
+    if (old != null) {
+      values[idx] = null;
+      size--;
+    }
+    return old;
+  }
+
+  @Override
+  public void clear() {
+    Arrays.fill(values, null);
+    size = 0;
+  }
+
+  @Nonnull
+  @Override
+  public Set<Entry<Stmt, V>> entrySet() {
+    return new AbstractSet<Entry<Stmt, V>>() {
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Nonnull
+      @Override
+      public Iterator<Entry<Stmt, V>> iterator() {
+        return new EntryIterator();
+      }
+    };
+  }
+
+  private class EntryIterator implements Iterator<Entry<Stmt, V>> {
+    private int next = advance(0);
+    private int last = StmtIndex.NONE;
+
+    private int advance(int from) {
+      while (from < values.length && values[from] == null) {
+        from++;
+      }
+      return from;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next < values.length;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Entry<Stmt, V> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      last = next;
+      next = advance(next + 1);
+      return new SimpleImmutableEntry<>(index.getStmt(last), (V) values[last]);
+    }
+
+    @Override
+    public void remove() {
+      if (last == StmtIndex.NONE) {
+        throw new IllegalStateException();
+      }
+      removeAt(last);
+      last = StmtIndex.NONE;
+    }
+  }
+}
@@ -24,11 +24,14 @@ package sootup.core.inputlocation;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import sootup.core.cache.body.PersistentBodyCache;
 import sootup.core.frontend.SootClassSource;
 import sootup.core.model.SootClass;
 import sootup.core.model.SourceType;
 import sootup.core.transform.BodyInterceptor;
+import sootup.core.typehierarchy.ClassHeader;
 import sootup.core.types.ClassType;
 import sootup.core.views.View;
 
@@ -63,6 +66,38 @@ public interface AnalysisInputLocation {
   @Nonnull
   Collection<? extends SootClassSource> getClassSources(@Nonnull View view);
 
+  /**
+   * Scan the input location and read the {@link ClassHeader} of every class, which is all the
+   * {@link sootup.core.typehierarchy.TypeHierarchy} needs. By default, the headers are taken from
+   * {@link #getClassSources(View)}; frontends that can read headers without parsing whole classes
+   * should override this.
+   */
+  @Nonnull
+  default Stream<ClassHeader> getClassHeaders(@Nonnull View view) {
+    return getClassSources(view).stream().map(ClassHeader::of);
+  }
+
+  /**
+   * Cheap membership pre-check that is consulted before {@link #getClassSource(ClassType, View)}.
+   * Returns <code>false</code> only if this location definitely does not contain the given type. By
+   * default, every type may be contained.
+   */
+  default boolean mayContain(@Nonnull ClassType type) {
+    return true;
+  }
+
+  /**
+   * Returns a fingerprint of the current contents of this location, e.g. built from the names,
+   * sizes and modification times of its files. It has to change whenever a class of the location
+   * changes, as data derived from the location (e.g. a {@link
+   * sootup.core.typehierarchy.TypeHierarchySnapshot}) is persisted under it. By default, a location
+   * has no fingerprint, so nothing derived from it is persisted.
+   */
+  @Nonnull
+  default Optional<String> getFingerprint() {
+    return Optional.empty();
+  }
+
   /**
    * If the AnalysisInputLocation is initialized with the SourceType then this method should return
    * that specific SourceType. This is the default implementation and it returns null when no source
@@ -75,4 +110,13 @@ public interface AnalysisInputLocation {
 
   @Nonnull
   List<BodyInterceptor> getBodyInterceptors();
+
+  /**
+   * Returns the cache that the frontend consults before it creates a body from this location and
+   * that stores the created bodies. By default, no bodies are cached.
+   */
+  @Nonnull
+  default Optional<PersistentBodyCache> getBodyCache() {
+    return Optional.empty();
+  }
 }
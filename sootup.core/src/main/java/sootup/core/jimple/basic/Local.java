@@ -23,6 +23,7 @@ package sootup.core.jimple.basic;
  */
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.graph.StmtGraph;
@@ -110,6 +111,9 @@ public class Local implements Immediate, LValue, Acceptor<ImmediateVisitor> {
     return Stream.empty();
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {}
+
   /** returns a List that can contain: Locals, JFieldRefs, JArrayRefs */
   public List<AbstractDefinitionStmt> getDefs(Collection<Stmt> defs) {
     List<AbstractDefinitionStmt> localDefs = new ArrayList<>();
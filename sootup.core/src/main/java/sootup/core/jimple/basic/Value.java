@@ -22,6 +22,7 @@ package sootup.core.jimple.basic;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.common.constant.Constant;
@@ -48,6 +49,14 @@ public interface Value extends EquivTo {
   @Nonnull
   Stream<Value> getUses();
 
+  /**
+   * Passes the Values of {@link #getUses()} to the given consumer in the same order.
+   * Implementations override it to do so without allocating a Stream.
+   */
+  default void forEachUse(@Nonnull Consumer<Value> consumer) {
+    getUses().forEach(consumer);
+  }
+
   /** Returns the Soot type of this Value. */
   @Nonnull
   Type getType();
@@ -22,6 +22,7 @@ package sootup.core.jimple.common.constant;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.Immediate;
@@ -38,6 +39,9 @@ public interface Constant extends Immediate, Acceptor<ConstantVisitor> {
     return Stream.empty();
   }
 
+  @Override
+  default void forEachUse(@Nonnull Consumer<Value> consumer) {}
+
   @Override
   default boolean equivTo(Object o, @Nonnull JimpleComparator comparator) {
     return comparator.caseConstant(this, o);
@@ -47,6 +47,11 @@ public class MethodType implements Constant {
     return type;
   }
 
+  @Nonnull
+  public MethodSubSignature getMethodSubSignature() {
+    return methodSig;
+  }
+
   public List<Type> getParameterTypes() {
     return methodSig.getParameterTypes();
   }
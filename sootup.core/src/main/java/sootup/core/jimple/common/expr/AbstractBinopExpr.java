@@ -22,6 +22,7 @@ package sootup.core.jimple.common.expr;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.Immediate;
@@ -56,6 +57,14 @@ public abstract class AbstractBinopExpr implements Expr {
         Stream.concat(Stream.concat(op1.getUses(), Stream.of(op1)), op2.getUses()), Stream.of(op2));
   }
 
+  @Override
+  public final void forEachUse(@Nonnull Consumer<Value> consumer) {
+    op1.forEachUse(consumer);
+    consumer.accept(op1);
+    op2.forEachUse(consumer);
+    consumer.accept(op2);
+  }
+
   @Override
   public boolean equivTo(@Nonnull Object o, @Nonnull JimpleComparator comparator) {
     return comparator.caseAbstractBinopExpr(this, o);
@@ -23,6 +23,7 @@ package sootup.core.jimple.common.expr;
  */
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.Immediate;
@@ -55,6 +56,13 @@ public abstract class AbstractInstanceInvokeExpr extends AbstractInvokeExpr {
         Stream.of(base));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {
+    super.forEachUse(consumer);
+    base.forEachUse(consumer);
+    consumer.accept(base);
+  }
+
   /** Returns a hash code for this object, consistent with structural equality. */
   @Override
   public int equivHashCode() {
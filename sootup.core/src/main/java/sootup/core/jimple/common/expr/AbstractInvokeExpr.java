@@ -25,6 +25,7 @@ package sootup.core.jimple.common.expr;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.Immediate;
@@ -78,6 +79,16 @@ public abstract class AbstractInvokeExpr implements Expr {
     return Stream.concat(Stream.of(args), Stream.of(args).flatMap(Value::getUses));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {
+    for (Immediate arg : args) {
+      consumer.accept(arg);
+    }
+    for (Immediate arg : args) {
+      arg.forEachUse(consumer);
+    }
+  }
+
   protected void argsToString(@Nonnull StringBuilder builder) {
     final int len = getArgCount();
     if (0 < len) {
@@ -22,6 +22,7 @@ package sootup.core.jimple.common.expr;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.Immediate;
@@ -45,4 +46,10 @@ public abstract class AbstractUnopExpr implements Expr {
   public final Stream<Value> getUses() {
     return Stream.concat(op.getUses(), Stream.of(op));
   }
+
+  @Override
+  public final void forEachUse(@Nonnull Consumer<Value> consumer) {
+    op.forEachUse(consumer);
+    consumer.accept(op);
+  }
 }
@@ -22,6 +22,7 @@ package sootup.core.jimple.common.expr;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.Immediate;
@@ -76,6 +77,12 @@ public final class JCastExpr implements Expr {
     return Stream.concat(op.getUses(), Stream.of(op));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {
+    op.forEachUse(consumer);
+    consumer.accept(op);
+  }
+
   @Nonnull
   @Override
   public Type getType() {
@@ -22,6 +22,7 @@ package sootup.core.jimple.common.expr;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.Jimple;
@@ -80,6 +81,12 @@ public final class JInstanceOfExpr implements Expr {
     return Stream.concat(op.getUses(), Stream.of(op));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {
+    op.forEachUse(consumer);
+    consumer.accept(op);
+  }
+
   @Nonnull
   @Override
   public Type getType() {
@@ -22,6 +22,7 @@ package sootup.core.jimple.common.expr;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.IdentifierFactory;
@@ -111,6 +112,12 @@ public final class JNewArrayExpr implements Expr {
     return Stream.concat(size.getUses(), Stream.of(size));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {
+    size.forEachUse(consumer);
+    consumer.accept(size);
+  }
+
   /** Returns an instance of ArrayType(). */
   @Nonnull
   @Override
@@ -22,6 +22,7 @@ package sootup.core.jimple.common.expr;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.Jimple;
@@ -75,6 +76,9 @@ public final class JNewExpr implements Expr {
     return Stream.empty();
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {}
+
   @Override
   public <V extends ExprVisitor> V accept(@Nonnull V v) {
     v.caseNewExpr(this);
@@ -23,6 +23,7 @@ package sootup.core.jimple.common.expr;
  */
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.Jimple;
@@ -123,6 +124,17 @@ public final class JNewMultiArrayExpr implements Expr {
     return Stream.concat(sizes.stream(), sizes.stream().flatMap(Value::getUses));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {
+    final int len = sizes.size();
+    for (int i = 0; i < len; i++) {
+      consumer.accept(sizes.get(i));
+    }
+    for (int i = 0; i < len; i++) {
+      sizes.get(i).forEachUse(consumer);
+    }
+  }
+
   @Nonnull
   @Override
   public Type getType() {
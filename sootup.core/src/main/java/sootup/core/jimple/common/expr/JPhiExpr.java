@@ -23,6 +23,7 @@ package sootup.core.jimple.common.expr;
  */
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -138,6 +139,16 @@ public final class JPhiExpr implements Expr {
     return getArgs().stream().map(v -> v);
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {
+    if (args == null) {
+      return;
+    }
+    for (Local arg : args) {
+      consumer.accept(arg);
+    }
+  }
+
   @Override
   public int equivHashCode() {
     return Objects.hash(args);
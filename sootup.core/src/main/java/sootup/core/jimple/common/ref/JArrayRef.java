@@ -22,6 +22,7 @@ package sootup.core.jimple.common.ref;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.*;
@@ -81,6 +82,14 @@ public final class JArrayRef implements ConcreteRef, LValue {
         Stream.concat(index.getUses(), Stream.of(index)));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {
+    base.forEachUse(consumer);
+    consumer.accept(base);
+    index.forEachUse(consumer);
+    consumer.accept(index);
+  }
+
   @Override
   @Nonnull
   public Type getType() {
@@ -22,6 +22,7 @@ package sootup.core.jimple.common.ref;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.JimpleComparator;
@@ -65,6 +66,9 @@ public final class JCaughtExceptionRef implements IdentityRef {
     return Stream.empty();
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {}
+
   @Nonnull
   @Override
   public Type getType() {
@@ -26,6 +26,7 @@ package sootup.core.jimple.common.ref;
  * @version 1.0
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.JimpleComparator;
@@ -72,6 +73,12 @@ public final class JInstanceFieldRef extends JFieldRef {
     return Stream.concat(base.getUses(), Stream.of(base));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {
+    base.forEachUse(consumer);
+    consumer.accept(base);
+  }
+
   @Override
   public <V extends RefVisitor> V accept(@Nonnull V v) {
 
@@ -22,6 +22,7 @@ package sootup.core.jimple.common.ref;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.JimpleComparator;
@@ -83,6 +84,9 @@ public final class JParameterRef implements IdentityRef {
     return Stream.empty();
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {}
+
   /** Returns the type of this ParameterRef. */
   @Nonnull
   @Override
@@ -22,6 +22,7 @@ package sootup.core.jimple.common.ref;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.JimpleComparator;
@@ -53,6 +54,9 @@ public final class JStaticFieldRef extends JFieldRef implements LValue {
     return Stream.empty();
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {}
+
   @Override
   public boolean equivTo(Object o, @Nonnull JimpleComparator comparator) {
     return comparator.caseStaticFieldRef(this, o);
@@ -23,6 +23,7 @@ package sootup.core.jimple.common.stmt;
  */
 
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.LValue;
@@ -62,6 +63,20 @@ public abstract class AbstractDefinitionStmt extends AbstractStmt {
         Stream.concat(getLeftOp().getUses(), Stream.of(rightOp)), rightOp.getUses());
   }
 
+  @Override
+  public final void forEachUse(@Nonnull Consumer<Value> consumer) {
+    getLeftOp().forEachUse(consumer);
+    Value rightOp = getRightOp();
+    consumer.accept(rightOp);
+    rightOp.forEachUse(consumer);
+  }
+
+  @Override
+  public void forEachUseAndDef(@Nonnull Consumer<Value> consumer) {
+    forEachUse(consumer);
+    consumer.accept(getLeftOp());
+  }
+
   @Override
   public boolean fallsThrough() {
     return true;
@@ -23,6 +23,7 @@ package sootup.core.jimple.common.stmt;
  */
 
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.LValue;
@@ -50,6 +51,15 @@ public abstract class AbstractStmt implements Stmt {
     return Stream.empty();
   }
 
+  /**
+   * Passes the Values of {@link #getUses()} to the given consumer. Subclasses override it to do so
+   * without allocating a Stream.
+   */
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {
+    getUses().forEach(consumer);
+  }
+
   /**
    * Returns a list of Values defined in this Stmt. There are languages which allow multiple return
    * types/assignments so we return a List
@@ -68,6 +78,12 @@ public abstract class AbstractStmt implements Stmt {
     return def.map(lValue -> Stream.concat(getUses(), Stream.of(lValue))).orElseGet(this::getUses);
   }
 
+  @Override
+  public void forEachUseAndDef(@Nonnull Consumer<Value> consumer) {
+    forEachUse(consumer);
+    getDef().ifPresent(consumer);
+  }
+
   /** Returns the amount of unexceptional successors the Stmt needs to have in the StmtGraph. */
   @Override
   public int getExpectedSuccessorCount() {
@@ -23,10 +23,12 @@ package sootup.core.jimple.common.stmt;
  */
 
 import java.util.List;
+import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.Jimple;
 import sootup.core.jimple.basic.JimpleComparator;
 import sootup.core.jimple.basic.StmtPositionInfo;
+import sootup.core.jimple.basic.Value;
 import sootup.core.jimple.visitor.StmtVisitor;
 import sootup.core.model.Body;
 import sootup.core.util.printer.StmtPrinter;
@@ -69,6 +71,11 @@ public class JGotoStmt extends AbstractStmt implements BranchingStmt {
     return v;
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {
+    // uses nothing
+  }
+
   @Override
   public boolean fallsThrough() {
     return false;
@@ -23,6 +23,7 @@ package sootup.core.jimple.common.stmt;
  */
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.Jimple;
@@ -91,6 +92,13 @@ public final class JIfStmt extends AbstractStmt implements BranchingStmt, FallsT
     return Stream.concat(getCondition().getUses(), Stream.of(getCondition()));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {
+    Value condition = getCondition();
+    condition.forEachUse(consumer);
+    consumer.accept(condition);
+  }
+
   @Override
   public <V extends StmtVisitor> V accept(@Nonnull V v) {
     v.caseIfStmt(this);
@@ -22,6 +22,7 @@ package sootup.core.jimple.common.stmt;
  * #L%
  */
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.JimpleComparator;
@@ -75,6 +76,12 @@ public final class JInvokeStmt extends AbstractStmt implements FallsThroughStmt,
     return Stream.concat(invokeExpr.getUses(), Stream.of(invokeExpr));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {
+    invokeExpr.forEachUse(consumer);
+    consumer.accept(invokeExpr);
+  }
+
   @Override
   public <V extends StmtVisitor> V accept(@Nonnull V v) {
     v.caseInvokeStmt(this);
@@ -22,10 +22,12 @@ package sootup.core.jimple.common.stmt;
  * #L%
  */
 
+import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.Jimple;
 import sootup.core.jimple.basic.JimpleComparator;
 import sootup.core.jimple.basic.StmtPositionInfo;
+import sootup.core.jimple.basic.Value;
 import sootup.core.jimple.visitor.StmtVisitor;
 import sootup.core.util.printer.StmtPrinter;
 
@@ -52,6 +54,11 @@ public final class JNopStmt extends AbstractStmt implements FallsThroughStmt {
     return v;
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {
+    // uses nothing
+  }
+
   @Override
   public boolean fallsThrough() {
     return true;
@@ -22,6 +22,7 @@ package sootup.core.jimple.common.stmt;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.Jimple;
@@ -86,6 +87,12 @@ public final class JReturnStmt extends AbstractStmt {
     return Stream.concat(op.getUses(), Stream.of(op));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {
+    op.forEachUse(consumer);
+    consumer.accept(op);
+  }
+
   @Override
   public int equivHashCode() {
     return op.equivHashCode();
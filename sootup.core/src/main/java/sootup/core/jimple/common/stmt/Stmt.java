@@ -21,6 +21,7 @@ package sootup.core.jimple.common.stmt;
  * #L%
  */
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.EquivTo;
@@ -43,6 +44,22 @@ public interface Stmt extends EquivTo, Acceptor<StmtVisitor> {
   @Nonnull
   Stream<Value> getUsesAndDefs();
 
+  /**
+   * Allocation-free counterpart of {@link #getUses()}. Implementations that do not override it pass
+   * the Values of {@link #getUses()}.
+   */
+  default void forEachUse(@Nonnull Consumer<Value> consumer) {
+    getUses().forEach(consumer);
+  }
+
+  /**
+   * Allocation-free counterpart of {@link #getUsesAndDefs()}. Implementations that do not override
+   * it pass the Values of {@link #getUsesAndDefs()}.
+   */
+  default void forEachUseAndDef(@Nonnull Consumer<Value> consumer) {
+    getUsesAndDefs().forEach(consumer);
+  }
+
   /**
    * Returns true if execution after this statement may continue at the following statement. (e.g.
    * GotoStmt will return false and e.g. IfStmt will return true).
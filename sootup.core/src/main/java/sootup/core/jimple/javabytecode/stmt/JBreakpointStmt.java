@@ -22,10 +22,12 @@ package sootup.core.jimple.javabytecode.stmt;
  * #L%
  */
 
+import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.Jimple;
 import sootup.core.jimple.basic.JimpleComparator;
 import sootup.core.jimple.basic.StmtPositionInfo;
+import sootup.core.jimple.basic.Value;
 import sootup.core.jimple.common.stmt.AbstractStmt;
 import sootup.core.jimple.common.stmt.FallsThroughStmt;
 import sootup.core.jimple.visitor.StmtVisitor;
@@ -53,6 +55,11 @@ public final class JBreakpointStmt extends AbstractStmt implements FallsThroughS
     return v;
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {
+    // uses nothing
+  }
+
   @Override
   public boolean fallsThrough() {
     return true;
@@ -22,6 +22,7 @@ package sootup.core.jimple.javabytecode.stmt;
  * #L%
  */
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.Jimple;
@@ -69,6 +70,12 @@ public final class JRetStmt extends AbstractStmt implements FallsThroughStmt {
     return Stream.concat(stmtAddress.getUses(), Stream.of(stmtAddress));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {
+    stmtAddress.forEachUse(consumer);
+    consumer.accept(stmtAddress);
+  }
+
   @Override
   public <V extends StmtVisitor> V accept(@Nonnull V v) {
     v.caseRetStmt(this);
@@ -23,6 +23,7 @@ package sootup.core.jimple.javabytecode.stmt;
  */
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.Jimple;
@@ -97,6 +98,13 @@ public class JSwitchStmt extends AbstractStmt implements BranchingStmt {
     return Stream.concat(getKey().getUses(), Stream.of(getKey()));
   }
 
+  @Override
+  public void forEachUse(@Nonnull Consumer<Value> consumer) {
+    Immediate key = getKey();
+    key.forEachUse(consumer);
+    consumer.accept(key);
+  }
+
   @Override
   public boolean fallsThrough() {
     return false;
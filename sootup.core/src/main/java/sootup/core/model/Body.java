@@ -29,6 +29,7 @@ import java.util.*;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import sootup.core.graph.ImmutableBlockStmtGraph;
 import sootup.core.graph.MutableBlockStmtGraph;
 import sootup.core.graph.MutableStmtGraph;
 import sootup.core.graph.StmtGraph;
@@ -70,7 +71,11 @@ public class Body implements HasPosition {
       @Nonnull Position position) {
     this.methodSignature = methodSignature;
     this.locals = Collections.unmodifiableSet(locals);
-    this.graph = MutableBlockStmtGraph.createUnmodifiableStmtGraph(stmtGraph);
+    // freeze the graph into its compact representation, unless it already is
+    this.graph =
+        stmtGraph instanceof ImmutableBlockStmtGraph
+            ? stmtGraph
+            : new ImmutableBlockStmtGraph(stmtGraph);
     this.position = position;
   }
 
@@ -212,8 +217,11 @@ public class Body implements HasPosition {
     return stmts;
   }
 
+  /**
+   * Returns the control flow graph of this body. It is frozen into an {@link
+   * ImmutableBlockStmtGraph} when the body is created.
+   */
   @Nonnull
-  // TODO: [ms] should be an ImmutableStmtGraph!
   public StmtGraph<?> getStmtGraph() {
     return graph;
   }
@@ -499,12 +507,7 @@ public class Body implements HasPosition {
   public static Map<Value, Collection<Stmt>> collectUses(Collection<Stmt> stmts) {
     Map<Value, Collection<Stmt>> allUses = new HashMap<>();
     for (Stmt stmt : stmts) {
-      for (Iterator<Value> iterator = stmt.getUses().iterator(); iterator.hasNext(); ) {
-        Value value = iterator.next();
-        Collection<Stmt> localUses = allUses.computeIfAbsent(value, key -> new ArrayList<>());
-        localUses.add(stmt);
-        allUses.put(value, localUses);
-      }
+      stmt.forEachUse(value -> allUses.computeIfAbsent(value, key -> new ArrayList<>()).add(stmt));
     }
     return allUses;
   }
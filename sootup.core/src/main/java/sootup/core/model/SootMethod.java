@@ -22,7 +22,6 @@ package sootup.core.model;
  * #L%
  */
 
-import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import java.io.IOException;
@@ -36,6 +35,8 @@ import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import sootup.core.IdentifierFactory;
+import sootup.core.cache.body.BodyRetentionPolicy;
+import sootup.core.cache.body.StrongBodyRetentionPolicy;
 import sootup.core.frontend.BodySource;
 import sootup.core.frontend.OverridingBodySource;
 import sootup.core.frontend.ResolveException;
@@ -69,6 +70,11 @@ public class SootMethod extends SootClassMember<MethodSignature> implements Meth
   /** Tells this method how to find out where its body lives. */
   @Nonnull protected final BodySource bodySource;
 
+  /** Tells this method how long its resolved body is kept. */
+  @Nonnull protected final BodyRetentionPolicy bodyRetentionPolicy;
+
+  @Nonnull private final Supplier<Body> _lazyBody;
+
   /** Constructs a SootMethod object with the given attributes. */
   public SootMethod(
       @Nonnull BodySource source,
@@ -76,12 +82,34 @@ public class SootMethod extends SootClassMember<MethodSignature> implements Meth
       @Nonnull Iterable<MethodModifier> modifiers,
       @Nonnull Iterable<ClassType> thrownExceptions,
       @Nonnull Position position) {
+    this(
+        source,
+        methodSignature,
+        modifiers,
+        thrownExceptions,
+        position,
+        StrongBodyRetentionPolicy.getInstance());
+  }
+
+  /**
+   * Constructs a SootMethod object with the given attributes whose resolved body is retained
+   * according to the given {@link BodyRetentionPolicy}.
+   */
+  public SootMethod(
+      @Nonnull BodySource source,
+      @Nonnull MethodSignature methodSignature,
+      @Nonnull Iterable<MethodModifier> modifiers,
+      @Nonnull Iterable<ClassType> thrownExceptions,
+      @Nonnull Position position,
+      @Nonnull BodyRetentionPolicy bodyRetentionPolicy) {
     super(methodSignature, position);
 
     this.bodySource = source;
     this.parameterTypes = ImmutableUtils.immutableListOf(methodSignature.getParameterTypes());
     this.modifiers = ImmutableUtils.immutableEnumSetOf(modifiers);
     this.exceptions = ImmutableUtils.immutableListOf(thrownExceptions);
+    this.bodyRetentionPolicy = bodyRetentionPolicy;
+    this._lazyBody = bodyRetentionPolicy.createBodyHolder(this::lazyBodyInitializer);
   }
 
   @Nonnull
@@ -169,8 +197,6 @@ public class SootMethod extends SootClassMember<MethodSignature> implements Meth
     return parameterTypes;
   }
 
-  @Nonnull private final Supplier<Body> _lazyBody = Suppliers.memoize(this::lazyBodyInitializer);
-
   /** Retrieves the active body for this method. */
   @Nonnull
   public Body getBody() {
@@ -187,6 +213,11 @@ public class SootMethod extends SootClassMember<MethodSignature> implements Meth
     return bodySource;
   }
 
+  @Nonnull
+  public BodyRetentionPolicy getBodyRetentionPolicy() {
+    return bodyRetentionPolicy;
+  }
+
   @Nonnull
   public List<ClassType> getExceptionSignatures() {
     return exceptions;
@@ -255,24 +286,36 @@ public class SootMethod extends SootClassMember<MethodSignature> implements Meth
         getSignature(),
         getModifiers(),
         exceptions,
-        getPosition());
+        getPosition(),
+        bodyRetentionPolicy);
   }
 
   @Nonnull
   public SootMethod withSource(BodySource source) {
-    return new SootMethod(source, getSignature(), getModifiers(), exceptions, getPosition());
+    return new SootMethod(
+        source, getSignature(), getModifiers(), exceptions, getPosition(), bodyRetentionPolicy);
   }
 
   @Nonnull
   public SootMethod withModifiers(Iterable<MethodModifier> modifiers) {
     return new SootMethod(
-        bodySource, getSignature(), modifiers, getExceptionSignatures(), getPosition());
+        bodySource,
+        getSignature(),
+        modifiers,
+        getExceptionSignatures(),
+        getPosition(),
+        bodyRetentionPolicy);
   }
 
   @Nonnull
   public SootMethod withThrownExceptions(Iterable<ClassType> thrownExceptions) {
     return new SootMethod(
-        bodySource, getSignature(), getModifiers(), thrownExceptions, getPosition());
+        bodySource,
+        getSignature(),
+        getModifiers(),
+        thrownExceptions,
+        getPosition(),
+        bodyRetentionPolicy);
   }
 
   @Nonnull
@@ -282,7 +325,8 @@ public class SootMethod extends SootClassMember<MethodSignature> implements Meth
         getSignature(),
         getModifiers(),
         exceptions,
-        getPosition());
+        getPosition(),
+        bodyRetentionPolicy);
   }
 
   /**
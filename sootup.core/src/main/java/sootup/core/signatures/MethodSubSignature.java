@@ -44,6 +44,7 @@ public class MethodSubSignature extends SootClassMemberSubSignature
     implements Comparable<MethodSubSignature> {
 
   @Nonnull private final List<Type> parameterTypes;
+  private final int hashCode;
 
   /**
    * Creates a new instance of the {@link FieldSubSignature} class.
@@ -57,6 +58,8 @@ public class MethodSubSignature extends SootClassMemberSubSignature
     super(name, type);
 
     this.parameterTypes = ImmutableList.copyOf(parameterTypes);
+    // signatures are the keys of many maps, so the parameter list is hashed only once
+    this.hashCode = Objects.hashCode(super.hashCode(), this.parameterTypes);
   }
 
   /**
@@ -89,7 +92,7 @@ public class MethodSubSignature extends SootClassMemberSubSignature
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(super.hashCode(), getParameterTypes());
+    return hashCode;
   }
 
   @Override
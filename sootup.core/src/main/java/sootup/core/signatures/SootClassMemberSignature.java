@@ -81,7 +81,8 @@ public abstract class SootClassMemberSignature<V extends SootClassMemberSubSigna
     }
 
     SootClassMemberSignature<V> that = (SootClassMemberSignature<V>) o;
-    return Objects.equal(declClassSignature, that.declClassSignature)
+    return hashCode == that.hashCode
+        && Objects.equal(declClassSignature, that.declClassSignature)
         && Objects.equal(subSignature, that.subSignature);
   }
 
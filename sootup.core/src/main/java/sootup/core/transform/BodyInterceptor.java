@@ -22,6 +22,9 @@ package sootup.core.transform;
  * #L%
  */
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Optional;
 import javax.annotation.Nonnull;
 import sootup.core.model.Body;
 import sootup.core.views.View;
@@ -37,4 +40,25 @@ public interface BodyInterceptor {
    * @param view
    */
   void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View view);
+
+  /**
+   * Identifies the transformation of this interceptor including its configuration, e.g. to address
+   * persisted bodies (see {@link sootup.core.cache.body.PersistentBodyCache}). Interceptors with
+   * the same key have to transform bodies the same way.
+   *
+   * <p>By default, the key is the name of the class if the interceptor has no instance fields. An
+   * interceptor with a configuration has to override this to include it, otherwise it has no key
+   * and the bodies it transformed are not persisted.
+   */
+  @Nonnull
+  default Optional<String> getCacheKey() {
+    for (Class<?> c = getClass(); c != Object.class; c = c.getSuperclass()) {
+      for (Field field : c.getDeclaredFields()) {
+        if (!Modifier.isStatic(field.getModifiers())) {
+          return Optional.empty();
+        }
+      }
+    }
+    return Optional.of(getClass().getName());
+  }
 }
@@ -0,0 +1,101 @@
+package sootup.core.typehierarchy;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.frontend.SootClassSource;
+import sootup.core.model.ClassModifier;
+import sootup.core.model.SootClass;
+import sootup.core.types.ClassType;
+
+/**
+ * The part of a class declaration that is needed to place the class in the {@link TypeHierarchy}:
+ * its type, whether it is an interface, its superclass and its directly implemented (or extended)
+ * interfaces. Frontends can usually read a header without parsing the rest of the class.
+ */
+public final class ClassHeader {
+
+  @Nonnull private final ClassType type;
+  private final boolean isInterface;
+  @Nullable private final ClassType superclass;
+  @Nonnull private final Collection<? extends ClassType> interfaces;
+
+  public ClassHeader(
+      @Nonnull ClassType type,
+      boolean isInterface,
+      @Nullable ClassType superclass,
+      @Nonnull Collection<? extends ClassType> interfaces) {
+    this.type = type;
+    this.isInterface = isInterface;
+    this.superclass = superclass;
+    this.interfaces = interfaces;
+  }
+
+  /** Creates the header of an already resolved class. */
+  @Nonnull
+  public static ClassHeader of(@Nonnull SootClass sootClass) {
+    return new ClassHeader(
+        sootClass.getType(),
+        sootClass.isInterface(),
+        sootClass.getSuperclass().orElse(null),
+        sootClass.getInterfaces());
+  }
+
+  /** Creates the header from a class source without building the class itself. */
+  @Nonnull
+  public static ClassHeader of(@Nonnull SootClassSource classSource) {
+    return new ClassHeader(
+        classSource.getClassType(),
+        ClassModifier.isInterface(classSource.resolveModifiers()),
+        classSource.resolveSuperclass().orElse(null),
+        classSource.resolveInterfaces());
+  }
+
+  @Nonnull
+  public ClassType getType() {
+    return type;
+  }
+
+  public boolean isInterface() {
+    return isInterface;
+  }
+
+  @Nonnull
+  public Optional<ClassType> getSuperclass() {
+    return Optional.ofNullable(superclass);
+  }
+
+  @Nonnull
+  public Collection<? extends ClassType> getInterfaces() {
+    return Collections.unmodifiableCollection(interfaces);
+  }
+
+  @Override
+  public String toString() {
+    return type.toString();
+  }
+}
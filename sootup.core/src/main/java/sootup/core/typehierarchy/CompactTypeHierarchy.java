@@ -0,0 +1,385 @@
+package sootup.core.typehierarchy;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import sootup.core.types.ClassType;
+import sootup.core.types.Type;
+import sootup.core.views.View;
+
+/**
+ * A memory efficient, immutable {@link TypeHierarchy} that answers the same queries as the {@link
+ * ViewTypeHierarchy}. Each {@link ClassType} is numbered with a dense int id, and the direct
+ * supertypes and subtypes of each type are stored as adjacency arrays over these ids (compressed
+ * sparse rows) instead of as vertex and edge objects of a graph.
+ *
+ * <p>The hierarchy is built from the {@link ClassHeader}s of the view when it is created. Like the
+ * {@link ViewTypeHierarchy}, it also contains the types that are referenced as a superclass or an
+ * interface but are not part of the view. If a type has multiple headers, the first one is used.
+ */
+public class CompactTypeHierarchy implements TypeHierarchy {
+
+  private static final int NONE = -1;
+
+  @Nonnull private final ClassType objectClassType;
+  @Nonnull private final Map<ClassType, Integer> ids;
+  @Nonnull private final ClassType[] types;
+  /** the ids of the types that are interfaces */
+  @Nonnull private final BitSet interfaceTypes;
+  /** the direct superclass of each class, or {@link #NONE} */
+  @Nonnull private final int[] superclasses;
+  /** the direct interfaces of type i are at the indices interfaceStarts[i] to [i+1] (excl.) */
+  @Nonnull private final int[] interfaceStarts;
+
+  @Nonnull private final int[] interfaces;
+  /** the direct subtypes of type i are at the indices subtypeStarts[i] to [i+1] (exclusive) */
+  @Nonnull private final int[] subtypeStarts;
+
+  @Nonnull private final int[] subtypes;
+
+  public CompactTypeHierarchy(@Nonnull View view) {
+    this(
+        view.getClassHeaders().collect(Collectors.toList()),
+        view.getIdentifierFactory().getClassType("java.lang.Object"));
+  }
+
+  public CompactTypeHierarchy(
+      @Nonnull List<ClassHeader> classHeaders, @Nonnull ClassType objectClassType) {
+    this.objectClassType = objectClassType;
+
+    // number the types in the order in which the ViewTypeHierarchy creates their vertices, so that
+    // a type that is referenced before it is declared has the same kind
+    ids = new HashMap<>();
+    List<ClassType> typeList = new ArrayList<>();
+    interfaceTypes = new BitSet();
+    List<ClassHeader> declarations = new ArrayList<>();
+    BitSet declared = new BitSet();
+    for (ClassHeader header : classHeaders) {
+      int id = addType(header.getType(), header.isInterface(), typeList);
+      if (declared.get(id)) {
+        continue;
+      }
+      declared.set(id);
+      declarations.add(header);
+      for (ClassType interfaceType : header.getInterfaces()) {
+        addType(interfaceType, true, typeList);
+      }
+      if (!header.isInterface()) {
+        header.getSuperclass().ifPresent(superclass -> addType(superclass, false, typeList));
+      }
+    }
+    types = typeList.toArray(new ClassType[0]);
+
+    int size = types.length;
+    superclasses = new int[size];
+    Arrays.fill(superclasses, NONE);
+    interfaceStarts = new int[size + 1];
+    for (ClassHeader header : declarations) {
+      int id = ids.get(header.getType());
+      interfaceStarts[id + 1] = header.getInterfaces().size();
+      if (!header.isInterface() && header.getSuperclass().isPresent()) {
+        superclasses[id] = ids.get(header.getSuperclass().get());
+      }
+    }
+    for (int id = 0; id < size; id++) {
+      interfaceStarts[id + 1] += interfaceStarts[id];
+    }
+    interfaces = new int[interfaceStarts[size]];
+    for (ClassHeader header : declarations) {
+      int offset = interfaceStarts[ids.get(header.getType())];
+      for (ClassType interfaceType : header.getInterfaces()) {
+        interfaces[offset++] = ids.get(interfaceType);
+      }
+    }
+
+    // invert the direct supertype relation; a class is a direct subtype of its superclass, a
+    // class or an interface is a direct subtype of its interfaces
+    subtypeStarts = new int[size + 1];
+    for (int id = 0; id < size; id++) {
+      if (superclasses[id] != NONE) {
+        subtypeStarts[superclasses[id] + 1]++;
+      }
+      for (int i = interfaceStarts[id]; i < interfaceStarts[id + 1]; i++) {
+        subtypeStarts[interfaces[i] + 1]++;
+      }
+    }
+    for (int id = 0; id < size; id++) {
+      subtypeStarts[id + 1] += subtypeStarts[id];
+    }
+    subtypes = new int[subtypeStarts[size]];
+    int[] fill = Arrays.copyOf(subtypeStarts, size);
+    for (int id = 0; id < size; id++) {
+      if (superclasses[id] != NONE) {
+        subtypes[fill[superclasses[id]]++] = id;
+      }
+      for (int i = interfaceStarts[id]; i < interfaceStarts[id + 1]; i++) {
+        subtypes[fill[interfaces[i]]++] = id;
+      }
+    }
+  }
+
+  private int addType(
+      @Nonnull ClassType type, boolean isInterface, @Nonnull List<ClassType> typeList) {
+    Integer existingId = ids.get(type);
+    if (existingId != null) {
+      return existingId;
+    }
+    int id = typeList.size();
+    ids.put(type, id);
+    typeList.add(type);
+    if (isInterface) {
+      interfaceTypes.set(id);
+    }
+    return id;
+  }
+
+  /** Returns the number of types in this hierarchy, including the referenced ones. */
+  public int size() {
+    return types.length;
+  }
+
+  private int getId(@Nonnull ClassType type) {
+    Integer id = ids.get(type);
+    if (id == null) {
+      throw new IllegalArgumentException("Could not find '" + type + "' in hierarchy.");
+    }
+    return id;
+  }
+
+  @Nonnull
+  private Stream<ClassType> toTypes(@Nonnull IntStream typeIds) {
+    return typeIds.mapToObj(id -> types[id]);
+  }
+
+  @Nonnull
+  @Override
+  public Stream<ClassType> implementersOf(@Nonnull ClassType interfaceType) {
+    int id = getId(interfaceType);
+    if (!interfaceTypes.get(id)) {
+      throw new IllegalArgumentException("'" + interfaceType + "' is not an interface.");
+    }
+    return toTypes(subtypeIds(id));
+  }
+
+  @Nonnull
+  @Override
+  public Stream<ClassType> subclassesOf(@Nonnull ClassType classType) {
+    int id = getId(classType);
+    if (interfaceTypes.get(id)) {
+      throw new IllegalArgumentException("'" + classType + "' is not a class.");
+    }
+    return toTypes(subtypeIds(id));
+  }
+
+  @Nonnull
+  @Override
+  public Stream<ClassType> subtypesOf(@Nonnull ClassType type) {
+    return toTypes(subtypeIds(getId(type)));
+  }
+
+  /** Returns the transitive subtypes of a type in depth-first pre-order. */
+  @Nonnull
+  private IntStream subtypeIds(int id) {
+    IntStream.Builder result = IntStream.builder();
+    BitSet visited = new BitSet(types.length);
+    visited.set(id);
+    int[] stack = new int[16];
+    int stackSize = 0;
+    stack[stackSize++] = id;
+    while (stackSize > 0) {
+      int current = stack[--stackSize];
+      if (current != id) {
+        result.add(current);
+      }
+      // push in reverse order to visit the direct subtypes in their stored order
+      for (int i = subtypeStarts[current + 1] - 1; i >= subtypeStarts[current]; i--) {
+        int subtype = subtypes[i];
+        if (isDirectSubtype(current, subtype) && !visited.get(subtype)) {
+          visited.set(subtype);
+          if (stackSize == stack.length) {
+            stack = Arrays.copyOf(stack, stackSize * 2);
+          }
+          stack[stackSize++] = subtype;
+        }
+      }
+    }
+    return result.build();
+  }
+
+  /**
+   * Only classes are direct subtypes of a class, i.e. an interface that is (wrongly) implemented by
+   * a class does not make the class a subtype of it.
+   */
+  private boolean isDirectSubtype(int type, int subtype) {
+    return interfaceTypes.get(type) ? superclasses[subtype] != type : superclasses[subtype] == type;
+  }
+
+  @Nonnull
+  @Override
+  public Stream<ClassType> directSubtypesOf(@Nonnull ClassType type) {
+    int id = getId(type);
+    return toTypes(
+        IntStream.range(subtypeStarts[id], subtypeStarts[id + 1])
+            .map(i -> subtypes[i])
+            .filter(subtype -> isDirectSubtype(id, subtype))
+            .distinct());
+  }
+
+  @Nonnull
+  @Override
+  public Optional<ClassType> superClassOf(@Nonnull ClassType classType) {
+    Integer id = ids.get(classType);
+    if (id == null) {
+      throw new IllegalArgumentException("Could not find '" + classType + "' in the view.");
+    }
+    if (objectClassType.equals(classType)) {
+      return Optional.empty();
+    }
+    if (superclasses[id] != NONE) {
+      return Optional.of(types[superclasses[id]]);
+    }
+    return interfaceTypes.get(id) ? Optional.of(objectClassType) : Optional.empty();
+  }
+
+  @Override
+  public Stream<ClassType> directlyImplementedInterfacesOf(@Nonnull ClassType classType) {
+    int id = getId(classType);
+    if (interfaceTypes.get(id)) {
+      throw new IllegalArgumentException(classType + " is not a class.");
+    }
+    return toTypes(directInterfaceIds(id));
+  }
+
+  @Override
+  public Stream<ClassType> directlyExtendedInterfacesOf(@Nonnull ClassType interfaceType) {
+    int id = getId(interfaceType);
+    if (!interfaceTypes.get(id)) {
+      throw new IllegalArgumentException(interfaceType + " is not an interface.");
+    }
+    return toTypes(directInterfaceIds(id));
+  }
+
+  @Nonnull
+  private IntStream directInterfaceIds(int id) {
+    return IntStream.range(interfaceStarts[id], interfaceStarts[id + 1]).map(i -> interfaces[i]);
+  }
+
+  @Nonnull
+  @Override
+  public Stream<ClassType> implementedInterfacesOf(@Nonnull ClassType type) {
+    int id = getId(type);
+    BitSet implemented = implementedInterfaceIds(id);
+    return toTypes(implemented.stream());
+  }
+
+  /**
+   * Returns the interfaces that a type and (for a class) its superclasses implement or extend,
+   * including the interfaces these extend.
+   */
+  @Nonnull
+  private BitSet implementedInterfaceIds(int id) {
+    BitSet implemented = new BitSet();
+    BitSet visitedClasses = new BitSet();
+    int[] stack = new int[16];
+    int stackSize = 0;
+    for (int current = id;
+        current != NONE && !visitedClasses.get(current);
+        current = superclasses[current]) {
+      visitedClasses.set(current);
+      for (int i = interfaceStarts[current]; i < interfaceStarts[current + 1]; i++) {
+        if (stackSize == stack.length) {
+          stack = Arrays.copyOf(stack, stackSize * 2);
+        }
+        stack[stackSize++] = interfaces[i];
+      }
+    }
+    while (stackSize > 0) {
+      int current = stack[--stackSize];
+      if (implemented.get(current)) {
+        continue;
+      }
+      implemented.set(current);
+      for (int i = interfaceStarts[current]; i < interfaceStarts[current + 1]; i++) {
+        if (!implemented.get(interfaces[i])) {
+          if (stackSize == stack.length) {
+            stack = Arrays.copyOf(stack, stackSize * 2);
+          }
+          stack[stackSize++] = interfaces[i];
+        }
+      }
+    }
+    return implemented;
+  }
+
+  /** Answers the subtype relation between two class types directly on the id arrays. */
+  @Override
+  public boolean isSubtype(@Nonnull Type supertype, @Nonnull Type potentialSubtype) {
+    if (supertype instanceof ClassType && potentialSubtype instanceof ClassType) {
+      if (objectClassType.equals(supertype)) {
+        return !objectClassType.equals(potentialSubtype);
+      }
+      Integer subId = ids.get(potentialSubtype);
+      if (subId != null) {
+        Integer superId = ids.get(supertype);
+        return superId != null && isSubtype(superId, subId);
+      }
+    }
+    return TypeHierarchy.super.isSubtype(supertype, potentialSubtype);
+  }
+
+  private boolean isSubtype(int superId, int subId) {
+    if (interfaceTypes.get(superId)) {
+      return superId != subId && implementedInterfaceIds(subId).get(superId);
+    }
+    BitSet visited = new BitSet();
+    for (int current = superclasses[subId];
+        current != NONE && !visited.get(current);
+        current = superclasses[current]) {
+      if (current == superId) {
+        return true;
+      }
+      visited.set(current);
+    }
+    return false;
+  }
+
+  @Override
+  public boolean isInterface(@Nonnull ClassType type) {
+    return interfaceTypes.get(getId(type));
+  }
+
+  @Override
+  public boolean contains(ClassType type) {
+    return ids.containsKey(type);
+  }
+}
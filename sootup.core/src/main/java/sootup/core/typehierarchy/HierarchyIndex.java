@@ -0,0 +1,345 @@
+package sootup.core.typehierarchy;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.jgrapht.Graph;
+import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult;
+import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult.Edge;
+import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult.EdgeType;
+import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult.Vertex;
+import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult.VertexType;
+import sootup.core.types.ClassType;
+
+/**
+ * Answers subtype queries of a {@link ViewTypeHierarchy} in constant time.
+ *
+ * <p>The superclass relation forms a forest whose vertices are numbered in DFS pre- and post-order,
+ * so a class is a superclass of another one iff its interval encloses the interval of the other
+ * one. The interfaces that a type implements or extends (transitively) are stored as a bit set over
+ * the interfaces of the hierarchy; types without own interfaces share the bit set of their
+ * superclass.
+ *
+ * <p>Types that are part of a cyclic (i.e. malformed) hierarchy are not indexed.
+ */
+final class HierarchyIndex {
+
+  private static final int UNINDEXED = -1;
+  private static final BitSet NO_INTERFACES = new BitSet(0);
+  /** marks an interface whose closure is being computed, i.e. reached again on a cycle */
+  private static final BitSet CYCLE = new BitSet(0);
+
+  @Nonnull private final Map<ClassType, Integer> ids;
+  @Nonnull private final int[] pre;
+  @Nonnull private final int[] post;
+  /** the bit of each type that is implemented or extended as an interface */
+  @Nonnull private final int[] interfaceBits;
+  /** the transitively implemented interfaces of each type, null if not indexed */
+  @Nonnull private final BitSet[] interfaces;
+
+  private HierarchyIndex(
+      @Nonnull Map<ClassType, Integer> ids,
+      @Nonnull int[] pre,
+      @Nonnull int[] post,
+      @Nonnull int[] interfaceBits,
+      @Nonnull BitSet[] interfaces) {
+    this.ids = ids;
+    this.pre = pre;
+    this.post = post;
+    this.interfaceBits = interfaceBits;
+    this.interfaces = interfaces;
+  }
+
+  /**
+   * Returns whether <code>potentialSubtype</code> is a proper subclass or an implementer of <code>
+   * supertype</code>, or null if this can not be decided by the index.
+   */
+  @Nullable
+  Boolean isSubtype(@Nonnull ClassType supertype, @Nonnull ClassType potentialSubtype) {
+    Integer subId = ids.get(potentialSubtype);
+    if (subId == null || pre[subId] == UNINDEXED || interfaces[subId] == null) {
+      return null;
+    }
+    Integer superId = ids.get(supertype);
+    if (superId == null) {
+      return false;
+    }
+    return isSuperclass(superId, subId)
+        || (interfaceBits[superId] != UNINDEXED && interfaces[subId].get(interfaceBits[superId]));
+  }
+
+  private boolean isSuperclass(int superId, int subId) {
+    return pre[superId] != UNINDEXED && pre[superId] < pre[subId] && post[subId] < post[superId];
+  }
+
+  @Nonnull
+  static HierarchyIndex build(@Nonnull ScanResult scanResult, @Nonnull ClassType objectClassType) {
+    Graph<Vertex, Edge> graph = scanResult.graph;
+    int size = scanResult.typeToVertex.size();
+    Map<ClassType, Integer> ids = new HashMap<>(size * 2);
+    Vertex[] vertices = new Vertex[size];
+    Map<Vertex, Integer> vertexIds = new HashMap<>(size * 2);
+    for (Vertex vertex : scanResult.typeToVertex.values()) {
+      ids.put(vertex.javaClassType, vertexIds.size());
+      vertices[vertexIds.size()] = vertex;
+      vertexIds.put(vertex, vertexIds.size());
+    }
+
+    // direct superclass (following the semantics of ViewTypeHierarchy.superClassOf) and direct
+    // interfaces of every vertex
+    int[] superclass = new int[size];
+    int[] extendsEdge = new int[size];
+    int[][] implemented = new int[size][];
+    int[][] extended = new int[size][];
+    int[] interfaceBits = new int[size];
+    Arrays.fill(interfaceBits, UNINDEXED);
+    int interfaceCount = 0;
+    Integer objectId = ids.get(objectClassType);
+    for (int id = 0; id < size; id++) {
+      Vertex vertex = vertices[id];
+      extendsEdge[id] = UNINDEXED;
+      List<Integer> implementedIds = new ArrayList<>();
+      List<Integer> extendedIds = new ArrayList<>();
+      for (Edge edge : graph.outgoingEdgesOf(vertex)) {
+        int target = vertexIds.get(graph.getEdgeTarget(edge));
+        switch (edge.type) {
+          case ClassDirectlyExtends:
+            if (extendsEdge[id] == UNINDEXED) {
+              extendsEdge[id] = target;
+            }
+            break;
+          case ClassDirectlyImplements:
+            implementedIds.add(target);
+            break;
+          case InterfaceDirectlyExtends:
+            extendedIds.add(target);
+            break;
+          default:
+            throw new AssertionError("Unknown edge type!");
+        }
+        if (edge.type != EdgeType.ClassDirectlyExtends && interfaceBits[target] == UNINDEXED) {
+          interfaceBits[target] = interfaceCount++;
+        }
+      }
+      implemented[id] = toArray(implementedIds);
+      extended[id] = toArray(extendedIds);
+
+      if (vertex.javaClassType.equals(objectClassType)) {
+        superclass[id] = UNINDEXED;
+      } else if (extendsEdge[id] != UNINDEXED) {
+        superclass[id] = extendsEdge[id];
+      } else if (vertex.type == VertexType.Interface && objectId != null) {
+        superclass[id] = objectId;
+      } else {
+        superclass[id] = UNINDEXED;
+      }
+    }
+
+    int[] pre = new int[size];
+    int[] post = new int[size];
+    numberSuperclassForest(superclass, pre, post);
+
+    BitSet[] interfaceClosures = new BitSet[size];
+    BitSet[] chainInterfaces = new BitSet[size];
+    BitSet[] interfaces = new BitSet[size];
+    for (int id = 0; id < size; id++) {
+      if (vertices[id].type == VertexType.Interface) {
+        interfaces[id] = unionOfClosures(extended[id], extended, interfaceBits, interfaceClosures);
+      } else {
+        interfaces[id] =
+            classInterfaces(
+                id,
+                extendsEdge,
+                implemented,
+                extended,
+                interfaceBits,
+                interfaceClosures,
+                chainInterfaces);
+      }
+    }
+    return new HierarchyIndex(ids, pre, post, interfaceBits, interfaces);
+  }
+
+  /** Numbers the vertices of the superclass forest in DFS pre- and post-order. */
+  private static void numberSuperclassForest(
+      @Nonnull int[] superclass, @Nonnull int[] pre, @Nonnull int[] post) {
+    int size = superclass.length;
+    int[] childCount = new int[size + 1];
+    for (int id = 0; id < size; id++) {
+      if (superclass[id] != UNINDEXED) {
+        childCount[superclass[id] + 1]++;
+      }
+    }
+    // children of a vertex are stored in a compact adjacency array
+    for (int id = 0; id < size; id++) {
+      childCount[id + 1] += childCount[id];
+    }
+    int[] children = new int[childCount[size]];
+    int[] fill = Arrays.copyOf(childCount, size);
+    for (int id = 0; id < size; id++) {
+      if (superclass[id] != UNINDEXED) {
+        children[fill[superclass[id]]++] = id;
+      }
+    }
+
+    Arrays.fill(pre, UNINDEXED);
+    Arrays.fill(post, UNINDEXED);
+    int counter = 0;
+    int[] nextChild = new int[size];
+    Deque<Integer> stack = new ArrayDeque<>();
+    for (int root = 0; root < size; root++) {
+      if (superclass[root] != UNINDEXED) {
+        continue;
+      }
+      pre[root] = counter++;
+      nextChild[root] = childCount[root];
+      stack.push(root);
+      while (!stack.isEmpty()) {
+        int current = stack.peek();
+        if (nextChild[current] < childCount[current + 1]) {
+          int child = children[nextChild[current]++];
+          pre[child] = counter++;
+          nextChild[child] = childCount[child];
+          stack.push(child);
+        } else {
+          post[current] = counter++;
+          stack.pop();
+        }
+      }
+    }
+    // vertices on a superclass cycle are not reachable from any root and stay unindexed
+  }
+
+  /**
+   * Returns the interfaces of a class and all of its superclasses, or null on a cycle. The results
+   * are memoized per class in <code>chainInterfaces</code>.
+   */
+  @Nullable
+  private static BitSet classInterfaces(
+      int id,
+      @Nonnull int[] extendsEdge,
+      @Nonnull int[][] implemented,
+      @Nonnull int[][] extended,
+      @Nonnull int[] interfaceBits,
+      @Nonnull BitSet[] interfaceClosures,
+      @Nonnull BitSet[] chainInterfaces) {
+    // ascend until a class with known interfaces to avoid a recursion per inheritance level
+    List<Integer> chain = new ArrayList<>();
+    BitSet visited = new BitSet();
+    BitSet result = NO_INTERFACES;
+    for (int current = id; current != UNINDEXED; current = extendsEdge[current]) {
+      if (chainInterfaces[current] != null) {
+        result = chainInterfaces[current];
+        break;
+      }
+      if (visited.get(current)) {
+        result = CYCLE;
+        break;
+      }
+      visited.set(current);
+      chain.add(current);
+    }
+
+    for (int i = chain.size() - 1; i >= 0; i--) {
+      int current = chain.get(i);
+      if (result != CYCLE && implemented[current].length > 0) {
+        BitSet ownInterfaces =
+            unionOfClosures(implemented[current], extended, interfaceBits, interfaceClosures);
+        if (ownInterfaces == null) {
+          result = CYCLE;
+        } else {
+          BitSet merged = (BitSet) result.clone();
+          merged.or(ownInterfaces);
+          result = merged;
+        }
+      }
+      chainInterfaces[current] = result;
+    }
+    return result == CYCLE ? null : result;
+  }
+
+  /** Returns the union of the given interfaces and their super interfaces, or null on a cycle. */
+  @Nullable
+  private static BitSet unionOfClosures(
+      @Nonnull int[] directInterfaces,
+      @Nonnull int[][] extended,
+      @Nonnull int[] interfaceBits,
+      @Nonnull BitSet[] interfaceClosures) {
+    if (directInterfaces.length == 0) {
+      return NO_INTERFACES;
+    }
+    BitSet result = new BitSet();
+    for (int directInterface : directInterfaces) {
+      BitSet closure = closure(directInterface, extended, interfaceBits, interfaceClosures);
+      if (closure == null) {
+        return null;
+      }
+      result.or(closure);
+    }
+    return result;
+  }
+
+  /** Returns the interface itself and all interfaces it extends, or null on a cycle. */
+  @Nullable
+  private static BitSet closure(
+      int interfaceId,
+      @Nonnull int[][] extended,
+      @Nonnull int[] interfaceBits,
+      @Nonnull BitSet[] interfaceClosures) {
+    BitSet closure = interfaceClosures[interfaceId];
+    if (closure != null) {
+      return closure == CYCLE ? null : closure;
+    }
+    // mark the interface as in progress to detect cycles
+    interfaceClosures[interfaceId] = CYCLE;
+    BitSet result = new BitSet();
+    result.set(interfaceBits[interfaceId]);
+    for (int superInterface : extended[interfaceId]) {
+      BitSet superClosure = closure(superInterface, extended, interfaceBits, interfaceClosures);
+      if (superClosure == null) {
+        return null;
+      }
+      result.or(superClosure);
+    }
+    interfaceClosures[interfaceId] = result;
+    return result;
+  }
+
+  @Nonnull
+  private static int[] toArray(@Nonnull List<Integer> list) {
+    int[] array = new int[list.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = list.get(i);
+    }
+    return array;
+  }
+}
@@ -32,4 +32,13 @@ public interface MutableTypeHierarchy extends TypeHierarchy {
    * <p>For internal use only.
    */
   void addType(SootClass sootClass);
+
+  /**
+   * Returns the number of modifications (see {@link #addType(SootClass)}) of this hierarchy, so
+   * that caches derived from it can detect that they are outdated. A negative value means that the
+   * hierarchy does not count its modifications, so nothing derived from it may be cached.
+   */
+  default long getModificationCount() {
+    return -1;
+  }
 }
@@ -0,0 +1,364 @@
+package sootup.core.typehierarchy;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sootup.core.IdentifierFactory;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.types.ClassType;
+import sootup.core.views.View;
+
+/**
+ * The {@link ClassHeader}s of a fixed set of {@link AnalysisInputLocation}s, e.g. of the JDK or of
+ * the library jars of a project, which can be stored in a compact binary file and loaded again from
+ * a memory mapping instead of reading every class of the locations. A snapshot is keyed by the
+ * fingerprints of its locations (see {@link AnalysisInputLocation#getFingerprint()}), so a stored
+ * snapshot is only used as long as its locations are unchanged.
+ *
+ * <p>Snapshots are composable: the hierarchy of a view can be built from the snapshots of its
+ * unchanged locations plus the live headers of the remaining locations (see {@link #compose(List,
+ * ClassType)}).
+ */
+public final class TypeHierarchySnapshot {
+
+  private static final Logger logger = LoggerFactory.getLogger(TypeHierarchySnapshot.class);
+
+  /** The version of the binary format; it is part of the key and of every stored file. */
+  public static final int FORMAT_VERSION = 2;
+
+  private static final int MAGIC = 0x53554854;
+  private static final String FILE_EXTENSION = ".hierarchy";
+  private static final int NONE = -1;
+
+  @Nullable private final String key;
+  @Nonnull private final List<ClassHeader> classHeaders;
+
+  private TypeHierarchySnapshot(@Nullable String key, @Nonnull List<ClassHeader> classHeaders) {
+    this.key = key;
+    this.classHeaders = Collections.unmodifiableList(classHeaders);
+  }
+
+  /**
+   * Reads the headers of the given locations. If a type is contained in multiple locations, only
+   * its header in the first location is kept.
+   */
+  @Nonnull
+  public static TypeHierarchySnapshot of(
+      @Nonnull View view, @Nonnull List<? extends AnalysisInputLocation> locations) {
+    Map<ClassType, ClassHeader> headers = new LinkedHashMap<>();
+    for (AnalysisInputLocation location : locations) {
+      for (ClassHeader header : location.getClassHeaders(view).collect(Collectors.toList())) {
+        headers.putIfAbsent(header.getType(), header);
+      }
+    }
+    return new TypeHierarchySnapshot(
+        createKey(view.getIdentifierFactory(), locations).orElse(null),
+        new ArrayList<>(headers.values()));
+  }
+
+  /**
+   * Creates the key of a snapshot of the given locations from their fingerprints, the kind of the
+   * identifier factory that creates the stored types and the format version. Returns an empty
+   * Optional if a location has no fingerprint, i.e. a snapshot of these locations must not be
+   * persisted.
+   */
+  @Nonnull
+  public static Optional<String> createKey(
+      @Nonnull IdentifierFactory identifierFactory,
+      @Nonnull List<? extends AnalysisInputLocation> locations) {
+    Hasher hasher =
+        Hashing.sha256()
+            .newHasher()
+            .putInt(FORMAT_VERSION)
+            .putString(identifierFactory.getClass().getName(), StandardCharsets.UTF_8)
+            .putByte((byte) 0);
+    for (AnalysisInputLocation location : locations) {
+      Optional<String> fingerprint = location.getFingerprint();
+      if (!fingerprint.isPresent()) {
+        return Optional.empty();
+      }
+      hasher.putString(fingerprint.get(), StandardCharsets.UTF_8).putByte((byte) 0);
+    }
+    return Optional.of(hasher.hash().toString());
+  }
+
+  /**
+   * Loads the snapshot of the given locations from the directory, or reads the locations and stores
+   * their snapshot in the directory if there is none yet (or it is unreadable). Snapshots of
+   * locations without a fingerprint are never stored.
+   *
+   * @param directory the directory of the stored snapshots; it is created if it does not exist
+   */
+  @Nonnull
+  public static TypeHierarchySnapshot loadOrCreate(
+      @Nonnull Path directory,
+      @Nonnull View view,
+      @Nonnull List<? extends AnalysisInputLocation> locations) {
+    IdentifierFactory identifierFactory = view.getIdentifierFactory();
+    Optional<String> key = createKey(identifierFactory, locations);
+    if (!key.isPresent()) {
+      return of(view, locations);
+    }
+    Path file = directory.resolve(key.get() + FILE_EXTENSION);
+    if (Files.exists(file)) {
+      try {
+        TypeHierarchySnapshot snapshot = read(file, identifierFactory);
+        if (key.equals(snapshot.getKey())) {
+          return snapshot;
+        }
+      } catch (IOException e) {
+        logger.warn("Could not read the type hierarchy snapshot " + file, e);
+      }
+    }
+    TypeHierarchySnapshot snapshot = of(view, locations);
+    try {
+      Files.createDirectories(directory);
+      snapshot.write(file, identifierFactory);
+    } catch (IOException | IllegalArgumentException e) {
+      logger.warn("Could not store the type hierarchy snapshot " + file, e);
+    }
+    return snapshot;
+  }
+
+  /**
+   * Builds a hierarchy from the headers of all given snapshots. If a type is contained in multiple
+   * snapshots, its header in the first one is used, so the snapshots should be in the order of the
+   * locations of the view.
+   */
+  @Nonnull
+  public static CompactTypeHierarchy compose(
+      @Nonnull List<TypeHierarchySnapshot> snapshots, @Nonnull ClassType objectClassType) {
+    List<ClassHeader> headers = new ArrayList<>();
+    for (TypeHierarchySnapshot snapshot : snapshots) {
+      headers.addAll(snapshot.getClassHeaders());
+    }
+    return new CompactTypeHierarchy(headers, objectClassType);
+  }
+
+  /** Returns the key of this snapshot, or an empty Optional if it must not be persisted. */
+  @Nonnull
+  public Optional<String> getKey() {
+    return Optional.ofNullable(key);
+  }
+
+  @Nonnull
+  public List<ClassHeader> getClassHeaders() {
+    return classHeaders;
+  }
+
+  /**
+   * Stores this snapshot in the given file. The types are stored by their names (see {@link
+   * IdentifierFactory#getClassTypeNames(ClassType)}), which keep e.g. the module of a type. The
+   * file is replaced atomically, so concurrent processes never read a partially written file.
+   *
+   * @param identifierFactory the factory that restores the types when the snapshot is read
+   * @throws IllegalArgumentException if a type can not be restored from its names by the factory
+   */
+  public void write(@Nonnull Path file, @Nonnull IdentifierFactory identifierFactory)
+      throws IOException {
+    if (key == null) {
+      throw new IllegalStateException(
+          "A snapshot of locations without fingerprints can not be stored.");
+    }
+    Map<ClassType, Integer> ids = new HashMap<>();
+    List<ClassType> types = new ArrayList<>();
+    for (ClassHeader header : classHeaders) {
+      addType(header.getType(), ids, types);
+      header.getSuperclass().ifPresent(superclass -> addType(superclass, ids, types));
+      for (ClassType interfaceType : header.getInterfaces()) {
+        addType(interfaceType, ids, types);
+      }
+    }
+
+    Path parent = file.toAbsolutePath().getParent();
+    Path tempFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+    try {
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        writeString(out, key);
+        out.writeInt(types.size());
+        for (ClassType type : types) {
+          writeType(out, type, identifierFactory);
+        }
+        out.writeInt(classHeaders.size());
+        for (ClassHeader header : classHeaders) {
+          out.writeInt(ids.get(header.getType()));
+          out.writeBoolean(header.isInterface());
+          out.writeInt(header.getSuperclass().map(ids::get).orElse(NONE));
+          out.writeInt(header.getInterfaces().size());
+          for (ClassType interfaceType : header.getInterfaces()) {
+            out.writeInt(ids.get(interfaceType));
+          }
+        }
+      }
+      try {
+        Files.move(
+            tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  /**
+   * Loads a snapshot that was stored by {@link #write(Path, IdentifierFactory)} from a memory
+   * mapping of the file.
+   *
+   * @param identifierFactory creates the types from their stored names
+   * @throws IOException if the file cannot be read or is not a snapshot of the current format
+   */
+  @Nonnull
+  public static TypeHierarchySnapshot read(
+      @Nonnull Path file, @Nonnull IdentifierFactory identifierFactory) throws IOException {
+    ByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    try {
+      if (buffer.getInt() != MAGIC) {
+        throw new IOException(file + " is not a type hierarchy snapshot.");
+      }
+      int version = buffer.getInt();
+      if (version != FORMAT_VERSION) {
+        throw new IOException(file + " has the unsupported format version " + version + ".");
+      }
+      String key = readString(buffer);
+      ClassType[] types = new ClassType[readLength(buffer, Integer.BYTES)];
+      for (int i = 0; i < types.length; i++) {
+        types[i] = readType(buffer, identifierFactory);
+      }
+      // a header consists of at least its type, the interface flag, the superclass and a count
+      int headerCount = readLength(buffer, 3 * Integer.BYTES + 1);
+      List<ClassHeader> headers = new ArrayList<>(headerCount);
+      for (int i = 0; i < headerCount; i++) {
+        ClassType type = types[buffer.getInt()];
+        boolean isInterface = buffer.get() != 0;
+        int superclass = buffer.getInt();
+        int interfaceCount = readLength(buffer, Integer.BYTES);
+        List<ClassType> interfaces = new ArrayList<>(interfaceCount);
+        for (int j = 0; j < interfaceCount; j++) {
+          interfaces.add(types[buffer.getInt()]);
+        }
+        headers.add(
+            new ClassHeader(
+                type, isInterface, superclass == NONE ? null : types[superclass], interfaces));
+      }
+      return new TypeHierarchySnapshot(key, headers);
+    } catch (BufferUnderflowException
+        | IndexOutOfBoundsException
+        | NegativeArraySizeException
+        | IllegalArgumentException e) {
+      // e.g. an invalid length or a kind of class type that the identifier factory does not know
+      throw new IOException(file + " is truncated or corrupt.", e);
+    }
+  }
+
+  private static void addType(
+      @Nonnull ClassType type,
+      @Nonnull Map<ClassType, Integer> ids,
+      @Nonnull List<ClassType> types) {
+    if (ids.putIfAbsent(type, types.size()) == null) {
+      types.add(type);
+    }
+  }
+
+  private static void writeType(
+      @Nonnull DataOutputStream out,
+      @Nonnull ClassType type,
+      @Nonnull IdentifierFactory identifierFactory)
+      throws IOException {
+    List<String> names = identifierFactory.getClassTypeNames(type);
+    out.writeInt(names.size());
+    for (String name : names) {
+      writeString(out, name);
+    }
+  }
+
+  @Nonnull
+  private static ClassType readType(
+      @Nonnull ByteBuffer buffer, @Nonnull IdentifierFactory identifierFactory) {
+    String[] names = new String[readLength(buffer, Integer.BYTES)];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = readString(buffer);
+    }
+    return identifierFactory.getClassTypeFromNames(Arrays.asList(names));
+  }
+
+  /**
+   * Reads the length of a sequence whose elements take at least the given number of bytes, and
+   * checks it against the remaining bytes before anything is allocated for the sequence.
+   *
+   * @throws IllegalArgumentException if the length is negative or exceeds the remaining bytes
+   */
+  private static int readLength(@Nonnull ByteBuffer buffer, int minimumElementSize) {
+    int length = buffer.getInt();
+    if (length < 0 || (long) length * minimumElementSize > buffer.remaining()) {
+      throw new IllegalArgumentException("Invalid length " + length + ".");
+    }
+    return length;
+  }
+
+  private static void writeString(@Nonnull DataOutputStream out, @Nonnull String string)
+      throws IOException {
+    byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  @Nonnull
+  private static String readString(@Nonnull ByteBuffer buffer) {
+    byte[] bytes = new byte[readLength(buffer, 1)];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
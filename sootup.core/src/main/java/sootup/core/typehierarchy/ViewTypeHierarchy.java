@@ -23,10 +23,13 @@ package sootup.core.typehierarchy;
 
 import com.google.common.base.Suppliers;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.jgrapht.Graph;
 import org.jgrapht.graph.SimpleDirectedGraph;
 import sootup.core.model.SootClass;
@@ -35,6 +38,7 @@ import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult.EdgeType;
 import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult.Vertex;
 import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult.VertexType;
 import sootup.core.types.ClassType;
+import sootup.core.types.Type;
 import sootup.core.views.View;
 
 /**
@@ -48,9 +52,25 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
   private final Supplier<ScanResult> lazyScanResult;
   private final ClassType objectClassType;
 
+  /** built on the first subtype query, reset whenever a type is added */
+  @Nullable private volatile HierarchyIndex hierarchyIndex;
+
+  @Nonnull private final Map<ClassType, ClassType[]> subtypesCache = new ConcurrentHashMap<>();
+
+  private volatile long modificationCount = 0;
+
+  /** set once the view has been scanned */
+  private volatile boolean isScanned = false;
+
   /** to allow caching use Typehierarchy.fromView() to get/create the Typehierarchy. */
   public ViewTypeHierarchy(@Nonnull View view) {
-    lazyScanResult = Suppliers.memoize(() -> scanView(view));
+    lazyScanResult =
+        Suppliers.memoize(
+            () -> {
+              ScanResult scanResult = scanView(view);
+              isScanned = true;
+              return scanResult;
+            });
     objectClassType = view.getIdentifierFactory().getClassType("java.lang.Object");
   }
 
@@ -89,8 +109,52 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
       throw new IllegalArgumentException("Could not find '" + type + "' in hierarchy.");
     }
 
-    // We now traverse the subgraph of the vertex to find all its subtypes
-    return visitSubgraph(scanResult.graph, vertex, false);
+    ClassType[] subtypes = subtypesCache.get(type);
+    if (subtypes == null) {
+      // We now traverse the subgraph of the vertex to find all its subtypes once. The graph is
+      // read under the same lock that addType() holds while it modifies the graph.
+      synchronized (this) {
+        subtypes =
+            subtypesCache.computeIfAbsent(
+                type,
+                key -> visitSubgraph(scanResult.graph, vertex, false).toArray(ClassType[]::new));
+      }
+    }
+    return Arrays.stream(subtypes);
+  }
+
+  /**
+   * Answers the subtype relation between two class types in constant time from a precomputed {@link
+   * HierarchyIndex}. Other types are handled like in {@link TypeHierarchy}.
+   */
+  @Override
+  public boolean isSubtype(@Nonnull Type supertype, @Nonnull Type potentialSubtype) {
+    if (supertype instanceof ClassType && potentialSubtype instanceof ClassType) {
+      if (objectClassType.equals(supertype)) {
+        return !objectClassType.equals(potentialSubtype);
+      }
+      Boolean isSubtype =
+          getHierarchyIndex().isSubtype((ClassType) supertype, (ClassType) potentialSubtype);
+      if (isSubtype != null) {
+        return isSubtype;
+      }
+    }
+    return MutableTypeHierarchy.super.isSubtype(supertype, potentialSubtype);
+  }
+
+  @Nonnull
+  private HierarchyIndex getHierarchyIndex() {
+    HierarchyIndex index = hierarchyIndex;
+    if (index == null) {
+      synchronized (this) {
+        index = hierarchyIndex;
+        if (index == null) {
+          index = HierarchyIndex.build(lazyScanResult.get(), objectClassType);
+          hierarchyIndex = index;
+        }
+      }
+    }
+    return index;
   }
 
   @Nonnull
@@ -313,10 +377,11 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
   }
 
   /**
-   * This method scans the view by iterating over its classes and creating a graph vertex for each
-   * one. When a class is encountered that extends another one or implements an interface, the graph
-   * vertex of the extended class or implemented interface is connected to the vertex of the
-   * subtype.
+   * This method scans the view by iterating over the headers of its classes (see {@link
+   * View#getClassHeaders()}) and creating a graph vertex for each one, so no class has to be
+   * resolved to build the hierarchy. When a class is encountered that extends another one or
+   * implements an interface, the graph vertex of the extended class or implemented interface is
+   * connected to the vertex of the subtype.
    *
    * <p>We distinguish between interface and class vertices, as interfaces may have direct
    * implementers as well as other interfaces that extend them.
@@ -327,17 +392,21 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
     Map<ClassType, Vertex> typeToVertex = new HashMap<>();
     Graph<Vertex, Edge> graph = new SimpleDirectedGraph<>(null, null, false);
 
-    view.getClasses().forEach(sootClass -> addSootClassToGraph(sootClass, typeToVertex, graph));
+    // the headers may be read in parallel by the view, the graph is built afterwards
+    List<ClassHeader> headers = view.getClassHeaders().collect(Collectors.toList());
+    for (ClassHeader header : headers) {
+      addClassHeaderToGraph(header, typeToVertex, graph);
+    }
     return new ScanResult(typeToVertex, graph);
   }
 
-  private static void addSootClassToGraph(
-      SootClass sootClass, Map<ClassType, Vertex> typeToVertex, Graph<Vertex, Edge> graph) {
-    if (sootClass.isInterface()) {
+  private static void addClassHeaderToGraph(
+      ClassHeader header, Map<ClassType, Vertex> typeToVertex, Graph<Vertex, Edge> graph) {
+    if (header.isInterface()) {
       Vertex vertex =
           typeToVertex.computeIfAbsent(
-              sootClass.getType(), type -> createAndAddInterfaceVertex(graph, type));
-      for (ClassType extendedInterface : sootClass.getInterfaces()) {
+              header.getType(), type -> createAndAddInterfaceVertex(graph, type));
+      for (ClassType extendedInterface : header.getInterfaces()) {
         Vertex extendedInterfaceVertex =
             typeToVertex.computeIfAbsent(
                 extendedInterface, type -> createAndAddInterfaceVertex(graph, type));
@@ -346,15 +415,15 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
     } else {
       Vertex vertex =
           typeToVertex.computeIfAbsent(
-              sootClass.getType(), type -> createAndAddClassVertex(graph, type));
-      for (ClassType implementedInterface : sootClass.getInterfaces()) {
+              header.getType(), type -> createAndAddClassVertex(graph, type));
+      for (ClassType implementedInterface : header.getInterfaces()) {
         Vertex implementedInterfaceVertex =
             typeToVertex.computeIfAbsent(
                 implementedInterface, type -> createAndAddInterfaceVertex(graph, type));
         graph.addEdge(
             vertex, implementedInterfaceVertex, new Edge(EdgeType.ClassDirectlyImplements));
       }
-      sootClass
+      header
           .getSuperclass()
           .ifPresent(
               superClass -> {
@@ -383,7 +452,34 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
   @Override
   public void addType(@Nonnull SootClass sootClass) {
     ScanResult scanResult = lazyScanResult.get();
-    addSootClassToGraph(sootClass, scanResult.typeToVertex, scanResult.graph);
+    synchronized (this) {
+      addClassHeaderToGraph(ClassHeader.of(sootClass), scanResult.typeToVertex, scanResult.graph);
+      hierarchyIndex = null;
+      subtypesCache.clear();
+      modificationCount++;
+    }
+  }
+
+  /**
+   * Adds a class that the view has just resolved if this hierarchy has already been built and does
+   * not contain the class yet, e.g. because its header could not be read. A hierarchy that has not
+   * been built yet covers all classes of the view anyway.
+   */
+  public void addResolvedClass(@Nonnull SootClass sootClass) {
+    if (!isScanned) {
+      return;
+    }
+    synchronized (this) {
+      if (lazyScanResult.get().typeToVertex.containsKey(sootClass.getType())) {
+        return;
+      }
+    }
+    addType(sootClass);
+  }
+
+  @Override
+  public long getModificationCount() {
+    return modificationCount;
   }
 
   /** Holds a vertex for each {@link ClassType} encountered during the scan. */
@@ -0,0 +1,115 @@
+package sootup.core.util;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+
+/**
+ * Assigns dense int numbers (0, 1, 2, ...) to elements in the order in which they are first
+ * requested, so that analyses can store per-element data in arrays or bit sets instead of maps. A
+ * number is never reassigned, and the numbered elements are kept reachable by the numberer.
+ *
+ * <p>This class is thread-safe. Elements are compared by {@link Object#equals(Object)}.
+ *
+ * @param <T> the type of the numbered elements
+ */
+public final class Numberer<T> implements Iterable<T> {
+
+  /** returned by {@link #getNumber(Object)} for elements that have not been numbered yet */
+  public static final int UNNUMBERED = -1;
+
+  @Nonnull private final ConcurrentHashMap<T, Integer> numbers = new ConcurrentHashMap<>();
+  @Nonnull private volatile Object[] elements = new Object[64];
+  private volatile int size = 0;
+
+  /** Returns the number of the given element and numbers it first if necessary. */
+  public int getOrAssign(@Nonnull T element) {
+    Integer number = numbers.get(element);
+    if (number != null) {
+      return number;
+    }
+    synchronized (this) {
+      number = numbers.get(element);
+      if (number != null) {
+        return number;
+      }
+      int newNumber = size;
+      if (newNumber == elements.length) {
+        elements = Arrays.copyOf(elements, newNumber * 2);
+      }
+      elements[newNumber] = element;
+      // publish the element before its number
+      size = newNumber + 1;
+      numbers.put(element, newNumber);
+      return newNumber;
+    }
+  }
+
+  /** Returns the number of the given element, or {@link #UNNUMBERED} if it has none. */
+  public int getNumber(@Nonnull T element) {
+    Integer number = numbers.get(element);
+    return number == null ? UNNUMBERED : number;
+  }
+
+  /** Returns the element with the given number. */
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  public T get(int number) {
+    if (number < 0 || number >= size) {
+      throw new IndexOutOfBoundsException("No element has the number " + number + ".");
+    }
+    return (T) elements[number];
+  }
+
+  /** Returns the count of numbered elements, which is also the next number that is assigned. */
+  public int size() {
+    return size;
+  }
+
+  /** Iterates over the elements that were numbered before this call, ordered by number. */
+  @Nonnull
+  @Override
+  public Iterator<T> iterator() {
+    final int end = size;
+    return new Iterator<T>() {
+      private int next = 0;
+
+      @Override
+      public boolean hasNext() {
+        return next < end;
+      }
+
+      @Override
+      public T next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return get(next++);
+      }
+    };
+  }
+}
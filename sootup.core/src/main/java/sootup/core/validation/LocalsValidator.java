@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Set;
 import javax.annotation.Nonnull;
 import sootup.core.jimple.basic.Local;
+import sootup.core.jimple.common.stmt.Stmt;
 import sootup.core.model.Body;
 import sootup.core.views.View;
 
@@ -43,17 +44,20 @@ public class LocalsValidator implements BodyValidator {
 
     final Set<Local> locals = body.getLocals();
 
-    body.getUses()
-        .filter(value -> value instanceof Local && !locals.contains(value))
-        .forEach(
-            value ->
-                exception.add(
-                    new ValidationException(
-                        value,
-                        "Local is not in the StmtGraph : "
-                            + value
-                            + " in "
-                            + body.getMethodSignature())));
+    for (Stmt stmt : body.getStmtGraph().getNodes()) {
+      stmt.forEachUse(
+          value -> {
+            if (value instanceof Local && !locals.contains(value)) {
+              exception.add(
+                  new ValidationException(
+                      value,
+                      "Local is not in the StmtGraph : "
+                          + value
+                          + " in "
+                          + body.getMethodSignature()));
+            }
+          });
+    }
 
     body.getDefs().stream()
         .filter(value -> value instanceof Local && !locals.contains(value))
@@ -39,17 +39,53 @@ import sootup.core.typehierarchy.ViewTypeHierarchy;
  * @author Linghui Luo
  */
 public abstract class AbstractView implements View {
-  @Nullable private TypeHierarchy typeHierarchy;
+  @Nullable private volatile TypeHierarchy typeHierarchy;
+  @Nonnull private final ViewNumbering numbering = new ViewNumbering();
 
   public AbstractView() {}
 
   @Override
   @Nonnull
   public TypeHierarchy getTypeHierarchy() {
-    if (this.typeHierarchy == null) {
-      typeHierarchy = new ViewTypeHierarchy(this);
+    TypeHierarchy hierarchy = this.typeHierarchy;
+    if (hierarchy == null) {
+      // the hierarchy is requested concurrently by body interceptors during a bulk resolution
+      synchronized (this) {
+        hierarchy = this.typeHierarchy;
+        if (hierarchy == null) {
+          hierarchy = createTypeHierarchy();
+          this.typeHierarchy = hierarchy;
+        }
+      }
+    }
+    return hierarchy;
+  }
+
+  /** Returns the dense int numbers of the class types, methods and fields of this view. */
+  @Nonnull
+  public ViewNumbering getNumbering() {
+    return numbering;
+  }
+
+  /**
+   * Creates the type hierarchy of this view on its first request. Views can override this to use a
+   * different implementation, e.g. a {@link sootup.core.typehierarchy.CompactTypeHierarchy} for
+   * large class paths.
+   */
+  @Nonnull
+  protected TypeHierarchy createTypeHierarchy() {
+    return new ViewTypeHierarchy(this);
+  }
+
+  /**
+   * Adds a class that has just been resolved to the type hierarchy if that has already been built
+   * (see {@link ViewTypeHierarchy#addResolvedClass(SootClass)}).
+   */
+  protected void updateTypeHierarchy(@Nonnull SootClass sootClass) {
+    TypeHierarchy hierarchy = this.typeHierarchy;
+    if (hierarchy instanceof ViewTypeHierarchy) {
+      ((ViewTypeHierarchy) hierarchy).addResolvedClass(sootClass);
     }
-    return typeHierarchy;
   }
 
   /**
@@ -0,0 +1,126 @@
+package sootup.core.views;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+
+/**
+ * Resolves a set of classes and, optionally, the bodies of their concrete methods on a given {@link
+ * Executor}. Used by the implementations of {@link View#resolveAll}.
+ */
+public final class BulkResolver {
+
+  private BulkResolver() {}
+
+  /**
+   * Runs every class resolver on the executor and waits until all classes are resolved. If <code>
+   * resolveBodies</code> is set, the bodies of all concrete methods of the resolved classes are
+   * resolved on the executor afterwards, i.e. including the body interceptors.
+   *
+   * @return the resolved classes in the order of the given resolvers
+   * @throws RuntimeException the first failure of a resolver or a body resolution, after all other
+   *     submitted tasks are finished
+   */
+  @Nonnull
+  public static <C extends SootClass> List<C> resolveAll(
+      @Nonnull Collection<? extends Supplier<C>> classResolvers,
+      @Nonnull Executor executor,
+      boolean resolveBodies,
+      @Nonnull ResolutionProgressListener listener) {
+    final int classCount = classResolvers.size();
+    final AtomicInteger resolvedClassCount = new AtomicInteger();
+    List<CompletableFuture<C>> classFutures = new ArrayList<>(classCount);
+    for (Supplier<C> classResolver : classResolvers) {
+      classFutures.add(
+          CompletableFuture.supplyAsync(
+              () -> {
+                C sootClass = classResolver.get();
+                listener.onClassResolved(
+                    sootClass, resolvedClassCount.incrementAndGet(), classCount);
+                return sootClass;
+              },
+              executor));
+    }
+    List<C> classes = joinAll(classFutures);
+
+    if (resolveBodies) {
+      List<SootMethod> methods = new ArrayList<>();
+      for (C sootClass : classes) {
+        for (SootMethod method : sootClass.getMethods()) {
+          if (method.isConcrete()) {
+            methods.add(method);
+          }
+        }
+      }
+
+      final int methodCount = methods.size();
+      final AtomicInteger resolvedBodyCount = new AtomicInteger();
+      List<CompletableFuture<SootMethod>> bodyFutures = new ArrayList<>(methodCount);
+      for (SootMethod method : methods) {
+        bodyFutures.add(
+            CompletableFuture.supplyAsync(
+                () -> {
+                  method.getBody();
+                  listener.onBodyResolved(method, resolvedBodyCount.incrementAndGet(), methodCount);
+                  return method;
+                },
+                executor));
+      }
+      joinAll(bodyFutures);
+    }
+
+    return classes;
+  }
+
+  /** Waits for all futures and rethrows the first failure once every future is completed. */
+  @Nonnull
+  private static <T> List<T> joinAll(@Nonnull List<CompletableFuture<T>> futures) {
+    try {
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+    List<T> results = new ArrayList<>(futures.size());
+    for (CompletableFuture<T> future : futures) {
+      results.add(future.join());
+    }
+    return results;
+  }
+}
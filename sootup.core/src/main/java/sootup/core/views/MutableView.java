@@ -26,7 +26,7 @@ import sootup.core.ViewChangeListener;
 
 /**
  * This interface has to be implemented to create a mutable view. It defines methods to register and
- * unregister listeners.
+ * unregister listeners. A listener may unregister itself while it is notified of a change.
  */
 public interface MutableView {
 
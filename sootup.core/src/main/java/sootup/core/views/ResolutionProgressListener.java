@@ -0,0 +1,54 @@
+package sootup.core.views;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import javax.annotation.Nonnull;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+
+/**
+ * Is notified about the progress of {@link View#resolveAll}. The callbacks are invoked from the
+ * threads of the executor that resolves the classes and bodies, so implementations have to be
+ * thread-safe.
+ */
+public interface ResolutionProgressListener {
+
+  /** A listener that ignores all progress. */
+  ResolutionProgressListener NONE = new ResolutionProgressListener() {};
+
+  /**
+   * Called after a class has been resolved.
+   *
+   * @param resolvedCount the number of classes that are resolved so far, including this one
+   * @param totalCount the number of classes that will be resolved
+   */
+  default void onClassResolved(@Nonnull SootClass sootClass, int resolvedCount, int totalCount) {}
+
+  /**
+   * Called after the body of a method has been resolved.
+   *
+   * @param resolvedCount the number of bodies that are resolved so far, including this one
+   * @param totalCount the number of bodies that will be resolved
+   */
+  default void onBodyResolved(@Nonnull SootMethod method, int resolvedCount, int totalCount) {}
+}
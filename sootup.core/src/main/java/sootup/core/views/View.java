@@ -22,15 +22,22 @@ package sootup.core.views;
  * #L%
  */
 
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.IdentifierFactory;
+import sootup.core.cache.body.BodyRetentionPolicy;
+import sootup.core.cache.body.StrongBodyRetentionPolicy;
 import sootup.core.model.SootClass;
 import sootup.core.model.SootField;
 import sootup.core.model.SootMethod;
 import sootup.core.signatures.FieldSignature;
 import sootup.core.signatures.MethodSignature;
+import sootup.core.typehierarchy.ClassHeader;
 import sootup.core.typehierarchy.TypeHierarchy;
 import sootup.core.types.ClassType;
 
@@ -46,6 +53,16 @@ public interface View {
   @Nonnull
   Stream<? extends SootClass> getClasses();
 
+  /**
+   * Returns the {@link ClassHeader} of every class in the view, from which the {@link
+   * TypeHierarchy} is built. By default, all classes are resolved to obtain them; views whose
+   * frontends can read the headers alone should override this.
+   */
+  @Nonnull
+  default Stream<ClassHeader> getClassHeaders() {
+    return getClasses().map(ClassHeader::of);
+  }
+
   /**
    * Return a class with given signature.
    *
@@ -65,6 +82,41 @@ public interface View {
   @Nonnull
   IdentifierFactory getIdentifierFactory();
 
+  /**
+   * Returns the {@link BodyRetentionPolicy} that decides how long the bodies of the methods of this
+   * view are kept after they have been resolved.
+   */
+  @Nonnull
+  default BodyRetentionPolicy getBodyRetentionPolicy() {
+    return StrongBodyRetentionPolicy.getInstance();
+  }
+
+  /**
+   * Resolves all classes of this view and, if <code>resolveBodies</code> is set, the bodies of all
+   * their concrete methods on the given executor. This warms up the view so that later queries do
+   * not pay for the resolution on whatever thread touches a class or method first.
+   *
+   * @param listener is notified after each resolved class and body
+   * @return all classes of this view
+   */
+  @Nonnull
+  default List<? extends SootClass> resolveAll(
+      @Nonnull Executor executor,
+      boolean resolveBodies,
+      @Nonnull ResolutionProgressListener listener) {
+    List<Supplier<SootClass>> classResolvers =
+        getClasses()
+            .map(sootClass -> (Supplier<SootClass>) () -> sootClass)
+            .collect(Collectors.toList());
+    return BulkResolver.resolveAll(classResolvers, executor, resolveBodies, listener);
+  }
+
+  /** Like {@link #resolveAll(Executor, boolean, ResolutionProgressListener)} without a listener. */
+  @Nonnull
+  default List<? extends SootClass> resolveAll(@Nonnull Executor executor, boolean resolveBodies) {
+    return resolveAll(executor, resolveBodies, ResolutionProgressListener.NONE);
+  }
+
   @Nonnull
   default SootClass getClassOrThrow(@Nonnull ClassType classType) {
     return getClass(classType)
@@ -0,0 +1,64 @@
+package sootup.core.views;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import javax.annotation.Nonnull;
+import sootup.core.signatures.FieldSignature;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.types.ClassType;
+import sootup.core.util.Numberer;
+
+/**
+ * Dense int numbers for the class types, methods and fields of a {@link View} (see {@link
+ * AbstractView#getNumbering()}). All analyses that work on the same view share these numbers, so
+ * int arrays or bit sets indexed by them can be passed between analyses.
+ *
+ * <p>A number is never reassigned, so every numbered class type, method and field signature stays
+ * reachable as long as the view does, even if it is no longer used otherwise. Only what an analysis
+ * needs to index should be numbered.
+ *
+ * <p>Statements are numbered per body by {@link sootup.core.graph.StmtGraph#getStmtIndex()}. A
+ * view-wide numbering would keep every statement reachable, even the ones of bodies that have been
+ * released by the {@link sootup.core.cache.body.BodyRetentionPolicy} of the view.
+ */
+public final class ViewNumbering {
+
+  @Nonnull private final Numberer<ClassType> classTypes = new Numberer<>();
+  @Nonnull private final Numberer<MethodSignature> methods = new Numberer<>();
+  @Nonnull private final Numberer<FieldSignature> fields = new Numberer<>();
+
+  @Nonnull
+  public Numberer<ClassType> getClassTypes() {
+    return classTypes;
+  }
+
+  @Nonnull
+  public Numberer<MethodSignature> getMethods() {
+    return methods;
+  }
+
+  @Nonnull
+  public Numberer<FieldSignature> getFields() {
+    return fields;
+  }
+}
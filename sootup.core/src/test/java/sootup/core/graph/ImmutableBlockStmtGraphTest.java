@@ -0,0 +1,107 @@
+package sootup.core.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.jimple.basic.Local;
+import sootup.core.jimple.basic.StmtPositionInfo;
+import sootup.core.jimple.common.constant.IntConstant;
+import sootup.core.jimple.common.expr.JLeExpr;
+import sootup.core.jimple.common.ref.JCaughtExceptionRef;
+import sootup.core.jimple.common.stmt.*;
+import sootup.core.signatures.PackageName;
+import sootup.core.types.ClassType;
+
+@Tag("Java8")
+public class ImmutableBlockStmtGraphTest {
+
+  private final ClassType throwableSig =
+      new ClassType() {
+
+        @Override
+        public String getFullyQualifiedName() {
+          return getPackageName() + "." + getClassName();
+        }
+
+        @Override
+        public String getClassName() {
+          return "Throwable";
+        }
+
+        @Override
+        public PackageName getPackageName() {
+          return new PackageName("java.lang");
+        }
+      };
+
+  private final JNopStmt firstNop = new JNopStmt(StmtPositionInfo.getNoStmtPositionInfo());
+  private final JNopStmt secondNop = new JNopStmt(StmtPositionInfo.getNoStmtPositionInfo());
+  private final BranchingStmt ifStmt =
+      new JIfStmt(
+          new JLeExpr(IntConstant.getInstance(2), IntConstant.getInstance(3)),
+          StmtPositionInfo.getNoStmtPositionInfo());
+  private final JReturnVoidStmt returnStmt =
+      new JReturnVoidStmt(StmtPositionInfo.getNoStmtPositionInfo());
+  private final Stmt handlerStmt =
+      new JIdentityStmt(
+          new Local("ex", throwableSig),
+          new JCaughtExceptionRef(throwableSig),
+          StmtPositionInfo.getNoStmtPositionInfo());
+  private final JReturnVoidStmt handlerReturn =
+      new JReturnVoidStmt(StmtPositionInfo.getNoStmtPositionInfo());
+
+  private MutableBlockStmtGraph createGraph() {
+    MutableBlockStmtGraph graph = new MutableBlockStmtGraph();
+    graph.setStartingStmt(firstNop);
+    graph.addNode(secondNop, Collections.singletonMap(throwableSig, handlerStmt));
+    graph.putEdge(firstNop, secondNop);
+    graph.putEdge(secondNop, ifStmt);
+    graph.putEdge((FallsThroughStmt) ifStmt, returnStmt);
+    graph.putEdge(ifStmt, JIfStmt.TRUE_BRANCH_IDX, firstNop);
+    graph.putEdge((FallsThroughStmt) handlerStmt, handlerReturn);
+    return graph;
+  }
+
+  @Test
+  public void testQueriesMatchSourceGraph() {
+    MutableBlockStmtGraph graph = createGraph();
+    ImmutableBlockStmtGraph frozen = new ImmutableBlockStmtGraph(graph);
+
+    assertEquals(graph.getStartingStmt(), frozen.getStartingStmt());
+    assertEquals(new HashSet<>(graph.getNodes()), new HashSet<>(frozen.getNodes()));
+    assertEquals(graph.getBlocks().size(), frozen.getBlocks().size());
+    for (Stmt stmt : graph.getNodes()) {
+      assertTrue(frozen.containsNode(stmt));
+      assertEquals(graph.successors(stmt), frozen.successors(stmt));
+      assertEquals(
+          new HashSet<>(graph.predecessors(stmt)), new HashSet<>(frozen.predecessors(stmt)));
+      assertEquals(graph.exceptionalSuccessors(stmt), frozen.exceptionalSuccessors(stmt));
+      assertEquals(graph.exceptionalPredecessors(stmt), frozen.exceptionalPredecessors(stmt));
+      assertEquals(graph.inDegree(stmt), frozen.inDegree(stmt));
+      assertEquals(graph.outDegree(stmt), frozen.outDegree(stmt));
+    }
+    assertTrue(frozen.hasEdgeConnecting(ifStmt, firstNop));
+    assertFalse(frozen.hasEdgeConnecting(firstNop, ifStmt));
+    assertEquals(graph.buildTraps(), frozen.buildTraps());
+  }
+
+  @Test
+  public void testExceptionalPredecessors() {
+    MutableBlockStmtGraph graph = createGraph();
+    ImmutableBlockStmtGraph frozen = new ImmutableBlockStmtGraph(graph);
+    // ifStmt falls into the trapped block of secondNop
+    assertEquals(Arrays.asList(secondNop, ifStmt), graph.exceptionalPredecessors(handlerStmt));
+    assertEquals(Arrays.asList(secondNop, ifStmt), frozen.exceptionalPredecessors(handlerStmt));
+    assertTrue(frozen.exceptionalPredecessors(firstNop).isEmpty());
+  }
+
+  @Test
+  public void testUnknownStmt() {
+    ImmutableBlockStmtGraph frozen = new ImmutableBlockStmtGraph(createGraph());
+    JNopStmt unknown = new JNopStmt(StmtPositionInfo.getNoStmtPositionInfo());
+    assertFalse(frozen.containsNode(unknown));
+    assertThrows(IllegalArgumentException.class, () -> frozen.successors(unknown));
+  }
+}
@@ -1029,4 +1029,29 @@ public class MutableBlockStmtGraphTest {
     assertEquals(1, graph.successors(stmt1).size());
     assertTrue(graph.successors(stmt1).contains(stmt2));
   }
+
+  @Test
+  public void testCachedOrdersAndDominanceAreInvalidatedByModifications() {
+    JReturnVoidStmt returnStmt = new JReturnVoidStmt(StmtPositionInfo.getNoStmtPositionInfo());
+    MutableBlockStmtGraph graph = new MutableBlockStmtGraph();
+    graph.setStartingStmt(firstNop);
+    graph.putEdge(firstNop, ifStmt);
+    graph.putEdge((FallsThroughStmt) ifStmt, secondNop);
+    graph.putEdge(secondNop, returnStmt);
+    graph.putEdge(ifStmt, JIfStmt.TRUE_BRANCH_IDX, returnStmt);
+
+    List<? extends BasicBlock<?>> sorted = graph.getBlocksSorted();
+    DominanceFinder dominanceFinder = graph.getDominanceFinder();
+    DominanceTree postDominanceTree = graph.getPostDominanceTree();
+    assertSame(sorted, graph.getBlocksSorted());
+    assertSame(dominanceFinder, graph.getDominanceFinder());
+    assertSame(postDominanceTree, graph.getPostDominanceTree());
+
+    graph.replaceNode(secondNop, new JNopStmt(StmtPositionInfo.getNoStmtPositionInfo()));
+    assertNotSame(sorted, graph.getBlocksSorted());
+    assertNotSame(dominanceFinder, graph.getDominanceFinder());
+    assertNotSame(postDominanceTree, graph.getPostDominanceTree());
+    assertEquals(ReversePostOrderBlockTraversal.getBlocksSorted(graph), graph.getBlocksSorted());
+    assertEquals(PostOrderBlockTraversal.getBlocksSorted(graph), graph.getBlocksPostOrder());
+  }
 }
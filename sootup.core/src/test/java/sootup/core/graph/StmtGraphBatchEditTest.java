@@ -0,0 +1,106 @@
+package sootup.core.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.jimple.basic.StmtPositionInfo;
+import sootup.core.jimple.common.constant.IntConstant;
+import sootup.core.jimple.common.expr.JLeExpr;
+import sootup.core.jimple.common.stmt.*;
+
+@Tag("Java8")
+public class StmtGraphBatchEditTest {
+
+  private final JNopStmt nop1 = new JNopStmt(StmtPositionInfo.getNoStmtPositionInfo());
+  private final JNopStmt nop2 = new JNopStmt(StmtPositionInfo.getNoStmtPositionInfo());
+  private final JNopStmt nop3 = new JNopStmt(StmtPositionInfo.getNoStmtPositionInfo());
+  private final JNopStmt nop4 = new JNopStmt(StmtPositionInfo.getNoStmtPositionInfo());
+  private final JIfStmt ifStmt =
+      new JIfStmt(
+          new JLeExpr(IntConstant.getInstance(2), IntConstant.getInstance(3)),
+          StmtPositionInfo.getNoStmtPositionInfo());
+  private final JReturnVoidStmt returnStmt =
+      new JReturnVoidStmt(StmtPositionInfo.getNoStmtPositionInfo());
+  private final JReturnVoidStmt otherReturnStmt =
+      new JReturnVoidStmt(StmtPositionInfo.getNoStmtPositionInfo());
+  private final JNopStmt replacement = new JNopStmt(StmtPositionInfo.getNoStmtPositionInfo());
+  private final JNopStmt inserted = new JNopStmt(StmtPositionInfo.getNoStmtPositionInfo());
+
+  /** nop1 -> nop2 -> ifStmt -> (nop3 -> return | nop4 -> return2) */
+  private MutableBlockStmtGraph createGraph() {
+    MutableBlockStmtGraph graph = new MutableBlockStmtGraph();
+    graph.setStartingStmt(nop1);
+    graph.putEdge(nop1, nop2);
+    graph.putEdge(nop2, ifStmt);
+    graph.putEdge(ifStmt, JIfStmt.FALSE_BRANCH_IDX, nop3);
+    graph.putEdge(nop3, returnStmt);
+    graph.putEdge(ifStmt, JIfStmt.TRUE_BRANCH_IDX, nop4);
+    graph.putEdge(nop4, otherReturnStmt);
+    return graph;
+  }
+
+  private static void assertSameGraph(
+      MutableBlockStmtGraph expected, MutableBlockStmtGraph actual) {
+    assertEquals(expected.getStartingStmt(), actual.getStartingStmt());
+    assertEquals(expected.getStmts(), actual.getStmts());
+    assertEquals(expected.getBlocks().size(), actual.getBlocks().size());
+    for (Stmt stmt : expected.getNodes()) {
+      assertEquals(expected.successors(stmt), actual.successors(stmt));
+      assertEquals(
+          new HashSet<>(expected.predecessors(stmt)), new HashSet<>(actual.predecessors(stmt)));
+    }
+    actual.validateBlocks();
+  }
+
+  @Test
+  public void testBatchEqualsSingleModifications() {
+    MutableBlockStmtGraph expected = createGraph();
+    expected.insertBefore(nop2, Collections.singletonList(inserted), Collections.emptyMap());
+    expected.replaceNode(nop1, replacement);
+    expected.removeNode(nop2);
+    expected.removeNode(nop3);
+
+    MutableBlockStmtGraph actual = createGraph();
+    actual
+        .batchEdit()
+        .insertBefore(nop2, inserted)
+        .replace(nop1, replacement)
+        .remove(nop2)
+        .remove(nop3)
+        .apply();
+
+    assertSameGraph(expected, actual);
+    assertSame(replacement, actual.getStartingStmt());
+    assertFalse(actual.containsNode(nop3));
+    assertEquals(Arrays.asList(returnStmt, nop4), actual.successors(ifStmt));
+  }
+
+  @Test
+  public void testBranchingReplacementFallsBackToSingleModification() {
+    JIfStmt otherIf =
+        new JIfStmt(
+            new JLeExpr(IntConstant.getInstance(4), IntConstant.getInstance(5)),
+            StmtPositionInfo.getNoStmtPositionInfo());
+    MutableBlockStmtGraph expected = createGraph();
+    expected.replaceNode(ifStmt, otherIf);
+    expected.removeNode(nop4);
+
+    MutableBlockStmtGraph actual = createGraph();
+    actual.batchEdit().replace(ifStmt, otherIf).remove(nop4).apply();
+
+    assertSameGraph(expected, actual);
+  }
+
+  @Test
+  public void testInvalidOperations() {
+    MutableBlockStmtGraph graph = createGraph();
+    StmtGraphBatchEdit edit = graph.batchEdit().remove(nop1);
+    assertThrows(IllegalArgumentException.class, () -> edit.replace(nop1, replacement));
+    assertThrows(IllegalArgumentException.class, () -> edit.insertBefore(nop1, inserted));
+    assertThrows(IllegalArgumentException.class, () -> edit.remove(inserted));
+    edit.apply();
+    assertThrows(IllegalStateException.class, edit::apply);
+  }
+}
@@ -0,0 +1,88 @@
+package sootup.core.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.jimple.basic.StmtPositionInfo;
+import sootup.core.jimple.common.stmt.JNopStmt;
+import sootup.core.jimple.common.stmt.JReturnVoidStmt;
+import sootup.core.jimple.common.stmt.Stmt;
+
+@Tag("Java8")
+public class StmtIndexTest {
+
+  private final JNopStmt firstNop = new JNopStmt(StmtPositionInfo.getNoStmtPositionInfo());
+  private final JNopStmt secondNop = new JNopStmt(StmtPositionInfo.getNoStmtPositionInfo());
+  private final JReturnVoidStmt returnStmt =
+      new JReturnVoidStmt(StmtPositionInfo.getNoStmtPositionInfo());
+
+  private MutableBlockStmtGraph createGraph() {
+    MutableBlockStmtGraph graph = new MutableBlockStmtGraph();
+    graph.setStartingStmt(firstNop);
+    graph.putEdge(firstNop, secondNop);
+    graph.putEdge(secondNop, returnStmt);
+    return graph;
+  }
+
+  @Test
+  public void testImmutableGraphIndexFollowsLinearOrder() {
+    ImmutableBlockStmtGraph graph = new ImmutableBlockStmtGraph(createGraph());
+    StmtIndex index = graph.getStmtIndex();
+    assertSame(index, graph.getStmtIndex());
+    assertEquals(3, index.size());
+    List<Stmt> stmts = graph.getStmts();
+    for (int i = 0; i < stmts.size(); i++) {
+      assertSame(stmts.get(i), index.getStmt(i));
+      assertEquals(i, index.indexOf(stmts.get(i)));
+    }
+    JNopStmt unknown = new JNopStmt(StmtPositionInfo.getNoStmtPositionInfo());
+    assertEquals(StmtIndex.NONE, index.indexOf(unknown));
+  }
+
+  @Test
+  public void testStmtMap() {
+    MutableBlockStmtGraph graph = createGraph();
+    StmtMap<String> map = graph.newStmtMap();
+    assertTrue(map.isEmpty());
+    assertNull(map.put(firstNop, "a"));
+    assertNull(map.put(returnStmt, "c"));
+    assertEquals("a", map.put(firstNop, "b"));
+    assertEquals(2, map.size());
+    assertEquals("b", map.get(firstNop));
+    assertNull(map.get(secondNop));
+    assertFalse(map.containsKey(secondNop));
+
+    Map<Stmt, String> expected = new HashMap<>();
+    expected.put(firstNop, "b");
+    expected.put(returnStmt, "c");
+    assertEquals(expected, map);
+
+    assertEquals("c", map.remove(returnStmt));
+    assertEquals(Collections.singleton(firstNop), map.keySet());
+
+    JNopStmt unknown = new JNopStmt(StmtPositionInfo.getNoStmtPositionInfo());
+    assertNull(map.get(unknown));
+    assertThrows(IllegalArgumentException.class, () -> map.put(unknown, "x"));
+  }
+
+  @Test
+  public void testStmtBitSet() {
+    StmtBitSet set = new ImmutableBlockStmtGraph(createGraph()).newStmtBitSet();
+    assertTrue(set.add(returnStmt));
+    assertTrue(set.add(firstNop));
+    assertFalse(set.add(firstNop));
+    assertEquals(2, set.size());
+    assertTrue(set.contains(firstNop));
+    assertFalse(set.contains(secondNop));
+    // iterates in index order
+    assertEquals(Arrays.asList(firstNop, returnStmt), new ArrayList<>(set));
+
+    assertTrue(set.remove(firstNop));
+    assertEquals(Collections.singleton(returnStmt), set);
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> set.add(new JNopStmt(StmtPositionInfo.getNoStmtPositionInfo())));
+  }
+}
@@ -4,10 +4,15 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import sootup.core.TestUtil;
 import sootup.core.jimple.basic.Local;
+import sootup.core.jimple.basic.Value;
 import sootup.core.jimple.common.ref.JInstanceFieldRef;
 import sootup.core.jimple.common.ref.JStaticFieldRef;
 
@@ -112,4 +117,23 @@ public class JAssignStmtTest {
             .isPresent());
     assertFalse(TestUtil.createDummyAssignStmtWithLocals().getInvokeExpr().isPresent());
   }
+
+  @Test
+  public void testForEachUseMatchesGetUses() {
+    List<Stmt> stmts =
+        Arrays.asList(
+            TestUtil.createDummyAssignStmtWithExpr(TestUtil.createDummyVirtualInvokeExpr()),
+            TestUtil.createDummyAssignStmt(
+                TestUtil.createDummyInstanceFieldRef(), TestUtil.createDummyLocalForInt()),
+            TestUtil.createDummyAssignStmtWithLocals());
+    for (Stmt stmt : stmts) {
+      List<Value> uses = new ArrayList<>();
+      stmt.forEachUse(uses::add);
+      assertEquals(stmt.getUses().collect(Collectors.toList()), uses);
+
+      List<Value> usesAndDefs = new ArrayList<>();
+      stmt.forEachUseAndDef(usesAndDefs::add);
+      assertEquals(stmt.getUsesAndDefs().collect(Collectors.toList()), usesAndDefs);
+    }
+  }
 }
@@ -0,0 +1,49 @@
+package sootup.core.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("Java8")
+public class NumbererTest {
+
+  @Test
+  public void numbersAreDenseAndStable() {
+    Numberer<String> numberer = new Numberer<>();
+    assertEquals(Numberer.UNNUMBERED, numberer.getNumber("a"));
+    assertEquals(0, numberer.getOrAssign("a"));
+    assertEquals(1, numberer.getOrAssign("b"));
+    assertEquals(0, numberer.getOrAssign(new String("a")));
+    assertEquals(1, numberer.getNumber("b"));
+    assertEquals(2, numberer.size());
+    assertEquals("b", numberer.get(1));
+    assertThrows(IndexOutOfBoundsException.class, () -> numberer.get(2));
+
+    List<String> elements = new ArrayList<>();
+    numberer.forEach(elements::add);
+    assertEquals(2, elements.size());
+    assertEquals("a", elements.get(0));
+  }
+
+  @Test
+  public void concurrentAssignmentsAreConsistent() {
+    Numberer<Integer> numberer = new Numberer<>();
+    List<Integer> values = IntStream.range(0, 10000).boxed().collect(Collectors.toList());
+    values.parallelStream().forEach(numberer::getOrAssign);
+    values.parallelStream().forEach(numberer::getOrAssign);
+
+    assertEquals(values.size(), numberer.size());
+    for (int number = 0; number < numberer.size(); number++) {
+      Integer element = numberer.get(number);
+      assertEquals(number, numberer.getNumber(element));
+      assertSame(element, numberer.get(numberer.getOrAssign(element)));
+    }
+  }
+}
@@ -111,10 +111,11 @@ public class AsmAnnotationClassSource extends JavaAnnotationSootClassSource {
               String methodName = methodSource.name;
               EnumSet<MethodModifier> modifiers = Modifiers.getMethodModifiers(methodSource.access);
               List<Type> sigTypes = AsmUtil.toJimpleSignatureDesc(methodSource.desc);
-              Type retType = sigTypes.remove(sigTypes.size() - 1);
+              Type retType = sigTypes.get(sigTypes.size() - 1);
+              List<Type> paramTypes = sigTypes.subList(0, sigTypes.size() - 1);
 
               MethodSignature methodSignature =
-                  signatureFactory.getMethodSignature(cs, methodName, retType, sigTypes);
+                  signatureFactory.getMethodSignature(cs, methodName, retType, paramTypes);
 
               List<AnnotationNode> annotations = new ArrayList<>();
               if (methodSource.visibleAnnotations != null) {
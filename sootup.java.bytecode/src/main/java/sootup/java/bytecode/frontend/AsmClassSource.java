@@ -29,6 +29,8 @@ import java.util.stream.StreamSupport;
 import javax.annotation.Nonnull;
 import org.objectweb.asm.tree.*;
 import sootup.core.IdentifierFactory;
+import sootup.core.cache.body.BodyRetentionPolicy;
+import sootup.core.cache.body.StrongBodyRetentionPolicy;
 import sootup.core.frontend.ResolveException;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.jimple.basic.NoPositionInformation;
@@ -45,14 +47,30 @@ import sootup.java.core.types.JavaClassType;
 class AsmClassSource extends JavaSootClassSource {
 
   @Nonnull private final ClassNode classNode;
+  @Nonnull private final BodyRetentionPolicy bodyRetentionPolicy;
 
   public AsmClassSource(
       AnalysisInputLocation inputLocation,
       Path sourcePath,
       JavaClassType javaClassType,
       @Nonnull ClassNode classNode) {
+    this(
+        inputLocation,
+        sourcePath,
+        javaClassType,
+        classNode,
+        StrongBodyRetentionPolicy.getInstance());
+  }
+
+  public AsmClassSource(
+      AnalysisInputLocation inputLocation,
+      Path sourcePath,
+      JavaClassType javaClassType,
+      @Nonnull ClassNode classNode,
+      @Nonnull BodyRetentionPolicy bodyRetentionPolicy) {
     super(inputLocation, javaClassType, sourcePath);
     this.classNode = classNode;
+    this.bodyRetentionPolicy = bodyRetentionPolicy;
   }
 
   private static Set<JavaSootField> resolveFields(
@@ -123,11 +141,12 @@ class AsmClassSource extends JavaSootClassSource {
               String methodName = methodSource.name;
               EnumSet<MethodModifier> modifiers = Modifiers.getMethodModifiers(methodSource.access);
               List<Type> sigTypes = AsmUtil.toJimpleSignatureDesc(methodSource.desc);
-              Type retType = sigTypes.remove(sigTypes.size() - 1);
+              Type retType = sigTypes.get(sigTypes.size() - 1);
+              List<Type> paramTypes = sigTypes.subList(0, sigTypes.size() - 1);
 
               MethodSignature methodSignature =
                   identifierFactory.getMethodSignature(
-                      classSignature, methodName, retType, sigTypes);
+                      classSignature, methodName, retType, paramTypes);
 
               List<AnnotationNode> annotations = new ArrayList<>();
               if (methodSource.visibleAnnotations != null) {
@@ -144,7 +163,8 @@ class AsmClassSource extends JavaSootClassSource {
                   modifiers,
                   exceptions,
                   convertAnnotation(annotations),
-                  NoPositionInformation.getInstance());
+                  NoPositionInformation.getInstance(),
+                  bodyRetentionPolicy);
             })
         .collect(Collectors.toSet());
   }
@@ -20,18 +20,27 @@ package sootup.java.bytecode.frontend;
  * <http://www.gnu.org/licenses/lgpl-2.1.html>.
  * #L%
  */
+import com.google.common.base.Suppliers;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.function.Supplier;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.ClassNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import sootup.core.cache.body.PersistentBodyCache;
 import sootup.core.frontend.ClassProvider;
 import sootup.core.frontend.SootClassSource;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.inputlocation.FileType;
+import sootup.core.typehierarchy.ClassHeader;
 import sootup.core.types.ClassType;
 import sootup.core.views.View;
 import sootup.java.core.JavaModuleIdentifierFactory;
@@ -42,11 +51,36 @@ import sootup.java.core.types.ModuleJavaClassType;
 /** A {@link ClassProvider} capable of handling Java bytecode */
 public class AsmJavaClassProvider implements ClassProvider {
 
+  /** Decides when the ASM instructions of a method are read and how long they are kept. */
+  public enum InstructionMode {
+    /** Read all instructions with the class and keep them for the lifetime of the class. */
+    RETAIN,
+    /**
+     * Read all instructions with the class and release them as soon as the body of their method is
+     * resolved. The bytes of the class file are kept instead, which are much smaller, so that a
+     * body that is resolved again can read its instructions again.
+     */
+    RELEASE,
+    /**
+     * Read only the skeleton of the class (i.e. skip the code of all methods) and read the
+     * instructions of a method from the kept class file bytes when its body is resolved. They are
+     * released afterwards like in {@link #RELEASE}. Workloads that only need the class hierarchy or
+     * signatures never parse any instruction.
+     */
+    ON_DEMAND
+  }
+
   @Nonnull private final View view;
+  @Nonnull private final InstructionMode instructionMode;
   private static final @Nonnull Logger logger = LoggerFactory.getLogger(AsmJavaClassProvider.class);
 
   public AsmJavaClassProvider(@Nonnull View view) {
+    this(view, InstructionMode.RETAIN);
+  }
+
+  public AsmJavaClassProvider(@Nonnull View view, @Nonnull InstructionMode instructionMode) {
     this.view = view;
+    this.instructionMode = instructionMode;
   }
 
   @Override
@@ -54,27 +88,52 @@ public class AsmJavaClassProvider implements ClassProvider {
       @Nonnull AnalysisInputLocation analysisInputLocation,
       @Nonnull Path sourcePath,
       @Nonnull ClassType classType) {
-
-    SootClassNode classNode;
-    final String actualClassSignature;
+    final byte[] classBytes;
     try {
-      classNode = new SootClassNode(analysisInputLocation);
-      actualClassSignature = AsmUtil.initAsmClassSource(sourcePath, classNode);
+      classBytes = Files.readAllBytes(sourcePath);
     } catch (IOException exception) {
       logger.warn("ioe: " + sourcePath, exception);
       return Optional.empty();
+    }
+    return createClassSource(analysisInputLocation, sourcePath, classType, classBytes);
+  }
+
+  /**
+   * Creates the class source from the contents of the class file at the given path which have
+   * already been read by the caller, e.g. from a memory-mapped archive.
+   */
+  public Optional<SootClassSource> createClassSource(
+      @Nonnull AnalysisInputLocation analysisInputLocation,
+      @Nonnull Path sourcePath,
+      @Nonnull ClassType classType,
+      @Nonnull byte[] classBytes) {
+
+    SootClassNode classNode;
+    final String actualClassSignature;
+    try {
+      ClassReader classReader = new ClassReader(classBytes);
+      if (instructionMode == InstructionMode.RETAIN) {
+        classNode = new SootClassNode(analysisInputLocation, classBytes, null, false);
+        actualClassSignature =
+            AsmUtil.initAsmClassSource(classReader, classNode, ClassReader.SKIP_FRAMES);
+      } else {
+        final boolean onDemand = instructionMode == InstructionMode.ON_DEMAND;
+        classNode = new SootClassNode(analysisInputLocation, classBytes, classReader, onDemand);
+        actualClassSignature =
+            AsmUtil.initAsmClassSource(
+                classReader,
+                classNode,
+                onDemand
+                    ? ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES
+                    : ClassReader.SKIP_FRAMES);
+      }
     } catch (IllegalArgumentException exception) {
       logger.warn("iae: " + sourcePath, exception);
       return Optional.empty();
     }
 
-    String requestedName = classType.getPackageName().getName();
-    String requestedFQClassName =
-        classType.getPackageName().getName()
-            + (requestedName.isEmpty() ? "" : ".")
-            + classType.getClassName();
     String actualFQClassName = actualClassSignature.replace('/', '.');
-    if (!actualFQClassName.equals(requestedFQClassName)) {
+    if (!actualFQClassName.equals(getRequestedClassName(classType))) {
       return Optional.empty();
     }
 
@@ -91,10 +150,66 @@ public class AsmJavaClassProvider implements ClassProvider {
       }
 
       return Optional.of(
-          new AsmClassSource(analysisInputLocation, sourcePath, klassType, classNode));
+          new AsmClassSource(
+              analysisInputLocation,
+              sourcePath,
+              klassType,
+              classNode,
+              view.getBodyRetentionPolicy()));
     }
   }
 
+  /**
+   * Reads only the {@link ClassHeader} of a class file, i.e. no field, method or attribute of the
+   * class is parsed.
+   */
+  @Nonnull
+  public Optional<ClassHeader> createClassHeader(
+      @Nonnull Path sourcePath, @Nonnull ClassType classType, @Nonnull byte[] classBytes) {
+    final ClassReader classReader;
+    try {
+      classReader = new ClassReader(classBytes);
+    } catch (IllegalArgumentException exception) {
+      logger.warn("iae: " + sourcePath, exception);
+      return Optional.empty();
+    }
+
+    String actualFQClassName = classReader.getClassName().replace('/', '.');
+    if (!actualFQClassName.equals(getRequestedClassName(classType))
+        || classType.getClassName().equals(JavaModuleIdentifierFactory.MODULE_INFO_FILE)) {
+      return Optional.empty();
+    }
+
+    String superName = classReader.getSuperName();
+    return Optional.of(
+        new ClassHeader(
+            classType,
+            (classReader.getAccess() & Opcodes.ACC_INTERFACE) != 0,
+            superName == null ? null : AsmUtil.toJimpleClassType(superName),
+            AsmUtil.asmIdToSignature(Arrays.asList(classReader.getInterfaces()))));
+  }
+
+  /** Like {@link #createClassHeader(Path, ClassType, byte[])} for the class file at the path. */
+  @Nonnull
+  public Optional<ClassHeader> createClassHeader(
+      @Nonnull Path sourcePath, @Nonnull ClassType classType) {
+    final byte[] classBytes;
+    try {
+      classBytes = Files.readAllBytes(sourcePath);
+    } catch (IOException exception) {
+      logger.warn("ioe: " + sourcePath, exception);
+      return Optional.empty();
+    }
+    return createClassHeader(sourcePath, classType, classBytes);
+  }
+
+  /** the name of the requested type without its module, like it is found in the class file */
+  @Nonnull
+  private static String getRequestedClassName(@Nonnull ClassType classType) {
+    String requestedName = classType.getPackageName().getName();
+    return requestedName + (requestedName.isEmpty() ? "" : ".") + classType.getClassName();
+  }
+
   @Override
   @Nonnull
   public FileType getHandledFileType() {
@@ -105,9 +220,45 @@ public class AsmJavaClassProvider implements ClassProvider {
 
     private final AnalysisInputLocation analysisInputLocation;
 
-    SootClassNode(AnalysisInputLocation analysisInputLocation) {
+    /** Reads the instructions of released methods again; it is shared by all methods. */
+    @Nullable private final ClassReader classReader;
+
+    private final boolean loadInstructionsOnDemand;
+
+    @Nullable private final PersistentBodyCache bodyCache;
+
+    /** The cache key part of this class, if its bodies are cached. */
+    @Nullable private final Supplier<Optional<String>> classCacheKey;
+
+    /**
+     * @param classReader the reader of <code>classBytes</code> to read released instructions from,
+     *     or null if the instructions are retained
+     */
+    SootClassNode(
+        AnalysisInputLocation analysisInputLocation,
+        @Nonnull byte[] classBytes,
+        @Nullable ClassReader classReader,
+        boolean loadInstructionsOnDemand) {
       super(AsmUtil.SUPPORTED_ASM_OPCODE);
       this.analysisInputLocation = analysisInputLocation;
+      this.classReader = classReader;
+      this.loadInstructionsOnDemand = loadInstructionsOnDemand;
+      this.bodyCache = analysisInputLocation.getBodyCache().orElse(null);
+      if (bodyCache == null) {
+        this.classCacheKey = null;
+      } else if (classReader == null) {
+        // the class bytes are not kept, so the key has to be computed right away
+        Optional<String> key =
+            bodyCache.createSourceKey(classBytes, analysisInputLocation.getBodyInterceptors());
+        this.classCacheKey = () -> key;
+      } else {
+        // the key is only computed if a body is requested
+        this.classCacheKey =
+            Suppliers.memoize(
+                () ->
+                    bodyCache.createSourceKey(
+                        classBytes, analysisInputLocation.getBodyInterceptors()));
+      }
     }
 
     @Override
@@ -127,7 +278,12 @@ public class AsmJavaClassProvider implements ClassProvider {
               signature,
               exceptions,
               view,
-              analysisInputLocation.getBodyInterceptors());
+              analysisInputLocation.getBodyInterceptors(),
+              classReader,
+              loadInstructionsOnDemand);
+      if (bodyCache != null) {
+        mn.setBodyCache(bodyCache, classCacheKey);
+      }
       methods.add(mn);
       return mn;
     }
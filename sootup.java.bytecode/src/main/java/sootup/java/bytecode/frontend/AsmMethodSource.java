@@ -35,9 +35,16 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.Handle;
+import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.commons.JSRInlinerAdapter;
 import org.objectweb.asm.tree.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sootup.core.cache.body.BodySerializer;
+import sootup.core.cache.body.PersistentBodyCache;
 import sootup.core.frontend.BodySource;
 import sootup.core.graph.MutableBlockStmtGraph;
 import sootup.core.jimple.Jimple;
@@ -54,6 +61,7 @@ import sootup.core.transform.BodyInterceptor;
 import sootup.core.types.*;
 import sootup.core.util.Modifiers;
 import sootup.core.views.View;
+import sootup.java.core.JavaBodySerializer;
 import sootup.java.core.JavaIdentifierFactory;
 import sootup.java.core.jimple.basic.JavaLocal;
 import sootup.java.core.language.JavaJimple;
@@ -66,6 +74,8 @@ import sootup.java.core.types.JavaClassType;
  */
 public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
 
+  private static final @Nonnull Logger logger = LoggerFactory.getLogger(AsmMethodSource.class);
+
   // private static final String METAFACTORY_SIGNATURE =
   // "<java.lang.invoke.LambdaMetafactory: java.lang.invoke.CallSite "
   // +
@@ -115,6 +125,21 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
   private final JavaIdentifierFactory identifierFactory;
   private final Supplier<MethodSignature> lazyMethodSignature;
 
+  /**
+   * The reader of the class file that declares this method; it is shared by all methods of the
+   * class. If present, the instructions of this method are released after its body is resolved and
+   * read again with this reader if the body is resolved once more.
+   */
+  @Nullable private final ClassReader classReader;
+
+  /** Whether the instructions of this method are currently not in memory. */
+  private boolean instructionsReleased;
+
+  /** The cache that is consulted before the body is created, if any. */
+  @Nullable private PersistentBodyCache bodyCache;
+
+  @Nullable private Supplier<Optional<String>> classCacheKey;
+
   AsmMethodSource(
       int access,
       @Nonnull String name,
@@ -123,18 +148,43 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
       @Nonnull String[] exceptions,
       View view,
       @Nonnull List<BodyInterceptor> bodyInterceptors) {
+    this(access, name, desc, signature, exceptions, view, bodyInterceptors, null, false);
+  }
+
+  /**
+   * @param classReader the reader of the declaring class file to read the instructions from again
+   * @param loadInstructionsOnDemand whether the code of this method was skipped while visiting the
+   *     class and has to be read with <code>classReader</code> when the body is resolved
+   */
+  AsmMethodSource(
+      int access,
+      @Nonnull String name,
+      @Nonnull String desc,
+      @Nonnull String signature,
+      @Nonnull String[] exceptions,
+      View view,
+      @Nonnull List<BodyInterceptor> bodyInterceptors,
+      @Nullable ClassReader classReader,
+      boolean loadInstructionsOnDemand) {
     super(AsmUtil.SUPPORTED_ASM_OPCODE, null, access, name, desc, signature, exceptions);
+    if (loadInstructionsOnDemand && classReader == null) {
+      throw new IllegalArgumentException("Loading instructions on demand needs the class reader.");
+    }
     this.bodyInterceptors = bodyInterceptors;
     this.view = view;
+    this.classReader = classReader;
+    this.instructionsReleased = loadInstructionsOnDemand;
 
     identifierFactory = (JavaIdentifierFactory) view.getIdentifierFactory();
     lazyMethodSignature =
         Suppliers.memoize(
             () -> {
               List<Type> sigTypes = AsmUtil.toJimpleSignatureDesc(desc);
-              Type retType = sigTypes.remove(sigTypes.size() - 1);
+              Type retType = sigTypes.get(sigTypes.size() - 1);
+              List<Type> paramTypes = sigTypes.subList(0, sigTypes.size() - 1);
 
-              return identifierFactory.getMethodSignature(declaringClass, name, retType, sigTypes);
+              return identifierFactory.getMethodSignature(
+                  declaringClass, name, retType, paramTypes);
             });
   }
 
@@ -148,6 +198,19 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
     this.declaringClass = (JavaClassType) declaringClass;
   }
 
+  /**
+   * Looks up the body of this method in the given cache before it is created from the instructions
+   * and stores created bodies in the cache.
+   *
+   * @param classCacheKey the cache key part of the declaring class (see {@link
+   *     PersistentBodyCache#createSourceKey})
+   */
+  void setBodyCache(
+      @Nonnull PersistentBodyCache bodyCache, @Nonnull Supplier<Optional<String>> classCacheKey) {
+    this.bodyCache = bodyCache;
+    this.classCacheKey = classCacheKey;
+  }
+
   StmtPositionInfo getStmtPositionInfo() {
     return currentLineNumber > 0
         ? new SimpleStmtPositionInfo(currentLineNumber)
@@ -156,9 +219,32 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
 
   @Override
   @Nonnull
-  public Body resolveBody(@Nonnull Iterable<MethodModifier> modifierIt) {
+  public synchronized Body resolveBody(@Nonnull Iterable<MethodModifier> modifierIt) {
+
+    String bodyCacheKey = null;
+    Optional<String> classKey = bodyCache == null ? Optional.empty() : classCacheKey.get();
+    if (classKey.isPresent()) {
+      bodyCacheKey = PersistentBodyCache.createBodyKey(classKey.get(), name + desc);
+      Optional<Body> cachedBody = loadCachedBody(bodyCacheKey);
+      if (cachedBody.isPresent()) {
+        return cachedBody.get();
+      }
+    }
+
+    if (instructionsReleased) {
+      reloadInstructions();
+    }
 
-    /* initialize */
+    /* initialize - the body may be resolved again if the previous one was released */
+    replacedStmt.clear();
+    startTrapHandler.clear();
+    endTrapHandler.clear();
+    activeTrapHandlers = new HashSet<>();
+    inlineExceptionLabels.clear();
+    inlineExceptionHandlers.clear();
+    labelsToStmt.clear();
+    currentLineNumber = -1;
+    maxLineNumber = 0;
     nextLocal = maxLocals;
     locals =
         new NonIndexOutofBoundsArrayList<>(
@@ -227,6 +313,9 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
     stmtsThatBranchToLabel = null;
     insnToStmt = null;
     operandStack = null;
+    if (classReader != null) {
+      releaseInstructions();
+    }
 
     bodyBuilder.setMethodSignature(lazyMethodSignature.get());
 
@@ -241,7 +330,99 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
             "Failed to apply " + bodyInterceptor + " to " + lazyMethodSignature.get(), e);
       }
     }
-    return bodyBuilder.build();
+    Body body = bodyBuilder.build();
+    if (bodyCacheKey != null) {
+      storeCachedBody(bodyCacheKey, body);
+    }
+    return body;
+  }
+
+  @Nonnull
+  private Optional<Body> loadCachedBody(@Nonnull String bodyCacheKey) {
+    Optional<byte[]> data = bodyCache.load(bodyCacheKey);
+    if (data.isPresent()) {
+      try {
+        return Optional.of(createBodySerializer().deserialize(data.get()));
+      } catch (RuntimeException e) {
+        // e.g. an entry that was only partially written - it is replaced by the new body
+        logger.warn("Ignoring the unreadable cached body of " + lazyMethodSignature.get(), e);
+      }
+    }
+    return Optional.empty();
+  }
+
+  private void storeCachedBody(@Nonnull String bodyCacheKey, @Nonnull Body body) {
+    byte[] data;
+    try {
+      data = createBodySerializer().serialize(body);
+    } catch (IllegalArgumentException e) {
+      logger.debug("The body of " + lazyMethodSignature.get() + " can not be cached.", e);
+      return;
+    }
+    bodyCache.store(bodyCacheKey, data);
+  }
+
+  @Nonnull
+  private BodySerializer createBodySerializer() {
+    return new JavaBodySerializer(identifierFactory);
+  }
+
+  /**
+   * Drops the instructions of this method and everything that refers to them. They are not needed
+   * anymore once the body is built and can be read again with the {@link #classReader}.
+   */
+  private void releaseInstructions() {
+    instructions = new InsnList();
+    tryCatchBlocks = Collections.emptyList();
+    localVariables = null;
+    visibleLocalVariableAnnotations = null;
+    invisibleLocalVariableAnnotations = null;
+
+    trapHandler = null;
+    replacedStmt.clear();
+    startTrapHandler.clear();
+    endTrapHandler.clear();
+    activeTrapHandlers = new HashSet<>();
+    inlineExceptionLabels.clear();
+    inlineExceptionHandlers.clear();
+    labelsToStmt.clear();
+    instructionsReleased = true;
+  }
+
+  /**
+   * Reads the instructions of this method again with the {@link #classReader}. The other methods of
+   * the class are skipped without parsing their code.
+   */
+  private void reloadInstructions() {
+    assert classReader != null;
+    final JSRInlinerAdapter methodNode =
+        new JSRInlinerAdapter(
+            null, access, name, desc, signature, exceptions.toArray(new String[0]));
+    // methods of the same class may be resolved concurrently
+    synchronized (classReader) {
+      classReader.accept(
+          new ClassVisitor(AsmUtil.SUPPORTED_ASM_OPCODE) {
+            @Override
+            public MethodVisitor visitMethod(
+                int access, String name, String descriptor, String signature, String[] e) {
+              if (name.equals(AsmMethodSource.this.name)
+                  && descriptor.equals(AsmMethodSource.this.desc)) {
+                return methodNode;
+              }
+              return null;
+            }
+          },
+          ClassReader.SKIP_FRAMES);
+    }
+
+    instructions = methodNode.instructions;
+    tryCatchBlocks = methodNode.tryCatchBlocks;
+    localVariables = methodNode.localVariables;
+    visibleLocalVariableAnnotations = methodNode.visibleLocalVariableAnnotations;
+    invisibleLocalVariableAnnotations = methodNode.invisibleLocalVariableAnnotations;
+    maxStack = methodNode.maxStack;
+    maxLocals = methodNode.maxLocals;
+    instructionsReleased = false;
   }
 
   @Override
@@ -370,7 +551,7 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
   private void convertGetFieldInsn(@Nonnull FieldInsnNode insn) {
     OperandMerging merging = operandStack.getOrCreateMerging(insn);
     Type type = AsmUtil.toJimpleType(insn.desc);
-    JavaClassType declClass = identifierFactory.getClassType(AsmUtil.toQualifiedName(insn.owner));
+    JavaClassType declClass = identifierFactory.getClassTypeFromInternalName(insn.owner);
     FieldSignature ref;
     JFieldRef val;
     if (insn.getOpcode() == GETSTATIC) {
@@ -391,7 +572,7 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
   private void convertPutFieldInsn(@Nonnull FieldInsnNode insn) {
     boolean notInstance = insn.getOpcode() != PUTFIELD;
     OperandMerging merging = operandStack.getOrCreateMerging(insn);
-    JavaClassType declClass = identifierFactory.getClassType(AsmUtil.toQualifiedName(insn.owner));
+    JavaClassType declClass = identifierFactory.getClassTypeFromInternalName(insn.owner);
     Type type = AsmUtil.toJimpleType(insn.desc);
 
     Operand rvalue = operandStack.pop(type);
@@ -941,9 +1122,10 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
     } else if (val instanceof org.objectweb.asm.Type) {
       org.objectweb.asm.Type t = (org.objectweb.asm.Type) val;
       if (t.getSort() == org.objectweb.asm.Type.METHOD) {
-        List<Type> paramTypes =
+        List<Type> sigTypes =
             AsmUtil.toJimpleSignatureDesc(((org.objectweb.asm.Type) val).getDescriptor());
-        Type returnType = paramTypes.remove(paramTypes.size() - 1);
+        Type returnType = sigTypes.get(sigTypes.size() - 1);
+        List<Type> paramTypes = sigTypes.subList(0, sigTypes.size() - 1);
         v = JavaJimple.getInstance().newMethodType(paramTypes, returnType);
       } else {
         v =
@@ -994,9 +1176,10 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
     String bsmClsName = AsmUtil.toQualifiedName(methodHandle.getOwner());
     JavaClassType bsmCls = identifierFactory.getClassType(bsmClsName);
     List<Type> bsmSigTypes = AsmUtil.toJimpleSignatureDesc(methodHandle.getDesc());
-    Type returnType = bsmSigTypes.remove(bsmSigTypes.size() - 1);
+    Type returnType = bsmSigTypes.get(bsmSigTypes.size() - 1);
+    List<Type> paramTypes = bsmSigTypes.subList(0, bsmSigTypes.size() - 1);
     return JavaIdentifierFactory.getInstance()
-        .getMethodSignature(bsmCls, methodHandle.getName(), returnType, bsmSigTypes);
+        .getMethodSignature(bsmCls, methodHandle.getName(), returnType, paramTypes);
   }
 
   private void convertLookupSwitchInsn(@Nonnull LookupSwitchInsnNode insn) {
@@ -1026,13 +1209,14 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
     int op = insn.getOpcode();
     boolean isInstance = op != INVOKESTATIC;
     OperandMerging merging = operandStack.getOrCreateMerging(insn);
-    String clsName = AsmUtil.toQualifiedName(insn.owner);
+    String clsName = insn.owner;
     if (clsName.charAt(0) == '[') {
-      clsName = "java.lang.Object";
+      clsName = "java/lang/Object";
     }
-    JavaClassType cls = identifierFactory.getClassType(AsmUtil.toQualifiedName(clsName));
+    JavaClassType cls = identifierFactory.getClassTypeFromInternalName(clsName);
     List<Type> sigTypes = AsmUtil.toJimpleSignatureDesc(insn.desc);
-    Type returnType = sigTypes.remove((sigTypes.size() - 1));
+    Type returnType = sigTypes.get(sigTypes.size() - 1);
+    sigTypes = sigTypes.subList(0, sigTypes.size() - 1);
     MethodSignature methodSignature =
         identifierFactory.getMethodSignature(cls, insn.name, returnType, sigTypes);
     int nrArgs = sigTypes.size();
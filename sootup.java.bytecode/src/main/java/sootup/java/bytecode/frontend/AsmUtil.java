@@ -20,6 +20,9 @@ package sootup.java.bytecode.frontend;
  * <http://www.gnu.org/licenses/lgpl-2.1.html>.
  * #L%
  */
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
@@ -60,6 +63,12 @@ public final class AsmUtil {
 
   public static final int SUPPORTED_ASM_OPCODE = Opcodes.ASM9;
 
+  /**
+   * Caches the parsed types of method and field descriptors, see {@link #toJimpleSignatureDesc}.
+   */
+  private static final Cache<String, List<Type>> signatureDescCache =
+      CacheBuilder.newBuilder().maximumSize(1 << 16).build();
+
   /**
    * Initializes a class node.
    *
@@ -76,6 +85,20 @@ public final class AsmUtil {
     }
   }
 
+  /**
+   * Initializes a class node from a reader of the bytes of a class file.
+   *
+   * @param classReader The reader of the class file.
+   * @param classNode The node to initialize
+   * @param parsingOptions The {@link ClassReader} options, e.g. {@link ClassReader#SKIP_CODE}
+   * @return the actual class signature found in the compilation unit
+   */
+  protected static String initAsmClassSource(
+      @Nonnull ClassReader classReader, @Nonnull ClassVisitor classNode, int parsingOptions) {
+    classReader.accept(classNode, parsingOptions);
+    return classReader.getClassName();
+  }
+
   /**
    * Determines if a type is a dword type.
    *
@@ -138,7 +161,11 @@ public final class AsmUtil {
 
   @Nonnull
   public static JavaClassType toJimpleClassType(@Nonnull String asmClassName) {
-    return JavaIdentifierFactory.getInstance().getClassType(toQualifiedName(asmClassName));
+    final int endpos = asmClassName.length() - 1;
+    if (endpos > 2 && asmClassName.charAt(endpos) == ';' && asmClassName.charAt(0) == 'L') {
+      asmClassName = asmClassName.substring(1, endpos);
+    }
+    return JavaIdentifierFactory.getInstance().getClassTypeFromInternalName(asmClassName);
   }
 
   @Nonnull
@@ -157,7 +184,7 @@ public final class AsmUtil {
         throw new AssertionError("Invalid reference descriptor: " + desc);
       }
       String name = desc.substring(1, desc.length() - 1);
-      baseType = JavaIdentifierFactory.getInstance().getType(toQualifiedName(name));
+      baseType = JavaIdentifierFactory.getInstance().getClassTypeFromInternalName(name);
     }
     if ((baseType instanceof PrimitiveType || baseType instanceof VoidType) && desc.length() > 1) {
       throw new AssertionError("Invalid primitive type descriptor: " + desc);
@@ -218,9 +245,23 @@ public final class AsmUtil {
     return Optional.empty();
   }
 
-  /** Converts n types contained in desc to a list of Jimple Types */
+  /**
+   * Converts n types contained in desc to a list of Jimple Types. For a method descriptor the
+   * return type is the last element. Each distinct descriptor is parsed only once, so the returned
+   * list is shared and immutable.
+   */
   @Nonnull
   public static List<Type> toJimpleSignatureDesc(@Nonnull String desc) {
+    List<Type> types = signatureDescCache.getIfPresent(desc);
+    if (types == null) {
+      types = ImmutableList.copyOf(parseSignatureDesc(desc));
+      signatureDescCache.put(desc, types);
+    }
+    return types;
+  }
+
+  @Nonnull
+  private static List<Type> parseSignatureDesc(@Nonnull String desc) {
     // [ms] more types are possibly needed for method type which is ( arg-type* ) ret-type
     List<Type> types = new ArrayList<>(1);
     int len = desc.length();
@@ -270,7 +311,7 @@ public final class AsmUtil {
             int begin = idx;
             idx = desc.indexOf(';', begin);
             String cls = desc.substring(begin, idx++);
-            baseType = JavaIdentifierFactory.getInstance().getType(toQualifiedName(cls));
+            baseType = JavaIdentifierFactory.getInstance().getClassTypeFromInternalName(cls);
             break this_type;
           default:
             throw new AssertionError("Unknown type: '" + c + "' in '" + desc + "'.");
@@ -22,28 +22,45 @@ package sootup.java.bytecode.inputlocation;
  * #L%
  */
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.cache.RemovalNotification;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sootup.core.IdentifierFactory;
 import sootup.core.model.SourceType;
 import sootup.core.transform.BodyInterceptor;
+import sootup.core.typehierarchy.ClassHeader;
 import sootup.core.types.ClassType;
 import sootup.core.views.View;
 import sootup.java.bytecode.frontend.AsmJavaClassProvider;
+import sootup.java.core.JavaModuleIdentifierFactory;
 import sootup.java.core.JavaSootClassSource;
 import sootup.java.core.interceptors.BytecodeBodyInterceptors;
 import sootup.java.core.types.JavaClassType;
 
 public class ArchiveBasedAnalysisInputLocation extends PathBasedAnalysisInputLocation {
 
+  private static final Logger logger =
+      LoggerFactory.getLogger(ArchiveBasedAnalysisInputLocation.class);
+
   // We cache the FileSystem instances as their creation is expensive.
   // The Guava Cache is thread-safe (see JavaDoc of LoadingCache) hence this
   // cache can be safely shared in a static variable.
@@ -74,6 +91,15 @@ public class ArchiveBasedAnalysisInputLocation extends PathBasedAnalysisInputLoc
                     }
                   }));
 
+  @Nullable private Path classIndexFile;
+
+  @Nonnull
+  private final Supplier<ArchiveClassIndex> classIndex = Suppliers.memoize(this::buildClassIndex);
+
+  @Nonnull
+  private final Supplier<Optional<MappedArchive>> mappedArchive =
+      Suppliers.memoize(this::mapArchive);
+
   public ArchiveBasedAnalysisInputLocation(@Nonnull Path path, @Nonnull SourceType srcType) {
     this(path, srcType, BytecodeBodyInterceptors.Default.getBodyInterceptors());
   }
@@ -93,29 +119,214 @@ public class ArchiveBasedAnalysisInputLocation extends PathBasedAnalysisInputLoc
     super(path, srcType, bodyInterceptors, ignoredPaths);
   }
 
+  /**
+   * Persists the {@link ArchiveClassIndex} of this archive at the given file and reuses it in later
+   * runs as long as the archive is unchanged. Has to be set before the first class is requested.
+   */
+  public void setClassIndexFile(@Nullable Path classIndexFile) {
+    this.classIndexFile = classIndexFile;
+  }
+
+  /** Returns the index of all class files in this archive; it is built on first access. */
+  @Nonnull
+  public ArchiveClassIndex getClassIndex() {
+    return classIndex.get();
+  }
+
+  @Nonnull
+  private ArchiveClassIndex buildClassIndex() {
+    try {
+      return classIndexFile == null
+          ? ArchiveClassIndex.build(path)
+          : ArchiveClassIndex.load(path, classIndexFile);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Could not read the class index of " + path, e);
+    }
+  }
+
+  /** Class files are read from a memory mapping of the archive whenever it can be mapped. */
+  @Nonnull
+  private Optional<MappedArchive> mapArchive() {
+    try {
+      if (MappedArchive.isMappable(Files.size(path))) {
+        return Optional.of(MappedArchive.map(path));
+      }
+    } catch (IOException e) {
+      logger.warn("Could not map " + path + ", falling back to reading it as zip file.", e);
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Reads class file entries by their names, without a zip file system. Entries are read from the
+   * memory mapping of the archive; the archive is only opened as zip file if it can not be mapped,
+   * and it is closed together with the reader.
+   */
+  private class EntryReader implements AutoCloseable {
+
+    @Nullable private ZipFile zipFile;
+
+    @Nonnull
+    byte[] read(@Nonnull ArchiveClassIndex.Entry entry) throws IOException {
+      Optional<MappedArchive> archive = mappedArchive.get();
+      if (archive.isPresent()) {
+        try {
+          return archive.get().read(entry);
+        } catch (IOException e) {
+          logger.warn(
+              "Could not read " + entry.getEntryName() + " from the mapped archive " + path, e);
+        }
+      }
+      ZipFile zip = getZipFile();
+      ZipEntry zipEntry = zip.getEntry(entry.getEntryName());
+      if (zipEntry == null) {
+        throw new IOException("Missing entry " + entry.getEntryName() + " in the archive " + path);
+      }
+      try (InputStream in = zip.getInputStream(zipEntry)) {
+        return IOUtils.toByteArray(in);
+      }
+    }
+
+    @Nonnull
+    private synchronized ZipFile getZipFile() throws IOException {
+      if (zipFile == null) {
+        zipFile = new ZipFile(path.toFile());
+      }
+      return zipFile;
+    }
+
+    @Override
+    public synchronized void close() {
+      if (zipFile != null) {
+        try {
+          zipFile.close();
+        } catch (IOException e) {
+          logger.warn("Could not close the archive " + path, e);
+        }
+        zipFile = null;
+      }
+    }
+  }
+
+  /**
+   * Returns the path that identifies the class file of the given entry, i.e. the path of the
+   * archive followed by the name of the entry.
+   */
+  @Nonnull
+  private Path getSourcePath(@Nonnull ArchiveClassIndex.Entry entry) {
+    return path.resolve(entry.getEntryName());
+  }
+
+  @Nonnull
+  private Optional<JavaSootClassSource> createClassSource(
+      @Nonnull AsmJavaClassProvider classProvider,
+      @Nonnull EntryReader reader,
+      @Nonnull ArchiveClassIndex.Entry entry,
+      @Nonnull ClassType type) {
+    Path sourcePath = getSourcePath(entry);
+    byte[] classBytes;
+    try {
+      classBytes = reader.read(entry);
+    } catch (IOException e) {
+      logger.warn("Could not read " + sourcePath, e);
+      return Optional.empty();
+    }
+    return classProvider
+        .createClassSource(this, sourcePath, type, classBytes)
+        .map(src -> (JavaSootClassSource) src);
+  }
+
+  @Override
+  public boolean mayContain(@Nonnull ClassType type) {
+    return getClassIndex().contains(type.getFullyQualifiedName());
+  }
+
   @Override
   @Nonnull
   public Optional<JavaSootClassSource> getClassSource(@Nonnull ClassType type, @Nonnull View view) {
-    try {
-      FileSystem fs = fileSystemCache.get(path);
-      final Path archiveRoot = fs.getPath("/");
-      return getClassSourceInternal(
-          (JavaClassType) type, archiveRoot, new AsmJavaClassProvider(view));
-    } catch (ExecutionException e) {
-      throw new RuntimeException("Failed to retrieve file system from cache for " + path, e);
+    Optional<ArchiveClassIndex.Entry> entry =
+        getClassIndex().get(((JavaClassType) type).getFullyQualifiedName());
+    if (!entry.isPresent()) {
+      return Optional.empty();
+    }
+    try (EntryReader reader = new EntryReader()) {
+      return createClassSource(createClassProvider(view), reader, entry.get(), type);
     }
   }
 
   @Override
   @Nonnull
   public Collection<JavaSootClassSource> getClassSources(@Nonnull View view) {
-    try {
-      FileSystem fs = fileSystemCache.get(path);
-      final Path archiveRoot = fs.getPath("/");
-      return walkDirectory(
-          archiveRoot, view.getIdentifierFactory(), new AsmJavaClassProvider(view));
-    } catch (ExecutionException e) {
-      throw new RuntimeException("Failed to retrieve file system from cache for " + path, e);
+    final IdentifierFactory factory = view.getIdentifierFactory();
+    final AsmJavaClassProvider classProvider = createClassProvider(view);
+
+    ArchiveClassIndex index = getClassIndex();
+    List<JavaSootClassSource> classSources = new ArrayList<>(index.size());
+    try (EntryReader reader = new EntryReader()) {
+      for (String className : getAnalyzedClassNames()) {
+        ArchiveClassIndex.Entry entry = index.get(className).get();
+        createClassSource(classProvider, reader, entry, factory.getClassType(className))
+            .ifPresent(classSources::add);
+      }
+    }
+    return classSources;
+  }
+
+  /**
+   * Reads the headers of the class files in parallel, without parsing the classes. The headers are
+   * read eagerly, so that the archive is closed when this method returns.
+   */
+  @Override
+  @Nonnull
+  public Stream<ClassHeader> getClassHeaders(@Nonnull View view) {
+    final IdentifierFactory factory = view.getIdentifierFactory();
+    final AsmJavaClassProvider classProvider = createClassProvider(view);
+
+    ArchiveClassIndex index = getClassIndex();
+    List<String> classNames = getAnalyzedClassNames();
+    List<ClassHeader> headers;
+    try (EntryReader reader = new EntryReader()) {
+      headers =
+          classNames
+              .parallelStream()
+              .map(
+                  className -> {
+                    ArchiveClassIndex.Entry entry = index.get(className).get();
+                    Path sourcePath = getSourcePath(entry);
+                    try {
+                      return classProvider.createClassHeader(
+                          sourcePath, factory.getClassType(className), reader.read(entry));
+                    } catch (IOException e) {
+                      logger.warn("Could not read " + sourcePath, e);
+                      return Optional.<ClassHeader>empty();
+                    }
+                  })
+              .filter(Optional::isPresent)
+              .map(Optional::get)
+              .collect(Collectors.toList());
+    }
+    return headers.stream();
+  }
+
+  /** Returns the names of all classes of the archive, except module infos and ignored paths. */
+  @Nonnull
+  private List<String> getAnalyzedClassNames() {
+    final String moduleInfoFilename = JavaModuleIdentifierFactory.MODULE_INFO_FILE + ".class";
+
+    ArchiveClassIndex index = getClassIndex();
+    List<String> classNames = new ArrayList<>(index.size());
+    for (String className : index.getClassNames()) {
+      ArchiveClassIndex.Entry entry = index.get(className).get();
+      if (entry.getEntryName().endsWith(moduleInfoFilename)) {
+        continue;
+      }
+      // ignored paths are given relative to the root of the archive
+      String pathInArchive = "/" + entry.getEntryName();
+      if (ignoredPaths.stream().anyMatch(p -> pathInArchive.startsWith(p.toString()))) {
+        continue;
+      }
+      classNames.add(className);
     }
+    return classNames;
   }
 }
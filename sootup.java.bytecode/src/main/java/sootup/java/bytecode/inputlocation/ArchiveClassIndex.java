@@ -0,0 +1,385 @@
+package sootup.java.bytecode.inputlocation;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Maps the fully qualified names of the class files inside of a zip archive (jar, apk, ...) to
+ * their entries in the archive.
+ *
+ * <p>The index is built once from the central directory at the end of the archive, i.e. without
+ * opening a zip {@link java.nio.file.FileSystem} and without walking its directory tree. Lookups
+ * are a single hash probe. An index can be persisted via {@link #write(Path)} and is reused by
+ * {@link #load(Path, Path)} as long as the archive is not modified.
+ */
+public final class ArchiveClassIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(ArchiveClassIndex.class);
+
+  private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+  private static final int ZIP64_END_OF_CENTRAL_DIRECTORY = 0x06064b50;
+  private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR = 0x07064b50;
+  private static final int CENTRAL_DIRECTORY_HEADER = 0x02014b50;
+  private static final int ZIP64_EXTRA_FIELD = 0x0001;
+  private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+  private static final int MAX_COMMENT_SIZE = 0xFFFF;
+  private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+  private static final int INDEX_MAGIC = 0x53554349;
+  private static final int INDEX_VERSION = 1;
+
+  private static final String CLASS_FILE_EXTENSION = ".class";
+
+  /** The location of a single class file inside of the archive. */
+  public static final class Entry {
+    @Nonnull private final String entryName;
+    private final int compressionMethod;
+    private final long compressedSize;
+    private final long size;
+    private final long localHeaderOffset;
+
+    Entry(
+        @Nonnull String entryName,
+        int compressionMethod,
+        long compressedSize,
+        long size,
+        long localHeaderOffset) {
+      this.entryName = entryName;
+      this.compressionMethod = compressionMethod;
+      this.compressedSize = compressedSize;
+      this.size = size;
+      this.localHeaderOffset = localHeaderOffset;
+    }
+
+    /** the name of the entry inside of the archive, e.g. <code>java/lang/Object.class</code> */
+    @Nonnull
+    public String getEntryName() {
+      return entryName;
+    }
+
+    /** the zip compression method, i.e. 0 for stored and 8 for deflated entries */
+    public int getCompressionMethod() {
+      return compressionMethod;
+    }
+
+    public long getCompressedSize() {
+      return compressedSize;
+    }
+
+    public long getSize() {
+      return size;
+    }
+
+    /** the offset of the local file header of this entry from the start of the archive file */
+    public long getLocalHeaderOffset() {
+      return localHeaderOffset;
+    }
+  }
+
+  private final long archiveSize;
+  private final long archiveLastModified;
+  @Nonnull private final Map<String, Entry> entries;
+
+  private ArchiveClassIndex(
+      long archiveSize, long archiveLastModified, @Nonnull Map<String, Entry> entries) {
+    this.archiveSize = archiveSize;
+    this.archiveLastModified = archiveLastModified;
+    this.entries = entries;
+  }
+
+  /** Returns the entry of the class with the given fully qualified name. */
+  @Nonnull
+  public Optional<Entry> get(@Nonnull String fullyQualifiedName) {
+    return Optional.ofNullable(entries.get(fullyQualifiedName));
+  }
+
+  public boolean contains(@Nonnull String fullyQualifiedName) {
+    return entries.containsKey(fullyQualifiedName);
+  }
+
+  /** Returns the fully qualified names of all classes in the order of the central directory. */
+  @Nonnull
+  public Collection<String> getClassNames() {
+    return Collections.unmodifiableSet(entries.keySet());
+  }
+
+  @Nonnull
+  public Collection<Entry> getEntries() {
+    return Collections.unmodifiableCollection(entries.values());
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the persisted index of the archive if it is still up to date. Otherwise the index is
+   * built from the archive and persisted at the given location.
+   */
+  @Nonnull
+  public static ArchiveClassIndex load(@Nonnull Path archive, @Nonnull Path indexFile)
+      throws IOException {
+    if (Files.isRegularFile(indexFile)) {
+      try {
+        ArchiveClassIndex index = read(indexFile);
+        if (index.archiveSize == Files.size(archive)
+            && index.archiveLastModified == Files.getLastModifiedTime(archive).toMillis()) {
+          return index;
+        }
+      } catch (IOException e) {
+        logger.debug("Ignoring unreadable class index " + indexFile, e);
+      }
+    }
+
+    ArchiveClassIndex index = build(archive);
+    try {
+      index.write(indexFile);
+    } catch (IOException e) {
+      logger.warn("Could not persist the class index of " + archive + " at " + indexFile, e);
+    }
+    return index;
+  }
+
+  /** Builds the index from the central directory of the given archive. */
+  @Nonnull
+  public static ArchiveClassIndex build(@Nonnull Path archive) throws IOException {
+    long lastModified = Files.getLastModifiedTime(archive).toMillis();
+    try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.READ)) {
+      long archiveSize = channel.size();
+      long eocdPosition = findEndOfCentralDirectory(channel, archive);
+      ByteBuffer eocd = read(channel, eocdPosition, END_OF_CENTRAL_DIRECTORY_SIZE);
+
+      long entryCount = eocd.getShort(10) & 0xFFFF;
+      long directorySize = eocd.getInt(12) & ZIP64_MAGIC;
+      long directoryOffset = eocd.getInt(16) & ZIP64_MAGIC;
+      // offsets are relative to the start of the zip data which may be preceded by a header
+      long prefixSize = eocdPosition - directorySize - directoryOffset;
+
+      if (entryCount == 0xFFFF || directorySize == ZIP64_MAGIC || directoryOffset == ZIP64_MAGIC) {
+        ByteBuffer locator = read(channel, eocdPosition - 20, 20);
+        if (locator.getInt(0) == ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR) {
+          ByteBuffer zip64Eocd = read(channel, locator.getLong(8), 56);
+          if (zip64Eocd.getInt(0) != ZIP64_END_OF_CENTRAL_DIRECTORY) {
+            throw new IOException("Invalid zip64 end of central directory in " + archive);
+          }
+          entryCount = zip64Eocd.getLong(32);
+          directorySize = zip64Eocd.getLong(40);
+          directoryOffset = zip64Eocd.getLong(48);
+          prefixSize = 0;
+        }
+      }
+      if (prefixSize < 0) {
+        throw new IOException("Invalid central directory in " + archive);
+      }
+      directoryOffset += prefixSize;
+      if (directorySize > Integer.MAX_VALUE || directoryOffset + directorySize > archiveSize) {
+        throw new IOException("Invalid central directory in " + archive);
+      }
+
+      ByteBuffer directory = read(channel, directoryOffset, (int) directorySize);
+      Map<String, Entry> entries = new LinkedHashMap<>((int) Math.min(entryCount, 1 << 20) * 2);
+      while (directory.remaining() >= 46
+          && directory.getInt(directory.position()) == CENTRAL_DIRECTORY_HEADER) {
+        Entry entry = readEntry(directory, prefixSize);
+        String entryName = entry.getEntryName();
+        if (entryName.endsWith(CLASS_FILE_EXTENSION)) {
+          String className =
+              entryName
+                  .substring(
+                      entryName.startsWith("/") ? 1 : 0,
+                      entryName.length() - CLASS_FILE_EXTENSION.length())
+                  .replace('/', '.');
+          entries.putIfAbsent(className, entry);
+        }
+      }
+      return new ArchiveClassIndex(archiveSize, lastModified, entries);
+    }
+  }
+
+  /** Persists the index to the given file. */
+  public void write(@Nonnull Path indexFile) throws IOException {
+    Path parent = indexFile.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    Path tmpFile = Files.createTempFile(parent, indexFile.getFileName().toString(), ".tmp");
+    try {
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+        out.writeInt(INDEX_MAGIC);
+        out.writeInt(INDEX_VERSION);
+        out.writeLong(archiveSize);
+        out.writeLong(archiveLastModified);
+        out.writeInt(entries.size());
+        for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+          Entry entry = mapEntry.getValue();
+          out.writeUTF(mapEntry.getKey());
+          out.writeUTF(entry.entryName);
+          out.writeShort(entry.compressionMethod);
+          out.writeLong(entry.compressedSize);
+          out.writeLong(entry.size);
+          out.writeLong(entry.localHeaderOffset);
+        }
+      }
+      Files.move(tmpFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(tmpFile);
+    }
+  }
+
+  @Nonnull
+  private static ArchiveClassIndex read(@Nonnull Path indexFile) throws IOException {
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+      if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION) {
+        throw new IOException("Unsupported class index format.");
+      }
+      long archiveSize = in.readLong();
+      long archiveLastModified = in.readLong();
+      int size = in.readInt();
+      Map<String, Entry> entries = new LinkedHashMap<>(size * 2);
+      for (int i = 0; i < size; i++) {
+        String className = in.readUTF();
+        entries.put(
+            className,
+            new Entry(
+                in.readUTF(), in.readUnsignedShort(), in.readLong(), in.readLong(), in.readLong()));
+      }
+      return new ArchiveClassIndex(archiveSize, archiveLastModified, entries);
+    }
+  }
+
+  @Nonnull
+  private static Entry readEntry(@Nonnull ByteBuffer directory, long prefixSize)
+      throws IOException {
+    int start = directory.position();
+    int compressionMethod = directory.getShort(start + 10) & 0xFFFF;
+    long compressedSize = directory.getInt(start + 20) & ZIP64_MAGIC;
+    long size = directory.getInt(start + 24) & ZIP64_MAGIC;
+    int nameLength = directory.getShort(start + 28) & 0xFFFF;
+    int extraLength = directory.getShort(start + 30) & 0xFFFF;
+    int commentLength = directory.getShort(start + 32) & 0xFFFF;
+    long localHeaderOffset = directory.getInt(start + 42) & ZIP64_MAGIC;
+
+    int nameStart = start + 46;
+    int extraStart = nameStart + nameLength;
+    int end = extraStart + extraLength + commentLength;
+    if (end > directory.limit()) {
+      throw new IOException("Truncated central directory entry.");
+    }
+
+    byte[] nameBytes = new byte[nameLength];
+    ((Buffer) directory).position(nameStart);
+    directory.get(nameBytes);
+    String entryName = new String(nameBytes, StandardCharsets.UTF_8);
+
+    // sizes and offsets that do not fit into 32 bits are stored in the zip64 extra field
+    int extraPos = extraStart;
+    while (extraPos + 4 <= extraStart + extraLength) {
+      int headerId = directory.getShort(extraPos) & 0xFFFF;
+      int dataSize = directory.getShort(extraPos + 2) & 0xFFFF;
+      if (headerId == ZIP64_EXTRA_FIELD) {
+        int pos = extraPos + 4;
+        if (size == ZIP64_MAGIC) {
+          size = directory.getLong(pos);
+          pos += 8;
+        }
+        if (compressedSize == ZIP64_MAGIC) {
+          compressedSize = directory.getLong(pos);
+          pos += 8;
+        }
+        if (localHeaderOffset == ZIP64_MAGIC) {
+          localHeaderOffset = directory.getLong(pos);
+        }
+        break;
+      }
+      extraPos += 4 + dataSize;
+    }
+
+    ((Buffer) directory).position(end);
+    return new Entry(
+        entryName, compressionMethod, compressedSize, size, prefixSize + localHeaderOffset);
+  }
+
+  private static long findEndOfCentralDirectory(@Nonnull FileChannel channel, @Nonnull Path archive)
+      throws IOException {
+    long archiveSize = channel.size();
+    if (archiveSize < END_OF_CENTRAL_DIRECTORY_SIZE) {
+      throw new IOException("Not a zip archive: " + archive);
+    }
+    // the end of central directory record is followed by a comment of variable length
+    int tailSize = (int) Math.min(archiveSize, END_OF_CENTRAL_DIRECTORY_SIZE + MAX_COMMENT_SIZE);
+    long tailStart = archiveSize - tailSize;
+    ByteBuffer tail = read(channel, tailStart, tailSize);
+    for (int pos = tailSize - END_OF_CENTRAL_DIRECTORY_SIZE; pos >= 0; pos--) {
+      if (tail.getInt(pos) == END_OF_CENTRAL_DIRECTORY
+          && pos + END_OF_CENTRAL_DIRECTORY_SIZE + (tail.getShort(pos + 20) & 0xFFFF) <= tailSize) {
+        return tailStart + pos;
+      }
+    }
+    throw new IOException("Not a zip archive: " + archive);
+  }
+
+  @Nonnull
+  private static ByteBuffer read(@Nonnull FileChannel channel, long position, int length)
+      throws IOException {
+    if (position < 0) {
+      throw new IOException("Invalid zip archive offset " + position);
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IOException("Unexpected end of zip archive.");
+      }
+    }
+    ((Buffer) buffer).flip();
+    return buffer;
+  }
+
+  @Override
+  public String toString() {
+    return "ArchiveClassIndex{" + entries.size() + " classes}";
+  }
+}
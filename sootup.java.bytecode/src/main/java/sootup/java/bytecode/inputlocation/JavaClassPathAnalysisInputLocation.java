@@ -30,16 +30,20 @@ import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import sootup.core.cache.body.PersistentBodyCache;
 import sootup.core.frontend.SootClassSource;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.model.SourceType;
 import sootup.core.transform.BodyInterceptor;
+import sootup.core.typehierarchy.ClassHeader;
 import sootup.core.types.ClassType;
 import sootup.core.util.PathUtils;
 import sootup.core.util.StreamUtils;
 import sootup.core.views.View;
+import sootup.java.bytecode.frontend.AsmJavaClassProvider;
 import sootup.java.core.JavaSootClassSource;
 import sootup.java.core.interceptors.BytecodeBodyInterceptors;
 
@@ -63,6 +67,8 @@ public class JavaClassPathAnalysisInputLocation implements AnalysisInputLocation
 
   private final List<BodyInterceptor> bodyInterceptors;
 
+  @Nullable private PersistentBodyCache bodyCache;
+
   /**
    * Creates a {@link JavaClassPathAnalysisInputLocation} which locates classes in the given class
    * path.
@@ -111,6 +117,49 @@ public class JavaClassPathAnalysisInputLocation implements AnalysisInputLocation
     return bodyInterceptors;
   }
 
+  @Override
+  @Nonnull
+  public Optional<PersistentBodyCache> getBodyCache() {
+    return Optional.ofNullable(bodyCache);
+  }
+
+  /**
+   * Sets the cache that keeps the bodies of the classes of all class path entries across runs, or
+   * disables caching if it is null. It has to be set before the classes are resolved.
+   */
+  public void setBodyCache(@Nullable PersistentBodyCache bodyCache) {
+    this.bodyCache = bodyCache;
+    for (AnalysisInputLocation inputLocation : cpEntries) {
+      ((PathBasedAnalysisInputLocation) inputLocation).setBodyCache(bodyCache);
+    }
+  }
+
+  /**
+   * Sets when the instructions of the methods of all class path entries are read and how long they
+   * are kept (see {@link AsmJavaClassProvider.InstructionMode}). It has to be set before the
+   * classes are resolved.
+   */
+  public void setInstructionMode(@Nonnull AsmJavaClassProvider.InstructionMode instructionMode) {
+    for (AnalysisInputLocation inputLocation : cpEntries) {
+      ((PathBasedAnalysisInputLocation) inputLocation).setInstructionMode(instructionMode);
+    }
+  }
+
+  /** Combines the fingerprints of all class path entries in their order. */
+  @Override
+  @Nonnull
+  public Optional<String> getFingerprint() {
+    StringBuilder fingerprint = new StringBuilder();
+    for (AnalysisInputLocation inputLocation : cpEntries) {
+      Optional<String> entryFingerprint = inputLocation.getFingerprint();
+      if (!entryFingerprint.isPresent()) {
+        return Optional.empty();
+      }
+      fingerprint.append(entryFingerprint.get()).append('\n');
+    }
+    return Optional.of(fingerprint.toString());
+  }
+
   /**
    * Explode the class or modulepath entries, separated by {@link File#pathSeparator}.
    *
@@ -184,10 +233,25 @@ public class JavaClassPathAnalysisInputLocation implements AnalysisInputLocation
     return found.stream().map(src -> (JavaSootClassSource) src).collect(Collectors.toList());
   }
 
+  /** Reads the headers of all class path entries in parallel; the order of the entries is kept. */
+  @Override
+  @Nonnull
+  public Stream<ClassHeader> getClassHeaders(@Nonnull View view) {
+    List<List<ClassHeader>> headersPerEntry =
+        cpEntries
+            .parallelStream()
+            .map(inputLocation -> inputLocation.getClassHeaders(view).collect(Collectors.toList()))
+            .collect(Collectors.toList());
+    return headersPerEntry.stream().flatMap(List::stream);
+  }
+
   @Override
   @Nonnull
   public Optional<JavaSootClassSource> getClassSource(@Nonnull ClassType type, @Nonnull View view) {
     for (AnalysisInputLocation inputLocation : cpEntries) {
+      if (!inputLocation.mayContain(type)) {
+        continue;
+      }
       final Optional<? extends SootClassSource> classSource =
           inputLocation.getClassSource(type, view);
       if (classSource.isPresent()) {
@@ -197,6 +261,11 @@ public class JavaClassPathAnalysisInputLocation implements AnalysisInputLocation
     return Optional.empty();
   }
 
+  @Override
+  public boolean mayContain(@Nonnull ClassType type) {
+    return cpEntries.stream().anyMatch(inputLocation -> inputLocation.mayContain(type));
+  }
+
   @Nonnull
   private Optional<AnalysisInputLocation> inputLocationForPath(@Nonnull Path path) {
     if (Files.exists(path) && (Files.isDirectory(path) || PathUtils.isArchive(path))) {
@@ -35,6 +35,7 @@ import sootup.core.frontend.ResolveException;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.model.SourceType;
 import sootup.core.transform.BodyInterceptor;
+import sootup.core.typehierarchy.ClassHeader;
 import sootup.core.types.ClassType;
 import sootup.core.util.StreamUtils;
 import sootup.core.views.View;
@@ -62,6 +63,10 @@ public class JrtFileSystemAnalysisInputLocation implements ModuleInfoAnalysisInp
 
   @Nonnull private final List<BodyInterceptor> bodyInterceptors;
 
+  @Nonnull
+  private AsmJavaClassProvider.InstructionMode instructionMode =
+      AsmJavaClassProvider.InstructionMode.RETAIN;
+
   public JrtFileSystemAnalysisInputLocation() {
     this(SourceType.Library);
   }
@@ -76,13 +81,27 @@ public class JrtFileSystemAnalysisInputLocation implements ModuleInfoAnalysisInp
     this.bodyInterceptors = bodyInterceptors;
   }
 
+  @Nonnull
+  public AsmJavaClassProvider.InstructionMode getInstructionMode() {
+    return instructionMode;
+  }
+
+  /**
+   * Sets when the instructions of the methods of the runtime classes are read and how long they are
+   * kept (see {@link AsmJavaClassProvider.InstructionMode}). It has to be set before the classes
+   * are resolved.
+   */
+  public void setInstructionMode(@Nonnull AsmJavaClassProvider.InstructionMode instructionMode) {
+    this.instructionMode = instructionMode;
+  }
+
   @Override
   @Nonnull
   public Optional<JavaSootClassSource> getClassSource(
       @Nonnull ClassType classType, @Nonnull View view) {
     JavaClassType klassType = (JavaClassType) classType;
 
-    ClassProvider classProvider = new AsmJavaClassProvider(view);
+    ClassProvider classProvider = new AsmJavaClassProvider(view, instructionMode);
     Path filepath =
         theFileSystem.getPath(
             klassType.getFullyQualifiedName().replace('.', '/')
@@ -142,8 +161,19 @@ public class JrtFileSystemAnalysisInputLocation implements ModuleInfoAnalysisInp
       @Nonnull IdentifierFactory identifierFactory,
       @Nonnull View view) {
 
-    ClassProvider classProvider = new AsmJavaClassProvider(view);
+    ClassProvider classProvider = new AsmJavaClassProvider(view, instructionMode);
+
+    return getClassFiles(moduleSignature, classProvider)
+        .flatMap(
+            p ->
+                StreamUtils.optionalToStream(
+                    classProvider.createClassSource(this, p, fromPath(p, identifierFactory))))
+        .map(src -> (JavaSootClassSource) src);
+  }
 
+  @Nonnull
+  private Stream<Path> getClassFiles(
+      @Nonnull ModuleSignature moduleSignature, @Nonnull ClassProvider classProvider) {
     String moduleInfoFilename =
         JavaModuleIdentifierFactory.MODULE_INFO_FILE
             + classProvider.getHandledFileType().getExtensionWithDot();
@@ -158,17 +188,30 @@ public class JrtFileSystemAnalysisInputLocation implements ModuleInfoAnalysisInp
                       && filePath
                           .toString()
                           .endsWith(classProvider.getHandledFileType().getExtensionWithDot())
-                      && !filePath.toString().endsWith(moduleInfoFilename))
-          .flatMap(
-              p ->
-                  StreamUtils.optionalToStream(
-                      classProvider.createClassSource(this, p, fromPath(p, identifierFactory))))
-          .map(src -> (JavaSootClassSource) src);
+                      && !filePath.toString().endsWith(moduleInfoFilename));
     } catch (IOException e) {
       throw new ResolveException("Error loading module " + moduleSignature, archiveRoot, e);
     }
   }
 
+  /** Reads the headers of the classes of all modules in parallel, without parsing the classes. */
+  @Override
+  @Nonnull
+  public Stream<ClassHeader> getClassHeaders(@Nonnull View view) {
+    AsmJavaClassProvider classProvider = new AsmJavaClassProvider(view, instructionMode);
+    IdentifierFactory identifierFactory = view.getIdentifierFactory();
+    List<Path> classFiles =
+        discoverModules().stream()
+            .flatMap(sig -> getClassFiles(sig, classProvider))
+            .collect(Collectors.toList());
+    return classFiles
+        .parallelStream()
+        .flatMap(
+            p ->
+                StreamUtils.optionalToStream(
+                    classProvider.createClassHeader(p, fromPath(p, identifierFactory))));
+  }
+
   @Override
   public @Nonnull Collection<JavaSootClassSource> getClassSources(@Nonnull View view) {
 
@@ -265,6 +308,14 @@ public class JrtFileSystemAnalysisInputLocation implements ModuleInfoAnalysisInp
     return bodyInterceptors;
   }
 
+  /** The classes of the runtime image only change with the Java installation and its version. */
+  @Override
+  @Nonnull
+  public Optional<String> getFingerprint() {
+    String javaHome = System.getProperty("java.home");
+    return Optional.of("jrt:" + javaHome + " " + System.getProperty("java.runtime.version"));
+  }
+
   @Override
   public boolean equals(Object o) {
     return o instanceof JrtFileSystemAnalysisInputLocation;
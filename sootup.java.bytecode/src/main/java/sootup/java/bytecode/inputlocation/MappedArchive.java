@@ -0,0 +1,157 @@
+package sootup.java.bytecode.inputlocation;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import javax.annotation.Nonnull;
+
+/**
+ * Reads the entries of a zip archive from a read-only memory mapping of the whole archive file.
+ *
+ * <p>The archive is mapped once, the positions of the entries are taken from an {@link
+ * ArchiveClassIndex}. Reading an entry copies (stored entries) or inflates (deflated entries) its
+ * data from the mapping into an array of the exact size, i.e. without opening a stream per entry.
+ * The mapping is released by the garbage collector once the archive is no longer referenced; the
+ * file itself is not kept open.
+ */
+final class MappedArchive {
+
+  private static final int LOCAL_FILE_HEADER = 0x04034b50;
+  private static final int LOCAL_FILE_HEADER_SIZE = 30;
+  private static final int STORED = 0;
+  private static final int DEFLATED = 8;
+
+  @Nonnull private final Path path;
+  @Nonnull private final MappedByteBuffer mapping;
+
+  private MappedArchive(@Nonnull Path path, @Nonnull MappedByteBuffer mapping) {
+    this.path = path;
+    this.mapping = mapping;
+  }
+
+  /** Returns whether the archive fits into a single mapping. */
+  static boolean isMappable(long archiveSize) {
+    return archiveSize <= Integer.MAX_VALUE;
+  }
+
+  @Nonnull
+  static MappedArchive map(@Nonnull Path archive) throws IOException {
+    try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.READ)) {
+      if (!isMappable(channel.size())) {
+        throw new IOException("The archive " + archive + " is too large to be mapped.");
+      }
+      MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      mapping.order(ByteOrder.LITTLE_ENDIAN);
+      return new MappedArchive(archive, mapping);
+    }
+  }
+
+  /** Returns the uncompressed contents of the given entry. Safe to be called concurrently. */
+  @Nonnull
+  byte[] read(@Nonnull ArchiveClassIndex.Entry entry) throws IOException {
+    long headerOffset = entry.getLocalHeaderOffset();
+    if (headerOffset < 0 || headerOffset + LOCAL_FILE_HEADER_SIZE > mapping.limit()) {
+      throw new IOException(
+          "Invalid offset of " + entry.getEntryName() + " in the archive " + path);
+    }
+    int header = (int) headerOffset;
+    if (mapping.getInt(header) != LOCAL_FILE_HEADER) {
+      throw new IOException(
+          "Missing local header of " + entry.getEntryName() + " in the archive " + path);
+    }
+    // the extra field of the local header may differ from the one in the central directory
+    long dataOffset =
+        headerOffset
+            + LOCAL_FILE_HEADER_SIZE
+            + (mapping.getShort(header + 26) & 0xFFFF)
+            + (mapping.getShort(header + 28) & 0xFFFF);
+    long compressedSize = entry.getCompressedSize();
+    if (dataOffset + compressedSize > mapping.limit() || entry.getSize() > Integer.MAX_VALUE - 8) {
+      throw new IOException("Invalid size of " + entry.getEntryName() + " in the archive " + path);
+    }
+
+    // a duplicate has its own position, so concurrent reads do not interfere
+    ByteBuffer data = mapping.duplicate();
+    ((Buffer) data).position((int) dataOffset);
+    ((Buffer) data).limit((int) (dataOffset + compressedSize));
+
+    byte[] contents = new byte[(int) entry.getSize()];
+    switch (entry.getCompressionMethod()) {
+      case STORED:
+        if (compressedSize != contents.length) {
+          throw new IOException(
+              "Invalid size of " + entry.getEntryName() + " in the archive " + path);
+        }
+        data.get(contents);
+        return contents;
+      case DEFLATED:
+        inflate(data, contents, entry);
+        return contents;
+      default:
+        throw new IOException(
+            "Unsupported compression method "
+                + entry.getCompressionMethod()
+                + " of "
+                + entry.getEntryName()
+                + " in the archive "
+                + path);
+    }
+  }
+
+  private void inflate(
+      @Nonnull ByteBuffer data, @Nonnull byte[] contents, @Nonnull ArchiveClassIndex.Entry entry)
+      throws IOException {
+    // Inflater accepts ByteBuffers only since Java 11
+    byte[] compressed = new byte[data.remaining()];
+    data.get(compressed);
+    Inflater inflater = new Inflater(true);
+    try {
+      inflater.setInput(compressed);
+      int length = 0;
+      while (length < contents.length) {
+        int inflated = inflater.inflate(contents, length, contents.length - length);
+        if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+          break;
+        }
+        length += inflated;
+      }
+      if (length != contents.length) {
+        throw new IOException(
+            "Truncated entry " + entry.getEntryName() + " in the archive " + path);
+      }
+    } catch (DataFormatException e) {
+      throw new IOException("Corrupt entry " + entry.getEntryName() + " in the archive " + path, e);
+    } finally {
+      inflater.end();
+    }
+  }
+}
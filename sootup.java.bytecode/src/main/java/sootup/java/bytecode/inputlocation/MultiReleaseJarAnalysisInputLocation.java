@@ -159,6 +159,12 @@ public class MultiReleaseJarAnalysisInputLocation extends ArchiveBasedAnalysisIn
         Collections.singletonList(Paths.get("/META-INF")));
   }
 
+  /** Versioned classes are not part of the class index of the archive. */
+  @Override
+  public boolean mayContain(@Nonnull ClassType type) {
+    return true;
+  }
+
   @Override
   @Nonnull
   public Optional<JavaSootClassSource> getClassSource(@Nonnull ClassType type, @Nonnull View view) {
@@ -8,6 +8,7 @@ import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
@@ -18,12 +19,14 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 import sootup.core.IdentifierFactory;
+import sootup.core.cache.body.PersistentBodyCache;
 import sootup.core.frontend.ClassProvider;
 import sootup.core.frontend.SootClassSource;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.inputlocation.FileType;
 import sootup.core.model.SourceType;
 import sootup.core.transform.BodyInterceptor;
+import sootup.core.typehierarchy.ClassHeader;
 import sootup.core.types.ClassType;
 import sootup.core.util.PathUtils;
 import sootup.core.util.StreamUtils;
@@ -67,6 +70,11 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
   @Nonnull protected Collection<Path> ignoredPaths;
   @Nonnull protected final SourceType sourceType;
   @Nonnull protected final List<BodyInterceptor> bodyInterceptors;
+  @Nullable protected PersistentBodyCache bodyCache;
+
+  @Nonnull
+  protected AsmJavaClassProvider.InstructionMode instructionMode =
+      AsmJavaClassProvider.InstructionMode.RETAIN;
 
   protected PathBasedAnalysisInputLocation(@Nonnull Path path, @Nonnull SourceType srcType) {
     this(path, srcType, Collections.emptyList());
@@ -109,6 +117,78 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
     return bodyInterceptors;
   }
 
+  @Override
+  @Nonnull
+  public Optional<PersistentBodyCache> getBodyCache() {
+    return Optional.ofNullable(bodyCache);
+  }
+
+  /**
+   * Sets the cache that keeps the bodies of the classes of this location across runs, or disables
+   * caching if it is null. It has to be set before the classes are resolved.
+   */
+  public void setBodyCache(@Nullable PersistentBodyCache bodyCache) {
+    this.bodyCache = bodyCache;
+  }
+
+  @Nonnull
+  public AsmJavaClassProvider.InstructionMode getInstructionMode() {
+    return instructionMode;
+  }
+
+  /**
+   * Sets when the instructions of the methods of this location are read and how long they are kept
+   * (see {@link AsmJavaClassProvider.InstructionMode}). It has to be set before the classes are
+   * resolved.
+   */
+  public void setInstructionMode(@Nonnull AsmJavaClassProvider.InstructionMode instructionMode) {
+    this.instructionMode = instructionMode;
+  }
+
+  /** Creates the provider that reads the class files of this location for the given view. */
+  @Nonnull
+  protected AsmJavaClassProvider createClassProvider(@Nonnull View view) {
+    return new AsmJavaClassProvider(view, instructionMode);
+  }
+
+  /**
+   * Fingerprints the file at {@link #path}, or every file below it if it is a directory, by its
+   * name, size and modification time.
+   */
+  @Override
+  @Nonnull
+  public Optional<String> getFingerprint() {
+    StringBuilder fingerprint = new StringBuilder(getClass().getName());
+    fingerprint.append('\n').append(ignoredPaths);
+    try {
+      if (Files.isDirectory(path)) {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(path)) {
+          files = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        for (Path file : files) {
+          appendFileFingerprint(fingerprint, file);
+        }
+      } else {
+        appendFileFingerprint(fingerprint, path);
+      }
+    } catch (IOException | UncheckedIOException e) {
+      return Optional.empty();
+    }
+    return Optional.of(fingerprint.toString());
+  }
+
+  private static void appendFileFingerprint(@Nonnull StringBuilder fingerprint, @Nonnull Path file)
+      throws IOException {
+    fingerprint
+        .append('\n')
+        .append(file.toAbsolutePath())
+        .append(' ')
+        .append(Files.size(file))
+        .append(' ')
+        .append(Files.getLastModifiedTime(file).toMillis());
+  }
+
   @Nonnull
   public static PathBasedAnalysisInputLocation create(
       @Nonnull Path path, @Nonnull SourceType sourceType) {
@@ -162,14 +242,8 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
       @Nonnull ClassProvider classProvider) {
 
     final FileType handledFileType = classProvider.getHandledFileType();
-    final String moduleInfoFilename = JavaModuleIdentifierFactory.MODULE_INFO_FILE + ".class";
     try (final Stream<Path> walk = Files.walk(dirPath)) {
-      return walk.filter(
-              filePath ->
-                  PathUtils.hasExtension(filePath, handledFileType)
-                      && !filePath.toString().endsWith(moduleInfoFilename)
-                      && ignoredPaths.stream()
-                          .noneMatch(p -> filePath.toString().startsWith(p.toString())))
+      return walk.filter(filePath -> isAnalyzedFile(filePath, handledFileType))
           .flatMap(
               p -> {
                 final String fullyQualifiedName = fromPath(dirPath, p);
@@ -186,6 +260,38 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
     }
   }
 
+  /** Reads the headers of all class files in the directory in parallel. */
+  @Nonnull
+  Stream<ClassHeader> walkDirectoryHeaders(
+      @Nonnull Path dirPath,
+      @Nonnull IdentifierFactory factory,
+      @Nonnull AsmJavaClassProvider classProvider) {
+
+    final FileType handledFileType = classProvider.getHandledFileType();
+    final List<Path> classFiles;
+    try (final Stream<Path> walk = Files.walk(dirPath)) {
+      classFiles =
+          walk.filter(filePath -> isAnalyzedFile(filePath, handledFileType))
+              .collect(Collectors.toList());
+    } catch (IOException e) {
+      throw new IllegalArgumentException(e);
+    }
+    return classFiles
+        .parallelStream()
+        .flatMap(
+            p ->
+                StreamUtils.optionalToStream(
+                    classProvider.createClassHeader(
+                        p, factory.getClassType(fromPath(dirPath, p)))));
+  }
+
+  private boolean isAnalyzedFile(@Nonnull Path filePath, @Nonnull FileType handledFileType) {
+    final String moduleInfoFilename = JavaModuleIdentifierFactory.MODULE_INFO_FILE + ".class";
+    return PathUtils.hasExtension(filePath, handledFileType)
+        && !filePath.toString().endsWith(moduleInfoFilename)
+        && ignoredPaths.stream().noneMatch(p -> filePath.toString().startsWith(p.toString()));
+  }
+
   @Nonnull
   protected String fromPath(@Nonnull Path baseDirPath, Path packageNamePathAndClass) {
     return FilenameUtils.removeExtension(
@@ -269,13 +375,13 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
         return Optional.empty();
       }
 
-      return getSingleClass((JavaClassType) type, path, new AsmJavaClassProvider(view));
+      return getSingleClass((JavaClassType) type, path, createClassProvider(view));
     }
 
     @Nonnull
     @Override
     public Collection<JavaSootClassSource> getClassSources(@Nonnull View view) {
-      AsmJavaClassProvider classProvider = new AsmJavaClassProvider(view);
+      AsmJavaClassProvider classProvider = createClassProvider(view);
       IdentifierFactory factory = view.getIdentifierFactory();
       Path dirPath = this.path.getParent();
 
@@ -323,14 +429,20 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
     public Collection<JavaSootClassSource> getClassSources(@Nonnull View view) {
       // FIXME: 1) store the classprovider reference as a field; 2) and above too; and 3) move view
       // which is only used in SootNode to be just there?
-      return walkDirectory(path, view.getIdentifierFactory(), new AsmJavaClassProvider(view));
+      return walkDirectory(path, view.getIdentifierFactory(), createClassProvider(view));
+    }
+
+    @Override
+    @Nonnull
+    public Stream<ClassHeader> getClassHeaders(@Nonnull View view) {
+      return walkDirectoryHeaders(path, view.getIdentifierFactory(), createClassProvider(view));
     }
 
     @Override
     @Nonnull
     public Optional<JavaSootClassSource> getClassSource(
         @Nonnull ClassType type, @Nonnull View view) {
-      return getClassSourceInternal((JavaClassType) type, path, new AsmJavaClassProvider(view));
+      return getClassSourceInternal((JavaClassType) type, path, createClassProvider(view));
     }
   }
 
@@ -392,6 +504,22 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
       this(path, srcType, bodyInterceptors, Collections.emptyList());
     }
 
+    @Override
+    public void setBodyCache(@Nullable PersistentBodyCache bodyCache) {
+      super.setBodyCache(bodyCache);
+      for (AnalysisInputLocation inputLoc : containedInputLocations) {
+        ((PathBasedAnalysisInputLocation) inputLoc).setBodyCache(bodyCache);
+      }
+    }
+
+    @Override
+    public void setInstructionMode(@Nonnull AsmJavaClassProvider.InstructionMode instructionMode) {
+      super.setInstructionMode(instructionMode);
+      for (AnalysisInputLocation inputLoc : containedInputLocations) {
+        ((PathBasedAnalysisInputLocation) inputLoc).setInstructionMode(instructionMode);
+      }
+    }
+
     @Override
     @Nonnull
     public Collection<JavaSootClassSource> getClassSources(@Nonnull View view) {
@@ -406,12 +534,28 @@ public abstract class PathBasedAnalysisInputLocation implements AnalysisInputLoc
           .collect(Collectors.toList());
     }
 
+    @Override
+    @Nonnull
+    public Stream<ClassHeader> getClassHeaders(@Nonnull View view) {
+      return containedInputLocations.stream()
+          .flatMap(inputLocation -> inputLocation.getClassHeaders(view));
+    }
+
+    @Override
+    public boolean mayContain(@Nonnull ClassType type) {
+      return containedInputLocations.stream()
+          .anyMatch(inputLocation -> inputLocation.mayContain(type));
+    }
+
     @Override
     @Nonnull
     public Optional<JavaSootClassSource> getClassSource(
         @Nonnull ClassType type, @Nonnull View view) {
 
       for (AnalysisInputLocation inputLocation : containedInputLocations) {
+        if (!inputLocation.mayContain(type)) {
+          continue;
+        }
         final Optional<? extends SootClassSource> classSource =
             inputLocation.getClassSource(type, view);
         if (classSource.isPresent()) {
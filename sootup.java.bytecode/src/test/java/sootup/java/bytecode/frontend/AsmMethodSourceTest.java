@@ -5,10 +5,16 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import categories.TestCategories;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import sootup.core.cache.body.RebuildBodyRetentionPolicy;
+import sootup.core.cache.provider.FullCacheProvider;
+import sootup.core.frontend.SootClassSource;
+import sootup.core.model.Body;
 import sootup.core.model.SootClass;
 import sootup.core.model.SootMethod;
 import sootup.core.model.SourceType;
@@ -96,4 +102,75 @@ public class AsmMethodSourceTest {
     assert !method.getBody().getStmts().stream()
         .anyMatch(s -> s.toString().contains(" append(java.lang.String)>(\"ghi\")"));
   }
+
+  @Test
+  public void testInstructionsAreReleasedAndReloaded() {
+    JavaClassPathAnalysisInputLocation inputLocation =
+        new JavaClassPathAnalysisInputLocation(
+            "../shared-test-resources/bugfixes/", SourceType.Application, Collections.emptyList());
+    inputLocation.setInstructionMode(AsmJavaClassProvider.InstructionMode.ON_DEMAND);
+    JavaView view =
+        new JavaView(
+            Collections.singletonList(inputLocation),
+            new FullCacheProvider(),
+            RebuildBodyRetentionPolicy.getInstance());
+
+    JavaSootMethod method =
+        view.getMethod(
+                JavaIdentifierFactory.getInstance()
+                    .parseMethodSignature("<NestedMethodCall: void nestedMethodCall()>"))
+            .get();
+    AsmMethodSource methodSource = (AsmMethodSource) method.getBodySource();
+    // the code of a method is not parsed before its body is requested
+    assertEquals(0, methodSource.instructions.size());
+
+    Body body = method.getBody();
+    assertEquals(0, methodSource.instructions.size());
+
+    Body reresolvedBody = method.getBody();
+    assertEquals(0, methodSource.instructions.size());
+    assertEquals(body.toString(), reresolvedBody.toString());
+  }
+
+  @Test
+  public void testInstructionModes() {
+    JavaClassPathAnalysisInputLocation inputLocation =
+        new JavaClassPathAnalysisInputLocation(
+            "../shared-test-resources/bugfixes/", SourceType.Application, Collections.emptyList());
+    JavaView view = new JavaView(Collections.singletonList(inputLocation));
+    JavaClassType classType = view.getIdentifierFactory().getClassType("NestedMethodCall");
+    Path classFile = Paths.get("../shared-test-resources/bugfixes/NestedMethodCall.class");
+
+    String expectedBody =
+        view.getClass(classType).get().getMethods().stream()
+            .filter(m -> m.getName().equals("nestedMethodCall"))
+            .findAny()
+            .get()
+            .getBody()
+            .toString();
+
+    for (AsmJavaClassProvider.InstructionMode mode :
+        AsmJavaClassProvider.InstructionMode.values()) {
+      SootClassSource classSource =
+          new AsmJavaClassProvider(view, mode)
+              .createClassSource(inputLocation, classFile, classType)
+              .get();
+      SootMethod method =
+          classSource.buildClass(SourceType.Application).getMethods().stream()
+              .filter(m -> m.getName().equals("nestedMethodCall"))
+              .findAny()
+              .get();
+      AsmMethodSource methodSource = (AsmMethodSource) method.getBodySource();
+
+      assertEquals(
+          mode != AsmJavaClassProvider.InstructionMode.ON_DEMAND,
+          methodSource.instructions.size() > 0,
+          mode.toString());
+      assertEquals(expectedBody, method.getBody().toString(), mode.toString());
+      assertEquals(
+          mode == AsmJavaClassProvider.InstructionMode.RETAIN,
+          methodSource.instructions.size() > 0,
+          mode.toString());
+    }
+  }
 }
@@ -2,9 +2,11 @@ package sootup.java.bytecode.frontend;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import categories.TestCategories;
+import java.util.List;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -143,6 +145,20 @@ public class AsmUtilTest {
     Assertions.assertThrows(AssertionError.class, () -> AsmUtil.toJimpleType("[I[I"));
   }
 
+  @Test
+  public void testToJimpleSignatureDesc() {
+    List<Type> types = AsmUtil.toJimpleSignatureDesc("(I[Ljava/lang/String;)V");
+    assertEquals(3, types.size());
+    assertEquals(PrimitiveType.getInt(), types.get(0));
+    assertEquals("java.lang.String[]", types.get(1).toString());
+    assertEquals(VoidType.getInstance(), types.get(2));
+
+    // each distinct descriptor is parsed once and the result is shared
+    assertSame(types, AsmUtil.toJimpleSignatureDesc("(I[Ljava/lang/String;)V"));
+    Assertions.assertThrows(
+        UnsupportedOperationException.class, () -> types.add(PrimitiveType.getInt()));
+  }
+
   @Test
   public void testArrayTypeToJimpleType() {
     Type primitiveTypeZ = AsmUtil.arrayTypetoJimpleType("Z");
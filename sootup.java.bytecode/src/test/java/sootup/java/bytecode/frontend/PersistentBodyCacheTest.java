@@ -0,0 +1,236 @@
+package sootup.java.bytecode.frontend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import categories.TestCategories;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.cache.body.BodySerializer;
+import sootup.core.cache.body.PersistentBodyCache;
+import sootup.core.graph.MutableBlockStmtGraph;
+import sootup.core.graph.MutableStmtGraph;
+import sootup.core.jimple.basic.Local;
+import sootup.core.jimple.basic.StmtPositionInfo;
+import sootup.core.jimple.common.stmt.JReturnVoidStmt;
+import sootup.core.model.Body;
+import sootup.core.model.SootMethod;
+import sootup.core.model.SourceType;
+import sootup.core.transform.BodyInterceptor;
+import sootup.core.types.Type;
+import sootup.core.views.View;
+import sootup.java.bytecode.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.JavaBodySerializer;
+import sootup.java.core.JavaIdentifierFactory;
+import sootup.java.core.JavaModuleIdentifierFactory;
+import sootup.java.core.interceptors.BytecodeBodyInterceptors;
+import sootup.java.core.interceptors.DeadAssignmentEliminator;
+import sootup.java.core.language.JavaJimple;
+import sootup.java.core.types.AnnotationType;
+import sootup.java.core.types.JavaClassType;
+import sootup.java.core.types.ModuleJavaClassType;
+import sootup.java.core.views.JavaView;
+
+@Tag(TestCategories.JAVA_8_CATEGORY)
+public class PersistentBodyCacheTest {
+
+  private static final String classPath = "../shared-test-resources/bugfixes/";
+  private static final String VERSION = "test";
+
+  @Test
+  public void testSerializedBodiesAreEqual() {
+    BodySerializer serializer = new JavaBodySerializer(JavaIdentifierFactory.getInstance());
+    int serializedBodies = 0;
+    for (Body body : resolveBodies(createView(null))) {
+      byte[] data;
+      try {
+        data = serializer.serialize(body);
+      } catch (IllegalArgumentException e) {
+        // e.g. augmented types of the TypeAssigner are not cacheable
+        continue;
+      }
+      Body deserializedBody = serializer.deserialize(data);
+      assertEquals(body.getMethodSignature(), deserializedBody.getMethodSignature());
+      assertEquals(body.getLocals(), deserializedBody.getLocals());
+      assertEquals(body.getPosition(), deserializedBody.getPosition());
+      assertEquals(body.toString(), deserializedBody.toString());
+      serializedBodies++;
+    }
+    assertTrue(serializedBodies > 0);
+  }
+
+  @Test
+  public void testBodiesAreReadFromTheCache() throws IOException {
+    Path directory = Files.createTempDirectory("sootup-body-cache");
+    try {
+      PersistentBodyCache firstRunCache = new PersistentBodyCache(directory, VERSION);
+      List<Body> convertedBodies = resolveBodies(createView(firstRunCache));
+      assertEquals(0, firstRunCache.getHitCount());
+      assertEquals(convertedBodies.size(), firstRunCache.getMissCount());
+
+      int entryCount = listEntries(directory).size();
+      assertTrue(entryCount > 0);
+
+      PersistentBodyCache secondRunCache = new PersistentBodyCache(directory, VERSION);
+      List<Body> cachedBodies = resolveBodies(createView(secondRunCache));
+      assertEquals(entryCount, secondRunCache.getHitCount());
+      assertEquals(convertedBodies.size() - entryCount, secondRunCache.getMissCount());
+      assertEquals(
+          convertedBodies.stream().map(Body::toString).collect(Collectors.toList()),
+          cachedBodies.stream().map(Body::toString).collect(Collectors.toList()));
+
+      // entries of other interceptors are not shared
+      JavaClassPathAnalysisInputLocation inputLocation =
+          new JavaClassPathAnalysisInputLocation(
+              classPath, SourceType.Application, Collections.emptyList());
+      PersistentBodyCache otherInterceptorsCache = new PersistentBodyCache(directory, VERSION);
+      inputLocation.setBodyCache(otherInterceptorsCache);
+      resolveBodies(new JavaView(inputLocation));
+      assertEquals(0, otherInterceptorsCache.getHitCount());
+    } finally {
+      FileUtils.deleteDirectory(directory.toFile());
+    }
+  }
+
+  @Test
+  public void testUnreadableEntriesAreReplaced() throws IOException {
+    Path directory = Files.createTempDirectory("sootup-body-cache");
+    try {
+      List<Body> convertedBodies =
+          resolveBodies(createView(new PersistentBodyCache(directory, VERSION)));
+
+      List<Path> entries = listEntries(directory);
+      assertTrue(entries.size() > 0);
+      for (Path entry : entries) {
+        Files.write(entry, new byte[] {1, 2, 3});
+      }
+
+      PersistentBodyCache cache = new PersistentBodyCache(directory, VERSION);
+      List<Body> bodies = resolveBodies(createView(cache));
+      assertEquals(convertedBodies.size(), bodies.size());
+      for (Path entry : entries) {
+        assertTrue(Files.size(entry) > 3);
+      }
+    } finally {
+      FileUtils.deleteDirectory(directory.toFile());
+    }
+  }
+
+  @Test
+  public void testClassTypeKindsAreKept() {
+    JavaIdentifierFactory identifierFactory = JavaIdentifierFactory.getInstance();
+    JavaClassType classType = identifierFactory.getClassType("java.lang.Object");
+    AnnotationType annotationType = identifierFactory.getAnnotationType("java.lang.Deprecated");
+    ModuleJavaClassType moduleType =
+        JavaModuleIdentifierFactory.getInstance().getClassType("String", "java.lang", "java.base");
+    Set<Local> locals = new LinkedHashSet<>();
+    locals.add(JavaJimple.newLocal("a", classType));
+    locals.add(JavaJimple.newLocal("b", annotationType));
+    locals.add(JavaJimple.newLocal("c", moduleType));
+
+    MutableStmtGraph graph = new MutableBlockStmtGraph();
+    graph.setStartingStmt(new JReturnVoidStmt(StmtPositionInfo.getNoStmtPositionInfo()));
+    Body body =
+        Body.builder(graph)
+            .setMethodSignature(
+                identifierFactory.getMethodSignature(
+                    classType, "m", "void", Collections.emptyList()))
+            .setLocals(locals)
+            .build();
+
+    BodySerializer serializer = new JavaBodySerializer(identifierFactory);
+    Body deserializedBody = serializer.deserialize(serializer.serialize(body));
+    List<Type> types =
+        deserializedBody.getLocals().stream()
+            .sorted(Comparator.comparing(Local::getName))
+            .map(Local::getType)
+            .collect(Collectors.toList());
+    assertEquals(Arrays.asList(classType, annotationType, moduleType), types);
+  }
+
+  @Test
+  public void testSourceKeysCoverTheConfiguration() {
+    byte[] source = {1, 2, 3};
+    PersistentBodyCache cache = new PersistentBodyCache(Paths.get("unused"), VERSION);
+    Optional<String> key =
+        cache.createSourceKey(
+            source, Collections.singletonList(new DeadAssignmentEliminator(false)));
+    assertTrue(key.isPresent());
+    assertNotEquals(
+        key,
+        cache.createSourceKey(
+            source, Collections.singletonList(new DeadAssignmentEliminator(true))));
+    assertNotEquals(
+        key,
+        new PersistentBodyCache(Paths.get("unused"), "other")
+            .createSourceKey(
+                source, Collections.singletonList(new DeadAssignmentEliminator(false))));
+
+    // an interceptor whose configuration is unknown prevents caching
+    BodyInterceptor configuredInterceptor =
+        new BodyInterceptor() {
+          private final int option = 1;
+
+          @Override
+          public void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View view) {}
+        };
+    assertFalse(
+        cache
+            .createSourceKey(source, Collections.singletonList(configuredInterceptor))
+            .isPresent());
+    // as does an unknown version
+    assertFalse(
+        new PersistentBodyCache(Paths.get("unused"), null)
+            .createSourceKey(source, Collections.emptyList())
+            .isPresent());
+  }
+
+  @Test
+  public void testDefaultInterceptorsHaveKeys() {
+    for (BodyInterceptor interceptor : BytecodeBodyInterceptors.Default.getBodyInterceptors()) {
+      assertTrue(interceptor.getCacheKey().isPresent(), interceptor.toString());
+    }
+  }
+
+  private static List<Path> listEntries(Path directory) throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      return files.filter(Files::isRegularFile).collect(Collectors.toList());
+    }
+  }
+
+  private static JavaView createView(PersistentBodyCache cache) {
+    JavaClassPathAnalysisInputLocation inputLocation =
+        new JavaClassPathAnalysisInputLocation(classPath);
+    inputLocation.setBodyCache(cache);
+    return new JavaView(inputLocation);
+  }
+
+  private static List<Body> resolveBodies(JavaView view) {
+    List<Body> bodies = new ArrayList<>();
+    view.getClasses()
+        .sorted((a, b) -> a.getType().toString().compareTo(b.getType().toString()))
+        .flatMap(clazz -> clazz.getMethods().stream())
+        .filter(SootMethod::isConcrete)
+        .sorted((a, b) -> a.getSignature().toString().compareTo(b.getSignature().toString()))
+        .forEach(method -> bodies.add(method.getBody()));
+    return bodies;
+  }
+}
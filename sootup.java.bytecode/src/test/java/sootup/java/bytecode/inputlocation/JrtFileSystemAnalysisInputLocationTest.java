@@ -1,17 +1,28 @@
 package sootup.java.bytecode.inputlocation;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import categories.TestCategories;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import sootup.core.frontend.SootClassSource;
+import sootup.core.typehierarchy.ClassHeader;
+import sootup.core.typehierarchy.TypeHierarchySnapshot;
 import sootup.core.types.ClassType;
+import sootup.java.core.JavaIdentifierFactory;
 import sootup.java.core.JavaModuleIdentifierFactory;
+import sootup.java.core.ModuleInfoAnalysisInputLocation;
 import sootup.java.core.signatures.ModuleSignature;
 import sootup.java.core.views.JavaModuleView;
 
@@ -59,6 +70,41 @@ public class JrtFileSystemAnalysisInputLocationTest {
     assertTrue(view.getClass(sig2).isPresent());
   }
 
+  @Test
+  public void typeHierarchySnapshotKeepsModules() throws IOException {
+    JrtFileSystemAnalysisInputLocation inputLocation = new JrtFileSystemAnalysisInputLocation();
+    List<ModuleInfoAnalysisInputLocation> locations = Collections.singletonList(inputLocation);
+    JavaModuleView view = new JavaModuleView(Collections.emptyList(), locations);
+    assertNotEquals(
+        TypeHierarchySnapshot.createKey(JavaIdentifierFactory.getInstance(), locations),
+        TypeHierarchySnapshot.createKey(view.getIdentifierFactory(), locations));
+
+    Path directory = Files.createTempDirectory("snapshots");
+    try {
+      TypeHierarchySnapshot created =
+          TypeHierarchySnapshot.loadOrCreate(directory, view, locations);
+      Path file = directory.resolve(created.getKey().get() + ".hierarchy");
+      TypeHierarchySnapshot loaded = TypeHierarchySnapshot.read(file, view.getIdentifierFactory());
+
+      List<ClassType> types =
+          loaded.getClassHeaders().stream().map(ClassHeader::getType).collect(Collectors.toList());
+      assertEquals(
+          created.getClassHeaders().stream().map(ClassHeader::getType).collect(Collectors.toList()),
+          types);
+      assertTrue(
+          types.contains(
+              JavaModuleIdentifierFactory.getInstance()
+                  .getClassType("String", "java.lang", "java.base")));
+    } finally {
+      try (Stream<Path> files = Files.list(directory)) {
+        for (Path file : files.collect(Collectors.toList())) {
+          Files.delete(file);
+        }
+      }
+      Files.delete(directory);
+    }
+  }
+
   @Test
   public void discoverModules() {
     JrtFileSystemAnalysisInputLocation inputLocation = new JrtFileSystemAnalysisInputLocation();
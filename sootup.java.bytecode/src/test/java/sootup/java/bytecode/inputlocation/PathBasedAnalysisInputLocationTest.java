@@ -22,17 +22,30 @@ package sootup.java.bytecode.inputlocation;
  * #L%
  */
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import categories.TestCategories;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import sootup.core.frontend.SootClassSource;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.inputlocation.EagerInputLocation;
 import sootup.core.jimple.basic.NoPositionInformation;
@@ -105,6 +118,110 @@ public class PathBasedAnalysisInputLocationTest extends AnalysisInputLocationTes
     testClassReceival(pathBasedNamespace, sigs, 6);
   }
 
+  @Test
+  public void testArchiveClassIndex() throws IOException {
+    ArchiveClassIndex index = ArchiveClassIndex.build(jar);
+    try (ZipFile zipFile = new ZipFile(jar.toFile())) {
+      List<? extends ZipEntry> classEntries =
+          zipFile.stream()
+              .filter(entry -> entry.getName().endsWith(".class"))
+              .collect(Collectors.toList());
+      assertEquals(classEntries.size(), index.size());
+      for (ZipEntry zipEntry : classEntries) {
+        String className = zipEntry.getName().replace(".class", "").replace('/', '.');
+        ArchiveClassIndex.Entry entry = index.get(className).get();
+        assertEquals(zipEntry.getName(), entry.getEntryName());
+        assertEquals(zipEntry.getSize(), entry.getSize());
+        assertEquals(zipEntry.getCompressedSize(), entry.getCompressedSize());
+        assertEquals(zipEntry.getMethod(), entry.getCompressionMethod());
+      }
+    }
+    assertTrue(index.contains("ds.Employee"));
+    assertFalse(index.contains("ds.DoesNotExist"));
+
+    Path indexFile = Files.createTempFile("MiniApp", ".idx");
+    try {
+      Files.delete(indexFile);
+      ArchiveClassIndex builtIndex = ArchiveClassIndex.load(jar, indexFile);
+      assertTrue(Files.exists(indexFile));
+      ArchiveClassIndex loadedIndex = ArchiveClassIndex.load(jar, indexFile);
+      assertEquals(
+          new ArrayList<>(builtIndex.getClassNames()),
+          new ArrayList<>(loadedIndex.getClassNames()));
+      assertEquals(
+          builtIndex.get("MiniApp").get().getLocalHeaderOffset(),
+          loadedIndex.get("MiniApp").get().getLocalHeaderOffset());
+
+      ArchiveBasedAnalysisInputLocation inputLocation =
+          new ArchiveBasedAnalysisInputLocation(jar, SourceType.Application);
+      inputLocation.setClassIndexFile(indexFile);
+      assertEquals(6, inputLocation.getClassSources(new JavaView(inputLocation)).size());
+    } finally {
+      Files.deleteIfExists(indexFile);
+    }
+  }
+
+  @Test
+  public void testMappedArchive() throws IOException {
+    ArchiveClassIndex index = ArchiveClassIndex.build(jar);
+    MappedArchive mappedArchive = MappedArchive.map(jar);
+    try (ZipFile zipFile = new ZipFile(jar.toFile())) {
+      for (ArchiveClassIndex.Entry entry : index.getEntries()) {
+        byte[] expected;
+        try (InputStream in = zipFile.getInputStream(zipFile.getEntry(entry.getEntryName()))) {
+          expected = IOUtils.toByteArray(in);
+        }
+        assertArrayEquals(expected, mappedArchive.read(entry));
+      }
+    }
+  }
+
+  @Test
+  public void testArchiveIsReadWithoutZipFileSystem() throws IOException {
+    Path archive = Files.createTempFile("MiniApp", ".jar");
+    try {
+      Files.copy(jar, archive, StandardCopyOption.REPLACE_EXISTING);
+      ArchiveBasedAnalysisInputLocation inputLocation =
+          new ArchiveBasedAnalysisInputLocation(archive, SourceType.Application);
+      JavaView view = new JavaView(inputLocation);
+      assertEquals(6, inputLocation.getClassSources(view).size());
+      assertEquals(6, inputLocation.getClassHeaders(view).count());
+      SootClassSource classSource =
+          inputLocation
+              .getClassSource(getIdentifierFactory().getClassType("Employee", "ds"), view)
+              .get();
+      assertEquals(archive.resolve("ds/Employee.class"), classSource.getSourcePath());
+      assertNull(ArchiveBasedAnalysisInputLocation.fileSystemCache.getIfPresent(archive));
+    } finally {
+      Files.deleteIfExists(archive);
+    }
+  }
+
+  @Test
+  public void testUnresolvableClassesAreNotProbedAgain() {
+    ArchiveBasedAnalysisInputLocation archiveLocation =
+        new ArchiveBasedAnalysisInputLocation(jar, SourceType.Application);
+    ClassType employee = getIdentifierFactory().getClassType("Employee", "ds");
+    ClassType missing = getIdentifierFactory().getClassType("DoesNotExist", "ds");
+    assertTrue(archiveLocation.mayContain(employee));
+    assertFalse(archiveLocation.mayContain(missing));
+
+    List<ClassType> probedTypes = Collections.synchronizedList(new ArrayList<>());
+    AnalysisInputLocation countingLocation =
+        new EagerInputLocation() {
+          @Override
+          public Optional<SootClassSource> getClassSource(ClassType type, View view) {
+            probedTypes.add(type);
+            return Optional.empty();
+          }
+        };
+    JavaView view = new JavaView(Arrays.asList(archiveLocation, countingLocation));
+    assertTrue(view.getClass(employee).isPresent());
+    assertFalse(view.getClass(missing).isPresent());
+    assertFalse(view.getClass(missing).isPresent());
+    assertEquals(1, Collections.frequency(probedTypes, missing));
+  }
+
   @Test
   public void testWar() {
     PathBasedAnalysisInputLocation pathBasedNamespace =
@@ -186,4 +186,14 @@ public class BytecodeHierarchyTest {
     expectedSet = ImmutableUtils.immutableSet(object, serializable, cloneable);
     assertEquals(expectedSet, actualSet);
   }
+
+  @Test
+  public void testLCAIsMemoizedPerTypeHierarchy() {
+    setUp();
+    Collection<Type> first = new BytecodeHierarchy(view).getLeastCommonAncestor(class3, class4);
+    Collection<Type> second = new BytecodeHierarchy(view).getLeastCommonAncestor(class3, class4);
+    assertEquals(Collections.singleton(class2), first);
+    assertSame(first, second);
+    assertThrows(UnsupportedOperationException.class, () -> first.add(object));
+  }
 }
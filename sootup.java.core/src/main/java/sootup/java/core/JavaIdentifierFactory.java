@@ -24,6 +24,8 @@ package sootup.java.core;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.google.common.collect.Maps;
 import java.util.*;
 import java.util.regex.Matcher;
@@ -45,6 +47,7 @@ import sootup.core.types.Type;
 import sootup.core.types.VoidType;
 import sootup.java.core.types.AnnotationType;
 import sootup.java.core.types.JavaClassType;
+import sootup.java.core.types.ModuleJavaClassType;
 
 /**
  * The Java-specific implementation of {@link IdentifierFactory}. Should not be used for other
@@ -54,6 +57,11 @@ public class JavaIdentifierFactory implements IdentifierFactory {
 
   @Nonnull private static final JavaIdentifierFactory INSTANCE = new JavaIdentifierFactory();
 
+  /* kinds of class types in getClassTypeNames() */
+  private static final String CLASS_TYPE = "C";
+  private static final String ANNOTATION_TYPE = "A";
+  private static final String MODULE_CLASS_TYPE = "M";
+
   @Nonnull
   public static final MethodSubSignature STATIC_INITIALIZER =
       new MethodSubSignature("<clinit>", Collections.emptyList(), VoidType.getInstance());
@@ -100,6 +108,29 @@ public class JavaIdentifierFactory implements IdentifierFactory {
   protected final Cache<String, JavaClassType> classTypeCache =
       CacheBuilder.newBuilder().weakValues().build();
 
+  /** Caches class types by their internal name (e.g. java/lang/Object) as used in class files. */
+  @Nonnull
+  protected final Cache<String, JavaClassType> internalNameClassTypeCache =
+      CacheBuilder.newBuilder().weakValues().build();
+
+  /**
+   * Interns the created method and field (sub-)signatures, so that equal signatures share one
+   * instance as long as they are in use and compare by identity in most cases.
+   */
+  @Nonnull
+  protected final Interner<MethodSubSignature> methodSubSignatureInterner =
+      Interners.newWeakInterner();
+
+  @Nonnull
+  protected final Interner<MethodSignature> methodSignatureInterner = Interners.newWeakInterner();
+
+  @Nonnull
+  protected final Interner<FieldSubSignature> fieldSubSignatureInterner =
+      Interners.newWeakInterner();
+
+  @Nonnull
+  protected final Interner<FieldSignature> fieldSignatureInterner = Interners.newWeakInterner();
+
   @Nonnull
   protected final Map<String, PrimitiveType> primitiveTypeMap = Maps.newHashMapWithExpectedSize(8);
 
@@ -163,6 +194,68 @@ public class JavaIdentifierFactory implements IdentifierFactory {
     return getClassType(className, packageName);
   }
 
+  /**
+   * Returns the ClassSignature for a class given by its internal name, i.e. the slash separated
+   * name used in class files (e.g. java/lang/Object). Repeated lookups of a name are answered from
+   * a cache without splitting or concatenating the name.
+   *
+   * @param internalName the internal name of the class
+   * @return a ClassSignature for a Java Class
+   */
+  @Nonnull
+  public JavaClassType getClassTypeFromInternalName(@Nonnull String internalName) {
+    JavaClassType classType = internalNameClassTypeCache.getIfPresent(internalName);
+    if (classType == null) {
+      classType = getClassType(internalName.replace('/', '.'));
+      internalNameClassTypeCache.put(internalName, classType);
+    }
+    return classType;
+  }
+
+  /**
+   * Keeps the kind of the class type, i.e. whether it is a plain {@link JavaClassType}, an {@link
+   * AnnotationType} or a {@link ModuleJavaClassType} together with its module.
+   */
+  @Nonnull
+  @Override
+  public List<String> getClassTypeNames(@Nonnull ClassType type) {
+    String packageName = type.getPackageName().getName();
+    if (type instanceof ModuleJavaClassType) {
+      String moduleName =
+          ((ModuleJavaClassType) type).getPackageName().getModuleSignature().getModuleName();
+      return Arrays.asList(MODULE_CLASS_TYPE, type.getClassName(), packageName, moduleName);
+    }
+    if (type instanceof AnnotationType) {
+      return Arrays.asList(ANNOTATION_TYPE, type.getClassName(), packageName);
+    }
+    if (type.getClass() == JavaClassType.class) {
+      return Arrays.asList(CLASS_TYPE, type.getClassName(), packageName);
+    }
+    return IdentifierFactory.super.getClassTypeNames(type);
+  }
+
+  @Nonnull
+  @Override
+  public ClassType getClassTypeFromNames(@Nonnull List<String> names) {
+    if (names.size() == 1) {
+      return IdentifierFactory.super.getClassTypeFromNames(names);
+    }
+    String className = names.get(1);
+    String packageName = names.get(2);
+    switch (names.get(0)) {
+      case CLASS_TYPE:
+        return INSTANCE.getClassType(className, packageName);
+      case ANNOTATION_TYPE:
+        return INSTANCE.getAnnotationType(
+            packageName.isEmpty() ? className : packageName + "." + className);
+      case MODULE_CLASS_TYPE:
+        return JavaModuleIdentifierFactory.getInstance()
+            .getClassType(className, packageName, names.get(3));
+      default:
+        throw new IllegalArgumentException("Unknown kind of class type " + names.get(0));
+    }
+  }
+
   /**
    * Returns a Type which can be a {@link JavaClassType},{@link PrimitiveType}, {@link VoidType}, or
    * {@link NullType}.
@@ -274,7 +367,7 @@ public class JavaIdentifierFactory implements IdentifierFactory {
   }
 
   /**
-   * Always creates a new MethodSignature AND a new ClassSignature.
+   * Returns the canonical MethodSignature of a method of the class with the given name.
    *
    * @param fullyQualifiedNameDeclClass the fully-qualified name of the declaring class
    * @param methodName the method's name
@@ -295,11 +388,11 @@ public class JavaIdentifierFactory implements IdentifierFactory {
       Type parameterSignature = getType(fqParameterName);
       parameterSignatures.add(parameterSignature);
     }
-    return new MethodSignature(declaringClass, methodName, parameterSignatures, returnType);
+    return getMethodSignature(declaringClass, methodName, returnType, parameterSignatures);
   }
 
   /**
-   * Always creates a new MethodSignature reusing the given ClassSignature.
+   * Returns the canonical MethodSignature of a method of the given class.
    *
    * @param declaringClassSignature the ClassSignature of the declaring class
    * @param methodName the method's name
@@ -319,8 +412,7 @@ public class JavaIdentifierFactory implements IdentifierFactory {
       Type parameterSignature = getType(fqParameterName);
       parameterSignatures.add(parameterSignature);
     }
-    return new MethodSignature(
-        declaringClassSignature, methodName, parameterSignatures, returnType);
+    return getMethodSignature(declaringClassSignature, methodName, returnType, parameterSignatures);
   }
 
   @Override
@@ -330,14 +422,17 @@ public class JavaIdentifierFactory implements IdentifierFactory {
       final Type fqReturnType,
       final List<Type> parameters) {
 
-    return new MethodSignature(declaringClassSignature, methodName, parameters, fqReturnType);
+    return getMethodSignature(
+        declaringClassSignature, getMethodSubSignature(methodName, fqReturnType, parameters));
   }
 
   @Override
   @Nonnull
   public MethodSignature getMethodSignature(
       @Nonnull ClassType declaringClassSignature, @Nonnull MethodSubSignature subSignature) {
-    return new MethodSignature(declaringClassSignature, subSignature);
+    MethodSubSignature canonicalSubSignature = methodSubSignatureInterner.intern(subSignature);
+    return methodSignatureInterner.intern(
+        new MethodSignature(declaringClassSignature, canonicalSubSignature));
   }
 
   private static final class MethodSignatureParserPatternHolder {
@@ -441,7 +536,8 @@ public class JavaIdentifierFactory implements IdentifierFactory {
       @Nonnull String name,
       @Nonnull Type returnType,
       @Nonnull Iterable<? extends Type> parameterSignatures) {
-    return new MethodSubSignature(name, parameterSignatures, returnType);
+    return methodSubSignatureInterner.intern(
+        new MethodSubSignature(name, parameterSignatures, returnType));
   }
 
   @Nonnull
@@ -598,26 +694,28 @@ public class JavaIdentifierFactory implements IdentifierFactory {
   public FieldSignature getFieldSignature(
       final String fieldName, final ClassType declaringClassSignature, final String fieldType) {
     Type type = getType(fieldType);
-    return new FieldSignature(declaringClassSignature, fieldName, type);
+    return getFieldSignature(fieldName, declaringClassSignature, type);
   }
 
   @Override
   public FieldSignature getFieldSignature(
       final String fieldName, final ClassType declaringClassSignature, final Type fieldType) {
-    return new FieldSignature(declaringClassSignature, fieldName, fieldType);
+    return getFieldSignature(declaringClassSignature, getFieldSubSignature(fieldName, fieldType));
   }
 
   @Override
   @Nonnull
   public FieldSignature getFieldSignature(
       @Nonnull ClassType declaringClassSignature, @Nonnull FieldSubSignature subSignature) {
-    return new FieldSignature(declaringClassSignature, subSignature);
+    FieldSubSignature canonicalSubSignature = fieldSubSignatureInterner.intern(subSignature);
+    return fieldSignatureInterner.intern(
+        new FieldSignature(declaringClassSignature, canonicalSubSignature));
   }
 
   @Nonnull
   @Override
   public FieldSubSignature getFieldSubSignature(@Nonnull String name, @Nonnull Type type) {
-    return new FieldSubSignature(name, type);
+    return fieldSubSignatureInterner.intern(new FieldSubSignature(name, type));
   }
 
   @Nonnull
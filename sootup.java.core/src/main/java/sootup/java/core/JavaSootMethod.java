@@ -27,6 +27,8 @@ import java.util.Collections;
 import java.util.Optional;
 import java.util.function.Function;
 import javax.annotation.Nonnull;
+import sootup.core.cache.body.BodyRetentionPolicy;
+import sootup.core.cache.body.StrongBodyRetentionPolicy;
 import sootup.core.frontend.BodySource;
 import sootup.core.frontend.OverridingBodySource;
 import sootup.core.model.Body;
@@ -47,7 +49,25 @@ public class JavaSootMethod extends SootMethod {
       @Nonnull Iterable<ClassType> thrownExceptions,
       @Nonnull Iterable<AnnotationUsage> annotations,
       @Nonnull Position position) {
-    super(source, methodSignature, modifiers, thrownExceptions, position);
+    this(
+        source,
+        methodSignature,
+        modifiers,
+        thrownExceptions,
+        annotations,
+        position,
+        StrongBodyRetentionPolicy.getInstance());
+  }
+
+  public JavaSootMethod(
+      @Nonnull BodySource source,
+      @Nonnull MethodSignature methodSignature,
+      @Nonnull Iterable<MethodModifier> modifiers,
+      @Nonnull Iterable<ClassType> thrownExceptions,
+      @Nonnull Iterable<AnnotationUsage> annotations,
+      @Nonnull Position position,
+      @Nonnull BodyRetentionPolicy bodyRetentionPolicy) {
+    super(source, methodSignature, modifiers, thrownExceptions, position, bodyRetentionPolicy);
     this.annotations = annotations;
   }
 
@@ -81,7 +101,8 @@ public class JavaSootMethod extends SootMethod {
         getModifiers(),
         exceptions,
         getAnnotations(Optional.empty()),
-        getPosition());
+        getPosition(),
+        bodyRetentionPolicy);
   }
 
   @Nonnull
@@ -93,7 +114,8 @@ public class JavaSootMethod extends SootMethod {
         getModifiers(),
         exceptions,
         getAnnotations(Optional.empty()),
-        getPosition());
+        getPosition(),
+        bodyRetentionPolicy);
   }
 
   @Nonnull
@@ -105,7 +127,8 @@ public class JavaSootMethod extends SootMethod {
         modifiers,
         getExceptionSignatures(),
         getAnnotations(Optional.empty()),
-        getPosition());
+        getPosition(),
+        bodyRetentionPolicy);
   }
 
   @Nonnull
@@ -117,7 +140,8 @@ public class JavaSootMethod extends SootMethod {
         getModifiers(),
         thrownExceptions,
         getAnnotations(Optional.empty()),
-        getPosition());
+        getPosition(),
+        bodyRetentionPolicy);
   }
 
   @Nonnull
@@ -128,7 +152,8 @@ public class JavaSootMethod extends SootMethod {
         getModifiers(),
         getExceptionSignatures(),
         annotations,
-        getPosition());
+        getPosition(),
+        bodyRetentionPolicy);
   }
 
   @Nonnull
@@ -140,7 +165,8 @@ public class JavaSootMethod extends SootMethod {
         getModifiers(),
         exceptions,
         getAnnotations(Optional.empty()),
-        getPosition());
+        getPosition(),
+        bodyRetentionPolicy);
   }
 
   @Nonnull
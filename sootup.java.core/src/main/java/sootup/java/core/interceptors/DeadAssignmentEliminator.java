@@ -60,6 +60,13 @@ public class DeadAssignmentEliminator implements BodyInterceptor {
     this.eliminateOnlyStackLocals = eliminateOnlyStackLocals;
   }
 
+  @Nonnull
+  @Override
+  public Optional<String> getCacheKey() {
+    return Optional.of(
+        getClass().getName() + "(eliminateOnlyStackLocals=" + eliminateOnlyStackLocals + ")");
+  }
+
   @Override
   public void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View view) {
     MutableStmtGraph stmtGraph = builder.getStmtGraph();
@@ -176,20 +183,19 @@ public class DeadAssignmentEliminator implements BodyInterceptor {
     // recursively
     Map<LValue, Collection<Stmt>> allDefs = Body.collectDefs(stmtGraph.getNodes());
 
-    Set<Stmt> essentialStmts = new HashSet<>(stmts.size());
+    Set<Stmt> essentialStmts = stmtGraph.newStmtBitSet();
     while (!deque.isEmpty()) {
       Stmt stmt = deque.removeFirst();
       if (essentialStmts.add(stmt)) {
-        for (Iterator<Value> iterator = stmt.getUses().iterator(); iterator.hasNext(); ) {
-          Value value = iterator.next();
-          if (value instanceof Local) {
-            Local local = (Local) value;
-            Collection<Stmt> defs = allDefs.get(local);
-            if (defs != null) {
-              deque.addAll(defs);
-            }
-          }
-        }
+        stmt.forEachUse(
+            value -> {
+              if (value instanceof Local) {
+                Collection<Stmt> defs = allDefs.get(value);
+                if (defs != null) {
+                  deque.addAll(defs);
+                }
+              }
+            });
       }
     }
 
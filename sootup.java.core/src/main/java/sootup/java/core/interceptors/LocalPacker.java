@@ -25,6 +25,7 @@ import java.util.*;
 import javax.annotation.Nonnull;
 import sootup.core.graph.MutableStmtGraph;
 import sootup.core.graph.StmtGraph;
+import sootup.core.graph.StmtGraphBatchEdit;
 import sootup.core.jimple.basic.LValue;
 import sootup.core.jimple.basic.Local;
 import sootup.core.jimple.basic.Value;
@@ -86,6 +87,7 @@ public class LocalPacker implements BodyInterceptor {
     // store all new locals with reasonable name, if a local is not in newLoals, means that it
     // doesn't has reasonable name
     Set<Local> newLocals = new LinkedHashSet<>();
+    StmtGraphBatchEdit edit = stmtGraph.batchEdit();
     for (Stmt stmt : Lists.newArrayList(stmtGraph)) {
       Stmt newStmt = stmt;
       for (Iterator<Value> iterator = stmt.getUses().iterator(); iterator.hasNext(); ) {
@@ -124,9 +126,10 @@ public class LocalPacker implements BodyInterceptor {
         newStmt = ((AbstractDefinitionStmt) newStmt).withNewDef(newLocal);
       }
       if (!stmt.equals(newStmt)) {
-        stmtGraph.replaceNode(stmt, newStmt);
+        edit.replace(stmt, newStmt);
       }
     }
+    edit.apply();
     builder.setLocals(newLocals);
   }
 
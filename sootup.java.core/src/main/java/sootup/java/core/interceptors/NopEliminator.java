@@ -21,9 +21,9 @@ package sootup.java.core.interceptors;
  * <http://www.gnu.org/licenses/lgpl-2.1.html>.
  * #L%
  */
-import java.util.*;
 import javax.annotation.Nonnull;
 import sootup.core.graph.MutableStmtGraph;
+import sootup.core.graph.StmtGraphBatchEdit;
 import sootup.core.jimple.common.stmt.JNopStmt;
 import sootup.core.jimple.common.stmt.Stmt;
 import sootup.core.model.Body;
@@ -48,15 +48,12 @@ public class NopEliminator implements BodyInterceptor {
   public void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View view) {
     MutableStmtGraph graph = builder.getStmtGraph();
 
-    Queue<Stmt> q = new ArrayDeque<>();
+    StmtGraphBatchEdit edit = graph.batchEdit();
     for (Stmt stmt : graph.getNodes()) {
       if (stmt instanceof JNopStmt) {
-        q.add(stmt);
+        edit.remove(stmt);
       }
     }
-
-    for (Stmt stmt : q) {
-      graph.removeNode(stmt);
-    }
+    edit.apply();
   }
 }
@@ -88,7 +88,7 @@ public class StaticSingleAssignmentFormer implements BodyInterceptor {
       blockToDefs.put(block, defs);
     }
 
-    DominanceFinder dominanceFinder = new DominanceFinder(stmtGraph);
+    DominanceFinder dominanceFinder = stmtGraph.getDominanceFinder();
 
     // decide which block should be add a phi assignStmt, and store such info in a map
     // key: Block which contains phiStmts. Values : a set of phiStmts which contained by
@@ -55,13 +55,12 @@ public class UnusedLocalEliminator implements BodyInterceptor {
 
     // traverse statements copying all used uses and defs
     for (Stmt stmt : builder.getStmtGraph().getNodes()) {
-      stmt.getUsesAndDefs()
-          .filter(value -> value instanceof Local)
-          .forEach(
-              value -> {
-                Local local = (Local) value;
-                locals.add(local);
-              });
+      stmt.forEachUseAndDef(
+          value -> {
+            if (value instanceof Local) {
+              locals.add((Local) value);
+            }
+          });
     }
 
     builder.setLocals(locals);
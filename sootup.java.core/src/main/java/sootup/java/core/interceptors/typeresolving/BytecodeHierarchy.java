@@ -21,11 +21,16 @@ package sootup.java.core.interceptors.typeresolving;
  * #L%
  */
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import java.util.*;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import sootup.core.IdentifierFactory;
+import sootup.core.typehierarchy.MutableTypeHierarchy;
 import sootup.core.typehierarchy.TypeHierarchy;
 import sootup.core.types.*;
 import sootup.core.views.View;
@@ -40,6 +45,10 @@ public class BytecodeHierarchy {
   private final ClassType serializableClassType;
   private final ClassType cloneableClassType;
 
+  /** shared by all instances that are created for the same {@link TypeHierarchy} */
+  private static final LoadingCache<TypeHierarchy, LcaMemo> lcaMemos =
+      CacheBuilder.newBuilder().weakKeys().build(CacheLoader.from(hierarchy -> new LcaMemo()));
+
   public BytecodeHierarchy(View view) {
     this.typeHierarchy = view.getTypeHierarchy();
     IdentifierFactory factory = view.getIdentifierFactory();
@@ -178,50 +187,84 @@ public class BytecodeHierarchy {
       }
     } else {
       // if a and b are both ClassType
-      Set<AncestryPath> pathsA = buildAncestryPaths((ClassType) a);
-      Set<AncestryPath> pathsB = buildAncestryPaths((ClassType) b);
-      // TODO: [ms] implement an algorithm with better wc runtime costs.. e.g.
-      // https://www.baeldung.com/cs/tree-lowest-common-ancestor /
-      for (AncestryPath pathA : pathsA) {
-        for (AncestryPath pathB : pathsB) {
-          ClassType lcn = null;
-          while (pathA != null && pathB != null && pathA.type == pathB.type) {
-            lcn = pathA.type;
-            pathA = pathA.next;
-            pathB = pathB.next;
-          }
-          if (lcn == null) {
-            continue;
-          }
+      return getLeastCommonClassAncestors((ClassType) a, (ClassType) b);
+    }
+    return ret;
+  }
+
+  /**
+   * Returns the least common ancestors of two class types. The results are memoized per {@link
+   * TypeHierarchy} as the same pairs of types recur in many bodies.
+   */
+  @Nonnull
+  private Collection<Type> getLeastCommonClassAncestors(ClassType a, ClassType b) {
+    long modificationCount = 0;
+    if (typeHierarchy instanceof MutableTypeHierarchy) {
+      modificationCount = ((MutableTypeHierarchy) typeHierarchy).getModificationCount();
+    }
+    Cache<TypePair, Collection<Type>> memo =
+        modificationCount < 0
+            ? null
+            : lcaMemos.getUnchecked(typeHierarchy).getAncestors(modificationCount);
+    if (memo == null) {
+      return Collections.unmodifiableSet(computeLeastCommonClassAncestors(a, b));
+    }
+    TypePair key = new TypePair(a, b);
+    Collection<Type> ancestors = memo.getIfPresent(key);
+    if (ancestors == null) {
+      ancestors = Collections.unmodifiableSet(computeLeastCommonClassAncestors(a, b));
+      memo.put(key, ancestors);
+    }
+    return ancestors;
+  }
 
-          boolean isLcn = true;
-          Iterator<Type> it = ret.iterator();
-          while (it.hasNext()) {
-            Type l = it.next();
-            if (isAncestor(lcn, l)) {
-              isLcn = false;
-              break;
-            }
-            if (isAncestor(l, lcn)) {
-              it.remove();
-            }
+  @Nonnull
+  private Set<Type> computeLeastCommonClassAncestors(ClassType a, ClassType b) {
+    Set<Type> ret = new HashSet<>();
+    Set<AncestryPath> pathsA = buildAncestryPaths(a);
+    Set<AncestryPath> pathsB = buildAncestryPaths(b);
+    // TODO: [ms] implement an algorithm with better wc runtime costs.. e.g.
+    // https://www.baeldung.com/cs/tree-lowest-common-ancestor /
+    for (AncestryPath pathA : pathsA) {
+      for (AncestryPath pathB : pathsB) {
+        ClassType lcn = null;
+        while (pathA != null && pathB != null && pathA.type == pathB.type) {
+          lcn = pathA.type;
+          pathA = pathA.next;
+          pathB = pathB.next;
+        }
+        if (lcn == null) {
+          continue;
+        }
+
+        boolean isLcn = true;
+        Iterator<Type> it = ret.iterator();
+        while (it.hasNext()) {
+          Type l = it.next();
+          if (isAncestor(lcn, l)) {
+            isLcn = false;
+            break;
           }
-          if (isLcn) {
-            ret.add(lcn);
+          if (isAncestor(l, lcn)) {
+            it.remove();
           }
         }
-      }
-      if (ret.isEmpty()) {
-        ret.add(objectClassType);
+        if (isLcn) {
+          ret.add(lcn);
+        }
       }
     }
+    if (ret.isEmpty()) {
+      ret.add(objectClassType);
+    }
     return ret;
   }
 
   private boolean canStoreType(ClassType ancestor, ClassType child) {
     return ancestor == objectClassType
         || (typeHierarchy.contains(ancestor)
-            && typeHierarchy.subtypesOf(ancestor).anyMatch(t -> t == child));
+            && typeHierarchy.contains(child)
+            && typeHierarchy.isSubtype(ancestor, child));
   }
 
   private Set<AncestryPath> buildAncestryPaths(ClassType type) {
@@ -268,6 +311,64 @@ public class BytecodeHierarchy {
     return paths;
   }
 
+  /** Least common ancestors of class types computed for a {@link TypeHierarchy}. */
+  private static final class LcaMemo {
+    private static final int MAXIMUM_SIZE = 1 << 16;
+
+    @Nonnull private Cache<TypePair, Collection<Type>> ancestors = createCache();
+
+    private long modificationCount = 0;
+
+    /**
+     * Returns the ancestors memoized for the given modification count of the hierarchy. A newer
+     * count replaces the memoized ancestors, so entries computed for an older state of the
+     * hierarchy are never handed out for a newer one. Callers that read an outdated count get
+     * <code>null</code> and must not memoize their result.
+     */
+    @Nullable
+    synchronized Cache<TypePair, Collection<Type>> getAncestors(long currentModificationCount) {
+      if (currentModificationCount > modificationCount) {
+        ancestors = createCache();
+        modificationCount = currentModificationCount;
+      } else if (currentModificationCount < modificationCount) {
+        return null;
+      }
+      return ancestors;
+    }
+
+    @Nonnull
+    private static Cache<TypePair, Collection<Type>> createCache() {
+      return CacheBuilder.newBuilder().maximumSize(MAXIMUM_SIZE).build();
+    }
+  }
+
+  private static final class TypePair {
+    @Nonnull private final ClassType first;
+    @Nonnull private final ClassType second;
+
+    TypePair(@Nonnull ClassType first, @Nonnull ClassType second) {
+      this.first = first;
+      this.second = second;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof TypePair)) {
+        return false;
+      }
+      TypePair typePair = (TypePair) o;
+      return first.equals(typePair.first) && second.equals(typePair.second);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * first.hashCode() + second.hashCode();
+    }
+  }
+
   // TODO: [ms] thats a linked list.. please refactor that
   private static class AncestryPath {
     public AncestryPath next;
@@ -0,0 +1,220 @@
+package sootup.java.core.views;
+
+/*-
+ * #%L
+ * SootUp
+ * %%
+ * Copyright (C) 1997 - 2024 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import sootup.core.cache.ClassCache;
+import sootup.core.frontend.AbstractClassSource;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.SootClass;
+import sootup.core.types.ClassType;
+import sootup.java.core.AnnotationUsage;
+import sootup.java.core.JavaAnnotationSootClass;
+import sootup.java.core.JavaIdentifierFactory;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.JavaSootClassSource;
+import sootup.java.core.types.AnnotationType;
+
+/**
+ * A {@link JavaView} that can be queried by multiple threads without serializing on the view.
+ *
+ * <p>Every requested {@link ClassType} is mapped to a future in a concurrent resolution table. The
+ * first thread that asks for a class builds it, all other threads asking for the same class wait
+ * for that future, and requests for distinct classes are built in parallel. Once a class is
+ * resolved, lookups are a single (wait-free) read of the table.
+ *
+ * <p>The resolution table retains every resolved class, i.e. it behaves like a {@link
+ * sootup.core.cache.FullCache}, and also serves as the {@link ClassCache} of the view.
+ */
+public class ConcurrentJavaView extends JavaView {
+
+  @Nonnull
+  private final ConcurrentHashMap<ClassType, CompletableFuture<JavaSootClass>> resolvedClasses;
+
+  public ConcurrentJavaView(@Nonnull AnalysisInputLocation inputLocation) {
+    this(Collections.singletonList(inputLocation));
+  }
+
+  public ConcurrentJavaView(@Nonnull List<AnalysisInputLocation> inputLocations) {
+    this(inputLocations, JavaIdentifierFactory.getInstance());
+  }
+
+  protected ConcurrentJavaView(
+      @Nonnull List<AnalysisInputLocation> inputLocations, @Nonnull JavaIdentifierFactory idf) {
+    this(inputLocations, idf, new ResolutionTable());
+  }
+
+  private ConcurrentJavaView(
+      @Nonnull List<AnalysisInputLocation> inputLocations,
+      @Nonnull JavaIdentifierFactory idf,
+      @Nonnull ResolutionTable resolutionTable) {
+    super(inputLocations, () -> resolutionTable, idf);
+    this.resolvedClasses = resolutionTable.futures;
+  }
+
+  /** Resolves all classes that are part of the view and stores them in the resolution table. */
+  @Override
+  @Nonnull
+  public Stream<JavaSootClass> getClasses() {
+    if (isFullyResolved) {
+      return cache.getClasses().stream().map(clazz -> (JavaSootClass) clazz);
+    }
+
+    List<JavaSootClass> classes =
+        inputLocations.stream()
+            .flatMap(location -> location.getClassSources(this).stream())
+            .map(this::buildClassFrom)
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .collect(Collectors.toList());
+
+    isFullyResolved = true;
+
+    return classes.stream();
+  }
+
+  /** Resolves the class matching the provided {@link ClassType ClassType}. */
+  @Override
+  @Nonnull
+  public Optional<JavaSootClass> getClass(@Nonnull ClassType type) {
+    CompletableFuture<JavaSootClass> resolution = resolvedClasses.get(type);
+    if (resolution != null) {
+      return Optional.of(awaitResolution(resolution));
+    }
+
+    Optional<JavaSootClassSource> classSource = getClassSource(type);
+    return classSource.flatMap(this::buildClassFrom);
+  }
+
+  /** Returns the number of classes that are currently stored in the resolution table. */
+  @Override
+  public int getCachedClassesCount() {
+    return cache.size();
+  }
+
+  /**
+   * Builds the class of the given source exactly once. If another thread is already building the
+   * same class, the calling thread waits for its result instead of building it a second time.
+   */
+  @Nonnull
+  @Override
+  protected Optional<JavaSootClass> buildClassFrom(AbstractClassSource classSource) {
+    ClassType classType = classSource.getClassType();
+
+    CompletableFuture<JavaSootClass> resolution = new CompletableFuture<>();
+    CompletableFuture<JavaSootClass> existing = resolvedClasses.putIfAbsent(classType, resolution);
+    if (existing != null) {
+      return Optional.of(awaitResolution(existing));
+    }
+
+    JavaSootClass theClass;
+    try {
+      theClass =
+          (JavaSootClass)
+              classSource.buildClass(classSource.getAnalysisInputLocation().getSourceType());
+    } catch (RuntimeException | Error e) {
+      // allow a later request to retry the resolution
+      resolvedClasses.remove(classType, resolution);
+      resolution.completeExceptionally(e);
+      throw e;
+    }
+    // publish the class before resolving annotation defaults as these may refer to the class itself
+    resolution.complete(theClass);
+    updateTypeHierarchy(theClass);
+
+    if (theClass.getType() instanceof AnnotationType) {
+      JavaAnnotationSootClass jasc = (JavaAnnotationSootClass) theClass;
+      jasc.getAnnotations(Optional.of(this)).forEach(AnnotationUsage::getValuesWithDefaults);
+    }
+
+    return Optional.of(theClass);
+  }
+
+  @Nonnull
+  private static JavaSootClass awaitResolution(
+      @Nonnull CompletableFuture<JavaSootClass> resolution) {
+    try {
+      return resolution.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+
+  /** Exposes the resolved classes of the resolution table through the {@link ClassCache} API. */
+  private static final class ResolutionTable implements ClassCache {
+
+    @Nonnull
+    private final ConcurrentHashMap<ClassType, CompletableFuture<JavaSootClass>> futures =
+        new ConcurrentHashMap<>();
+
+    @Override
+    public SootClass getClass(ClassType classType) {
+      CompletableFuture<JavaSootClass> future = futures.get(classType);
+      return isResolved(future) ? future.join() : null;
+    }
+
+    @Nonnull
+    @Override
+    public Collection<SootClass> getClasses() {
+      return futures.values().stream()
+          .filter(ResolutionTable::isResolved)
+          .map(CompletableFuture::join)
+          .collect(Collectors.toList());
+    }
+
+    @Override
+    public void putClass(ClassType classType, SootClass sootClass) {
+      futures.putIfAbsent(classType, CompletableFuture.completedFuture((JavaSootClass) sootClass));
+    }
+
+    @Override
+    public boolean hasClass(ClassType classType) {
+      return isResolved(futures.get(classType));
+    }
+
+    @Override
+    public int size() {
+      return (int) futures.values().stream().filter(ResolutionTable::isResolved).count();
+    }
+
+    private static boolean isResolved(CompletableFuture<JavaSootClass> future) {
+      return future != null && future.isDone() && !future.isCompletedExceptionally();
+    }
+  }
+}
@@ -22,21 +22,35 @@ package sootup.java.core.views;
  * #L%
  */
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import sootup.core.cache.ClassCache;
+import sootup.core.cache.ConcurrentFullCache;
 import sootup.core.cache.FullCache;
+import sootup.core.cache.body.BodyRetentionPolicy;
+import sootup.core.cache.body.StrongBodyRetentionPolicy;
 import sootup.core.cache.provider.ClassCacheProvider;
 import sootup.core.cache.provider.FullCacheProvider;
 import sootup.core.frontend.AbstractClassSource;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.signatures.FieldSignature;
 import sootup.core.signatures.MethodSignature;
+import sootup.core.typehierarchy.ClassHeader;
 import sootup.core.types.ClassType;
 import sootup.core.views.AbstractView;
+import sootup.core.views.BulkResolver;
+import sootup.core.views.ResolutionProgressListener;
 import sootup.java.core.*;
 import sootup.java.core.types.AnnotationType;
 
@@ -52,9 +66,13 @@ public class JavaView extends AbstractView {
 
   @Nonnull protected final List<AnalysisInputLocation> inputLocations;
   @Nonnull protected final ClassCache cache;
+  @Nonnull protected final BodyRetentionPolicy bodyRetentionPolicy;
 
   protected volatile boolean isFullyResolved = false;
 
+  /** Types that could not be found in any input location. */
+  @Nonnull protected final Set<ClassType> unresolvableClassTypes = ConcurrentHashMap.newKeySet();
+
   public JavaView(@Nonnull AnalysisInputLocation inputLocation) {
     this(Collections.singletonList(inputLocation));
   }
@@ -69,20 +87,40 @@ public class JavaView extends AbstractView {
     this(inputLocations, cacheProvider, JavaIdentifierFactory.getInstance());
   }
 
+  /**
+   * Creates a view whose method bodies are retained according to the given {@link
+   * BodyRetentionPolicy}, e.g. to cap the memory used by bodies in long-running analyses.
+   */
+  public JavaView(
+      @Nonnull List<AnalysisInputLocation> inputLocations,
+      @Nonnull ClassCacheProvider cacheProvider,
+      @Nonnull BodyRetentionPolicy bodyRetentionPolicy) {
+    this(inputLocations, cacheProvider, JavaIdentifierFactory.getInstance(), bodyRetentionPolicy);
+  }
+
   protected JavaView(
       @Nonnull List<AnalysisInputLocation> inputLocations,
       @Nonnull ClassCacheProvider cacheProvider,
       @Nonnull JavaIdentifierFactory idf) {
+    this(inputLocations, cacheProvider, idf, StrongBodyRetentionPolicy.getInstance());
+  }
+
+  protected JavaView(
+      @Nonnull List<AnalysisInputLocation> inputLocations,
+      @Nonnull ClassCacheProvider cacheProvider,
+      @Nonnull JavaIdentifierFactory idf,
+      @Nonnull BodyRetentionPolicy bodyRetentionPolicy) {
     this.inputLocations = inputLocations;
     this.cache = cacheProvider.createCache();
     this.identifierFactory = idf;
+    this.bodyRetentionPolicy = bodyRetentionPolicy;
   }
 
   /** Resolves all classes that are part of the view and stores them in the cache. */
   @Override
   @Nonnull
   public synchronized Stream<JavaSootClass> getClasses() {
-    if (isFullyResolved && cache instanceof FullCache) {
+    if (isFullyResolved && (cache instanceof FullCache || cache instanceof ConcurrentFullCache)) {
       return cache.getClasses().stream().map(clazz -> (JavaSootClass) clazz);
     }
 
@@ -98,6 +136,56 @@ public class JavaView extends AbstractView {
     return resolvedClasses;
   }
 
+  /**
+   * Reads the class headers of all input locations in parallel without resolving any class. If a
+   * class is contained in multiple input locations, the header of the first one is used, like for
+   * the resolution of the class itself.
+   */
+  @Override
+  @Nonnull
+  public Stream<ClassHeader> getClassHeaders() {
+    List<List<ClassHeader>> headersPerLocation =
+        inputLocations
+            .parallelStream()
+            .map(location -> location.getClassHeaders(this).collect(Collectors.toList()))
+            .collect(Collectors.toList());
+    Map<ClassType, ClassHeader> headers = new LinkedHashMap<>();
+    for (List<ClassHeader> locationHeaders : headersPerLocation) {
+      for (ClassHeader header : locationHeaders) {
+        headers.putIfAbsent(header.getType(), header);
+      }
+    }
+    return headers.values().stream();
+  }
+
+  /**
+   * Resolves all classes that are part of the view on the given executor. Each class is built by a
+   * separate task, so distinct classes are built in parallel if the view supports it (see {@link
+   * ConcurrentJavaView}); the bodies are resolved in parallel in any case.
+   */
+  @Nonnull
+  @Override
+  public List<JavaSootClass> resolveAll(
+      @Nonnull Executor executor,
+      boolean resolveBodies,
+      @Nonnull ResolutionProgressListener listener) {
+    List<Supplier<JavaSootClass>> classResolvers =
+        inputLocations.stream()
+            .flatMap(location -> location.getClassSources(this).stream())
+            .map(classSource -> (Supplier<JavaSootClass>) () -> buildClassFrom(classSource).get())
+            .collect(Collectors.toList());
+    List<JavaSootClass> classes =
+        BulkResolver.resolveAll(classResolvers, executor, resolveBodies, listener);
+    isFullyResolved = true;
+    return classes;
+  }
+
+  @Nonnull
+  @Override
+  public List<JavaSootClass> resolveAll(@Nonnull Executor executor, boolean resolveBodies) {
+    return resolveAll(executor, resolveBodies, ResolutionProgressListener.NONE);
+  }
+
   /** Resolves the class matching the provided {@link ClassType ClassType}. */
   @Override
   @Nonnull
@@ -131,23 +219,59 @@ public class JavaView extends AbstractView {
     return identifierFactory;
   }
 
+  @Nonnull
+  @Override
+  public BodyRetentionPolicy getBodyRetentionPolicy() {
+    return bodyRetentionPolicy;
+  }
+
   /** Returns the number of classes that are currently stored in the cache. */
   public int getCachedClassesCount() {
     return cache.size();
   }
 
+  /**
+   * Finds the source of the given type in the input locations. Types that are found in none of them
+   * (e.g. phantom types when the classpath is incomplete) are remembered, so that repeated lookups
+   * do not probe the input locations again.
+   */
   @Nonnull
   protected Optional<JavaSootClassSource> getClassSource(@Nonnull ClassType type) {
-    return inputLocations
-        .parallelStream()
-        .map(location -> location.getClassSource(type, this))
-        .filter(Optional::isPresent)
-        // like javas behaviour: if multiple matching Classes(ClassTypes) are found on the
-        // classpath the first is returned (see splitpackage)
-        .limit(1)
-        .map(Optional::get)
-        .map(classSource -> (JavaSootClassSource) classSource)
-        .findAny();
+    if (unresolvableClassTypes.contains(type)) {
+      return Optional.empty();
+    }
+
+    List<AnalysisInputLocation> candidates = new ArrayList<>(1);
+    for (AnalysisInputLocation location : inputLocations) {
+      if (location.mayContain(type)) {
+        candidates.add(location);
+      }
+    }
+
+    Optional<JavaSootClassSource> classSource;
+    if (candidates.isEmpty()) {
+      classSource = Optional.empty();
+    } else if (candidates.size() == 1) {
+      classSource =
+          candidates.get(0).getClassSource(type, this).map(src -> (JavaSootClassSource) src);
+    } else {
+      classSource =
+          candidates
+              .parallelStream()
+              .map(location -> location.getClassSource(type, this))
+              .filter(Optional::isPresent)
+              // like javas behaviour: if multiple matching Classes(ClassTypes) are found on the
+              // classpath the first is returned (see splitpackage)
+              .limit(1)
+              .map(Optional::get)
+              .map(src -> (JavaSootClassSource) src)
+              .findAny();
+    }
+
+    if (!classSource.isPresent()) {
+      unresolvableClassTypes.add(type);
+    }
+    return classSource;
   }
 
   @Nonnull
@@ -162,6 +286,7 @@ public class JavaView extends AbstractView {
           (JavaSootClass)
               classSource.buildClass(classSource.getAnalysisInputLocation().getSourceType());
       cache.putClass(classType, theClass);
+      updateTypeHierarchy(theClass);
     }
 
     if (theClass.getType() instanceof AnnotationType) {
@@ -23,6 +23,7 @@ package sootup.java.core.views;
  */
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.slf4j.Logger;
@@ -42,7 +43,9 @@ import sootup.java.core.JavaSootMethod;
  * and replaced within the view.
  */
 public class MutableJavaView extends JavaView implements MutableView {
-  private final List<ViewChangeListener> changeListeners = new LinkedList<>();
+  /** copied on write, so that a listener can remove itself while it is notified */
+  private final List<ViewChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
   private static final @Nonnull Logger logger = LoggerFactory.getLogger(MutableJavaView.class);
 
   public MutableJavaView(@Nonnull AnalysisInputLocation inputLocation) {
@@ -377,4 +377,42 @@ public class JavaIdentifierFactoryTest {
         IllegalArgumentException.class,
         () -> JavaModuleIdentifierFactory.getInstance().parseFieldSignature(fieldsSigStr));
   }
+
+  @Test
+  public void signaturesAreInterned() {
+    JavaIdentifierFactory identifierFactory = JavaIdentifierFactory.getInstance();
+    ClassType declClass = identifierFactory.getClassType("java.lang.System");
+    List<String> parameters = Collections.singletonList("java.lang.String");
+
+    MethodSignature method1 =
+        identifierFactory.getMethodSignature(declClass, "foo", "void", parameters);
+    MethodSignature method2 =
+        identifierFactory.getMethodSignature("java.lang.System", "foo", "void", parameters);
+    MethodSignature method3 =
+        identifierFactory.parseMethodSignature("<java.lang.System: void foo(java.lang.String)>");
+    assertSame(method1, method2);
+    assertSame(method1, method3);
+    assertSame(
+        method1.getSubSignature(),
+        identifierFactory.parseMethodSubSignature("void foo(java.lang.String)"));
+    assertNotSame(
+        method1, identifierFactory.getMethodSignature(declClass, "foo", "int", parameters));
+
+    FieldSignature field1 = identifierFactory.getFieldSignature("out", declClass, "int");
+    FieldSignature field2 = identifierFactory.parseFieldSignature("<java.lang.System: int out>");
+    assertSame(field1, field2);
+    assertSame(field1.getSubSignature(), identifierFactory.parseFieldSubSignature("int out"));
+  }
+
+  @Test
+  public void classTypeFromInternalName() {
+    JavaIdentifierFactory identifierFactory = JavaIdentifierFactory.getInstance();
+    JavaClassType classType = identifierFactory.getClassTypeFromInternalName("java/util/Map$Entry");
+    assertSame(identifierFactory.getClassType("java.util.Map$Entry"), classType);
+    assertSame(classType, identifierFactory.getClassTypeFromInternalName("java/util/Map$Entry"));
+    assertEquals("java.util", classType.getPackageName().getName());
+
+    JavaClassType defaultPackageType = identifierFactory.getClassTypeFromInternalName("A");
+    assertSame(PackageName.DEFAULT_PACKAGE, defaultPackageType.getPackageName());
+  }
 }
@@ -0,0 +1,101 @@
+package sootup.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.cache.body.RebuildBodyRetentionPolicy;
+import sootup.core.cache.body.SoftBodyRetentionPolicy;
+import sootup.core.cache.body.WeightedLRUBodyRetentionPolicy;
+import sootup.core.cache.provider.FullCacheProvider;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.Body;
+import sootup.core.model.SootMethod;
+import sootup.core.model.SourceType;
+import sootup.java.bytecode.inputlocation.PathBasedAnalysisInputLocation;
+import sootup.java.core.views.JavaView;
+
+/** Tests the {@link sootup.core.cache.body.BodyRetentionPolicy}s using the MiniApp.jar. */
+@Tag("Java8")
+public class BodyRetentionPolicyTest {
+  static Path pathToJar = Paths.get("../shared-test-resources/java-miniapps/MiniApp.jar");
+  static List<AnalysisInputLocation> inputLocations;
+
+  @BeforeAll
+  public static void setupProject() {
+    inputLocations =
+        Collections.singletonList(
+            PathBasedAnalysisInputLocation.create(pathToJar, SourceType.Application));
+  }
+
+  private static List<SootMethod> concreteMethods(JavaView view) {
+    return view.getClasses()
+        .flatMap(clazz -> clazz.getMethods().stream())
+        .filter(SootMethod::isConcrete)
+        .collect(Collectors.toList());
+  }
+
+  @Test
+  public void defaultPolicyKeepsBodies() {
+    JavaView view = new JavaView(inputLocations);
+    SootMethod method = concreteMethods(view).get(0);
+    assertSame(method.getBody(), method.getBody());
+  }
+
+  @Test
+  public void softPolicyKeepsReachableBodies() {
+    JavaView view =
+        new JavaView(
+            inputLocations, new FullCacheProvider(), SoftBodyRetentionPolicy.getInstance());
+    SootMethod method = concreteMethods(view).get(0);
+    Body body = method.getBody();
+    assertSame(body, method.getBody());
+  }
+
+  @Test
+  public void rebuildPolicyResolvesBodyAgain() {
+    JavaView view =
+        new JavaView(
+            inputLocations, new FullCacheProvider(), RebuildBodyRetentionPolicy.getInstance());
+    for (SootMethod method : concreteMethods(view)) {
+      Body body = method.getBody();
+      Body rebuiltBody = method.getBody();
+      assertNotSame(body, rebuiltBody);
+      assertEquals(body.toString(), rebuiltBody.toString());
+    }
+  }
+
+  @Test
+  public void weightedLRUPolicyCapsRetainedStmts() {
+    WeightedLRUBodyRetentionPolicy policy = new WeightedLRUBodyRetentionPolicy(1);
+    JavaView view = new JavaView(inputLocations, new FullCacheProvider(), policy);
+    List<SootMethod> methods = concreteMethods(view);
+    assertTrue(methods.size() > 1);
+
+    SootMethod first = methods.get(0);
+    Body firstBody = first.getBody();
+    assertSame(firstBody, first.getBody());
+    assertEquals(1, policy.getRetainedBodyCount());
+
+    methods.get(1).getBody();
+    assertEquals(1, policy.getRetainedBodyCount());
+    Body reresolvedBody = first.getBody();
+    assertNotSame(firstBody, reresolvedBody);
+    assertEquals(firstBody.toString(), reresolvedBody.toString());
+
+    WeightedLRUBodyRetentionPolicy largePolicy = new WeightedLRUBodyRetentionPolicy(1_000_000);
+    JavaView largeView = new JavaView(inputLocations, new FullCacheProvider(), largePolicy);
+    List<SootMethod> largeViewMethods = concreteMethods(largeView);
+    largeViewMethods.forEach(SootMethod::getBody);
+    assertEquals(largeViewMethods.size(), largePolicy.getRetainedBodyCount());
+  }
+}
@@ -9,6 +9,10 @@ import java.util.List;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import sootup.core.cache.CacheStatistics;
+import sootup.core.cache.ConcurrentLRUCache;
+import sootup.core.cache.provider.ConcurrentFullCacheProvider;
+import sootup.core.cache.provider.ConcurrentLRUCacheProvider;
 import sootup.core.cache.provider.FullCacheProvider;
 import sootup.core.cache.provider.LRUCacheProvider;
 import sootup.core.inputlocation.AnalysisInputLocation;
@@ -75,4 +79,59 @@ public class CacheTest {
     newView.getClasses().count();
     assertEquals(6, newView.getCachedClassesCount());
   }
+
+  /** Test the {@link sootup.core.cache.ConcurrentFullCache} class */
+  @Test
+  public void concurrentFullCacheTest() {
+    JavaView view = new JavaView(inputLocations, new ConcurrentFullCacheProvider());
+    assertEquals(0, view.getCachedClassesCount());
+
+    ClassType miniAppClassType = view.getIdentifierFactory().getClassType("MiniApp");
+    view.getClass(miniAppClassType);
+    view.getClass(miniAppClassType);
+    assertEquals(1, view.getCachedClassesCount());
+
+    view.getClasses().count();
+    assertEquals(6, view.getCachedClassesCount());
+  }
+
+  /** Test the {@link sootup.core.cache.ConcurrentLRUCache} class */
+  @Test
+  public void concurrentLruCacheTest() {
+    JavaView view = new JavaView(inputLocations, new ConcurrentLRUCacheProvider(2, 1));
+    assertEquals(0, view.getCachedClassesCount());
+
+    ClassType miniAppClassType = view.getIdentifierFactory().getClassType("MiniApp");
+    view.getClass(miniAppClassType);
+    view.getClass(miniAppClassType);
+    assertEquals(1, view.getCachedClassesCount());
+
+    view.getClasses().count();
+    assertEquals(2, view.getCachedClassesCount());
+
+    JavaView newView = new JavaView(inputLocations, new ConcurrentLRUCacheProvider(100, 4));
+    newView.getClasses().count();
+    assertEquals(6, newView.getCachedClassesCount());
+  }
+
+  /** Test the hit, miss and eviction counters of the {@link ConcurrentLRUCache} */
+  @Test
+  public void cacheStatisticsTest() {
+    ConcurrentLRUCache cache = new ConcurrentLRUCache(1, 1);
+    JavaView view = new JavaView(inputLocations);
+    ClassType miniAppClassType = view.getIdentifierFactory().getClassType("MiniApp");
+    ClassType utilsOperationClassType =
+        view.getIdentifierFactory().getClassType("utils.Operations");
+
+    cache.getClass(miniAppClassType);
+    cache.putClass(miniAppClassType, view.getClass(miniAppClassType).get());
+    cache.getClass(miniAppClassType);
+    cache.putClass(utilsOperationClassType, view.getClass(utilsOperationClassType).get());
+
+    CacheStatistics statistics = cache;
+    assertEquals(1, statistics.getHitCount());
+    assertEquals(1, statistics.getMissCount());
+    assertEquals(1, statistics.getEvictionCount());
+    assertEquals(1, cache.size());
+  }
 }
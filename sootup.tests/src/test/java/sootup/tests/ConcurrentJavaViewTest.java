@@ -0,0 +1,121 @@
+package sootup.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.core.model.SourceType;
+import sootup.core.types.ClassType;
+import sootup.core.views.ResolutionProgressListener;
+import sootup.java.bytecode.inputlocation.PathBasedAnalysisInputLocation;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.views.ConcurrentJavaView;
+import sootup.java.core.views.JavaView;
+
+/** Tests the class resolution of the {@link ConcurrentJavaView} using the MiniApp.jar. */
+@Tag("Java8")
+public class ConcurrentJavaViewTest {
+  static Path pathToJar = Paths.get("../shared-test-resources/java-miniapps/MiniApp.jar");
+  static List<AnalysisInputLocation> inputLocations;
+
+  @BeforeAll
+  public static void setupProject() {
+    inputLocations =
+        Collections.singletonList(
+            PathBasedAnalysisInputLocation.create(pathToJar, SourceType.Application));
+  }
+
+  @Test
+  public void resolvesSameClassOnceAcrossThreads() throws Exception {
+    ConcurrentJavaView view = new ConcurrentJavaView(inputLocations);
+    ClassType miniAppClassType = view.getIdentifierFactory().getClassType("MiniApp");
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Callable<JavaSootClass>> tasks = new ArrayList<>();
+      for (int i = 0; i < 32; i++) {
+        tasks.add(() -> view.getClass(miniAppClassType).get());
+      }
+      List<Future<JavaSootClass>> results = executor.invokeAll(tasks);
+      JavaSootClass first = results.get(0).get();
+      for (Future<JavaSootClass> result : results) {
+        assertSame(first, result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(1, view.getCachedClassesCount());
+  }
+
+  @Test
+  public void getClassesResolvesEverything() {
+    ConcurrentJavaView view = new ConcurrentJavaView(inputLocations);
+    ClassType miniAppClassType = view.getIdentifierFactory().getClassType("MiniApp");
+    JavaSootClass miniApp = view.getClass(miniAppClassType).get();
+
+    assertEquals(6, view.getClasses().count());
+    assertEquals(6, view.getCachedClassesCount());
+    assertTrue(view.getClasses().anyMatch(clazz -> clazz == miniApp));
+
+    ClassType unknown = view.getIdentifierFactory().getClassType("does.not.Exist");
+    assertFalse(view.getClass(unknown).isPresent());
+  }
+
+  @Test
+  public void resolveAllOnExecutor() {
+    AtomicInteger resolvedClasses = new AtomicInteger();
+    AtomicInteger resolvedBodies = new AtomicInteger();
+    ResolutionProgressListener listener =
+        new ResolutionProgressListener() {
+          @Override
+          public void onClassResolved(SootClass sootClass, int resolvedCount, int totalCount) {
+            resolvedClasses.incrementAndGet();
+            assertTrue(resolvedCount <= totalCount);
+          }
+
+          @Override
+          public void onBodyResolved(SootMethod method, int resolvedCount, int totalCount) {
+            resolvedBodies.incrementAndGet();
+            assertTrue(resolvedCount <= totalCount);
+          }
+        };
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      ConcurrentJavaView view = new ConcurrentJavaView(inputLocations);
+      List<JavaSootClass> classes = view.resolveAll(executor, true, listener);
+      assertEquals(6, classes.size());
+      assertEquals(6, resolvedClasses.get());
+      long concreteMethodCount =
+          classes.stream()
+              .flatMap(clazz -> clazz.getMethods().stream())
+              .filter(SootMethod::isConcrete)
+              .count();
+      assertEquals(concreteMethodCount, resolvedBodies.get());
+      assertEquals(6, view.getCachedClassesCount());
+
+      JavaView javaView = new JavaView(inputLocations);
+      assertEquals(6, javaView.resolveAll(executor, false).size());
+      assertEquals(6, javaView.getCachedClassesCount());
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package sootup.tests.typehierarchy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.model.SourceType;
+import sootup.core.typehierarchy.ClassHeader;
+import sootup.core.typehierarchy.CompactTypeHierarchy;
+import sootup.core.typehierarchy.ViewTypeHierarchy;
+import sootup.core.types.ClassType;
+import sootup.java.bytecode.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.views.JavaView;
+
+/** Compares the {@link CompactTypeHierarchy} with the {@link ViewTypeHierarchy}. */
+@Tag("Java8")
+public class CompactTypeHierarchyTest {
+
+  @Test
+  public void answersLikeViewTypeHierarchy() {
+    JavaView view =
+        new JavaView(
+            new JavaClassPathAnalysisInputLocation(
+                "../shared-test-resources/java-miniapps/MiniApp.jar", SourceType.Application));
+    ViewTypeHierarchy viewHierarchy = new ViewTypeHierarchy(view);
+    CompactTypeHierarchy compactHierarchy = new CompactTypeHierarchy(view);
+
+    Set<ClassType> types = new LinkedHashSet<>();
+    view.getClassHeaders()
+        .forEach(
+            header -> {
+              types.add(header.getType());
+              types.addAll(header.getInterfaces());
+              header.getSuperclass().ifPresent(types::add);
+            });
+    assertEquals(types.size(), compactHierarchy.size());
+
+    for (ClassType type : types) {
+      assertTrue(compactHierarchy.contains(type));
+      assertEquals(viewHierarchy.isInterface(type), compactHierarchy.isInterface(type));
+      assertEquals(viewHierarchy.superClassOf(type), compactHierarchy.superClassOf(type));
+      assertEquals(
+          viewHierarchy.superClassesOf(type).collect(Collectors.toList()),
+          compactHierarchy.superClassesOf(type).collect(Collectors.toList()));
+      assertSameTypes(
+          viewHierarchy.implementedInterfacesOf(type),
+          compactHierarchy.implementedInterfacesOf(type));
+      assertSameTypes(viewHierarchy.subtypesOf(type), compactHierarchy.subtypesOf(type));
+      assertSameTypes(
+          viewHierarchy.directSubtypesOf(type), compactHierarchy.directSubtypesOf(type));
+      if (viewHierarchy.isInterface(type)) {
+        assertSameTypes(
+            viewHierarchy.directlyExtendedInterfacesOf(type),
+            compactHierarchy.directlyExtendedInterfacesOf(type));
+        assertThrows(IllegalArgumentException.class, () -> compactHierarchy.subclassesOf(type));
+      } else {
+        assertSameTypes(
+            viewHierarchy.directlyImplementedInterfacesOf(type),
+            compactHierarchy.directlyImplementedInterfacesOf(type));
+        assertThrows(IllegalArgumentException.class, () -> compactHierarchy.implementersOf(type));
+      }
+      for (ClassType supertype : types) {
+        assertEquals(
+            viewHierarchy.isSubtype(supertype, type), compactHierarchy.isSubtype(supertype, type));
+      }
+    }
+
+    ClassType missing = view.getIdentifierFactory().getClassType("does.not.Exist");
+    assertFalse(compactHierarchy.contains(missing));
+    assertThrows(IllegalArgumentException.class, () -> compactHierarchy.subtypesOf(missing));
+  }
+
+  @Test
+  public void firstHeaderOfATypeIsUsed() {
+    JavaView view =
+        new JavaView(
+            new JavaClassPathAnalysisInputLocation(
+                "../shared-test-resources/java-miniapps/MiniApp.jar", SourceType.Application));
+    ClassType object = view.getIdentifierFactory().getClassType("java.lang.Object");
+    ClassType a = view.getIdentifierFactory().getClassType("A");
+    ClassType b = view.getIdentifierFactory().getClassType("B");
+    ClassType c = view.getIdentifierFactory().getClassType("C");
+
+    List<ClassHeader> headers = new ArrayList<>();
+    headers.add(new ClassHeader(a, false, b, new ArrayList<>()));
+    headers.add(new ClassHeader(b, false, object, new ArrayList<>()));
+    headers.add(new ClassHeader(a, false, c, new ArrayList<>()));
+    CompactTypeHierarchy hierarchy = new CompactTypeHierarchy(headers, object);
+
+    assertEquals(b, hierarchy.superClassOf(a).get());
+    assertFalse(hierarchy.contains(c));
+    assertTrue(hierarchy.isSubtype(b, a));
+    assertTrue(hierarchy.isSubtype(object, a));
+  }
+
+  private static void assertSameTypes(Stream<ClassType> expected, Stream<ClassType> actual) {
+    assertEquals(expected.collect(Collectors.toSet()), actual.collect(Collectors.toSet()));
+  }
+}
@@ -0,0 +1,160 @@
+package sootup.tests.typehierarchy;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.SourceType;
+import sootup.core.typehierarchy.ClassHeader;
+import sootup.core.typehierarchy.CompactTypeHierarchy;
+import sootup.core.typehierarchy.TypeHierarchySnapshot;
+import sootup.core.types.ClassType;
+import sootup.java.bytecode.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.views.JavaView;
+
+@Tag("Java8")
+public class TypeHierarchySnapshotTest {
+
+  @Test
+  public void storedSnapshotIsLoadedWhileTheLocationIsUnchanged() throws IOException {
+    Path directory = Files.createTempDirectory("snapshots");
+    Path jar = directory.resolve("MiniApp.jar");
+    Files.copy(Paths.get("../shared-test-resources/java-miniapps/MiniApp.jar"), jar);
+    try {
+      AnalysisInputLocation location =
+          new JavaClassPathAnalysisInputLocation(jar.toString(), SourceType.Library);
+      List<AnalysisInputLocation> locations = Collections.singletonList(location);
+      JavaView view = new JavaView(location);
+
+      TypeHierarchySnapshot created =
+          TypeHierarchySnapshot.loadOrCreate(directory, view, locations);
+      assertTrue(created.getKey().isPresent());
+      assertEquals(
+          view.getClassHeaders().map(ClassHeader::getType).collect(Collectors.toList()),
+          created.getClassHeaders().stream()
+              .map(ClassHeader::getType)
+              .collect(Collectors.toList()));
+
+      List<Path> stored;
+      try (Stream<Path> files = Files.list(directory)) {
+        stored =
+            files
+                .filter(file -> file.toString().endsWith(".hierarchy"))
+                .collect(Collectors.toList());
+      }
+      assertEquals(1, stored.size());
+      TypeHierarchySnapshot loaded =
+          TypeHierarchySnapshot.read(stored.get(0), view.getIdentifierFactory());
+      assertEquals(created.getKey(), loaded.getKey());
+      assertEquals(created.getClassHeaders().size(), loaded.getClassHeaders().size());
+      for (int i = 0; i < created.getClassHeaders().size(); i++) {
+        ClassHeader expected = created.getClassHeaders().get(i);
+        ClassHeader actual = loaded.getClassHeaders().get(i);
+        assertEquals(expected.getType(), actual.getType());
+        assertEquals(expected.isInterface(), actual.isInterface());
+        assertEquals(expected.getSuperclass(), actual.getSuperclass());
+        assertEquals(
+            expected.getInterfaces().stream().collect(Collectors.toList()),
+            actual.getInterfaces().stream().collect(Collectors.toList()));
+      }
+
+      // a changed location invalidates the snapshot
+      Files.setLastModifiedTime(jar, FileTime.fromMillis(0));
+      assertNotEquals(
+          created.getKey(),
+          TypeHierarchySnapshot.createKey(view.getIdentifierFactory(), locations));
+    } finally {
+      deleteRecursively(directory);
+    }
+  }
+
+  @Test
+  public void corruptSnapshotIsRebuilt() throws IOException {
+    Path directory = Files.createTempDirectory("snapshots");
+    Path jar = directory.resolve("MiniApp.jar");
+    Files.copy(Paths.get("../shared-test-resources/java-miniapps/MiniApp.jar"), jar);
+    try {
+      AnalysisInputLocation location =
+          new JavaClassPathAnalysisInputLocation(jar.toString(), SourceType.Library);
+      List<AnalysisInputLocation> locations = Collections.singletonList(location);
+      JavaView view = new JavaView(location);
+      TypeHierarchySnapshot created =
+          TypeHierarchySnapshot.loadOrCreate(directory, view, locations);
+      Path file = directory.resolve(created.getKey().get() + ".hierarchy");
+      byte[] stored = Files.readAllBytes(file);
+
+      // magic, format version and the key are followed by the count of types and the names of
+      // the first type, i.e. their count, the length of its kind and the kind itself
+      int typeCountOffset = 2 * Integer.BYTES + Integer.BYTES + created.getKey().get().length();
+      int kindOffset = typeCountOffset + 3 * Integer.BYTES;
+      List<byte[]> corruptions =
+          Arrays.asList(
+              ByteBuffer.wrap(stored.clone()).putInt(typeCountOffset, -1).array(),
+              ByteBuffer.wrap(stored.clone()).putInt(typeCountOffset, Integer.MAX_VALUE).array(),
+              ByteBuffer.wrap(stored.clone()).put(kindOffset, (byte) 'X').array(),
+              Arrays.copyOf(stored, stored.length / 2));
+      for (byte[] corruption : corruptions) {
+        Files.write(file, corruption);
+        assertThrows(
+            IOException.class, () -> TypeHierarchySnapshot.read(file, view.getIdentifierFactory()));
+
+        TypeHierarchySnapshot rebuilt =
+            TypeHierarchySnapshot.loadOrCreate(directory, view, locations);
+        assertEquals(created.getClassHeaders().size(), rebuilt.getClassHeaders().size());
+        assertArrayEquals(stored, Files.readAllBytes(file));
+      }
+    } finally {
+      deleteRecursively(directory);
+    }
+  }
+
+  @Test
+  public void snapshotsAreComposable() {
+    AnalysisInputLocation location =
+        new JavaClassPathAnalysisInputLocation(
+            "../shared-test-resources/java-miniapps/MiniApp.jar", SourceType.Application);
+    JavaView view = new JavaView(location);
+    ClassType object = view.getIdentifierFactory().getClassType("java.lang.Object");
+
+    TypeHierarchySnapshot snapshot =
+        TypeHierarchySnapshot.of(view, Collections.singletonList(location));
+    TypeHierarchySnapshot empty = TypeHierarchySnapshot.of(view, Collections.emptyList());
+    CompactTypeHierarchy composed =
+        TypeHierarchySnapshot.compose(Arrays.asList(empty, snapshot, snapshot), object);
+    CompactTypeHierarchy expected = new CompactTypeHierarchy(view);
+
+    assertEquals(expected.size(), composed.size());
+    for (ClassHeader header : snapshot.getClassHeaders()) {
+      ClassType type = header.getType();
+      assertEquals(expected.superClassOf(type), composed.superClassOf(type));
+      assertEquals(
+          expected.subtypesOf(type).collect(Collectors.toSet()),
+          composed.subtypesOf(type).collect(Collectors.toSet()));
+    }
+  }
+
+  private static void deleteRecursively(Path directory) throws IOException {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+        Files.delete(path);
+      }
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package sootup.tests.typehierarchy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sootup.core.model.SourceType;
+import sootup.core.typehierarchy.ClassHeader;
+import sootup.core.typehierarchy.ViewTypeHierarchy;
+import sootup.core.types.ClassType;
+import sootup.java.bytecode.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.views.JavaView;
+
+/** Compares the indexed subtype queries of the {@link ViewTypeHierarchy} with their definition. */
+@Tag("Java8")
+public class ViewTypeHierarchySubtypeTest {
+
+  @Test
+  public void isSubtypeMatchesSuperClassesAndInterfaces() {
+    JavaView view =
+        new JavaView(
+            new JavaClassPathAnalysisInputLocation(
+                "../shared-test-resources/java-miniapps/MiniApp.jar", SourceType.Application));
+    ViewTypeHierarchy typeHierarchy = new ViewTypeHierarchy(view);
+
+    List<ClassType> types = view.getClasses().map(c -> c.getType()).collect(Collectors.toList());
+    List<ClassType> allTypes = new ArrayList<>(types);
+    for (ClassType type : types) {
+      typeHierarchy.superClassesOf(type).forEach(allTypes::add);
+      typeHierarchy.implementedInterfacesOf(type).forEach(allTypes::add);
+    }
+
+    int subtypeRelations = 0;
+    for (ClassType subtype : types) {
+      List<ClassType> supertypes =
+          Stream.concat(
+                  typeHierarchy.superClassesOf(subtype),
+                  typeHierarchy.implementedInterfacesOf(subtype))
+              .collect(Collectors.toList());
+      for (ClassType supertype : allTypes) {
+        boolean expected =
+            supertype.getFullyQualifiedName().equals("java.lang.Object")
+                ? !subtype.equals(supertype)
+                : supertypes.contains(supertype);
+        assertEquals(expected, typeHierarchy.isSubtype(supertype, subtype));
+        if (expected) {
+          subtypeRelations++;
+        }
+      }
+      assertFalse(typeHierarchy.isSubtype(subtype, subtype));
+    }
+    assertTrue(subtypeRelations > types.size());
+
+    ClassType employee = view.getIdentifierFactory().getClassType("ds.Employee");
+    ClassType dataStructure = view.getIdentifierFactory().getClassType("ds.AbstractDataStrcture");
+    assertTrue(typeHierarchy.isSubtype(dataStructure, employee));
+    assertFalse(typeHierarchy.isSubtype(employee, dataStructure));
+    assertEquals(
+        typeHierarchy.subtypesOf(dataStructure).collect(Collectors.toList()),
+        typeHierarchy.subtypesOf(dataStructure).collect(Collectors.toList()));
+
+    ClassType missing = view.getIdentifierFactory().getClassType("does.not.Exist");
+    assertFalse(typeHierarchy.isSubtype(missing, employee));
+  }
+
+  @Test
+  public void hierarchyIsBuiltFromClassHeaders() {
+    JavaView view =
+        new JavaView(
+            new JavaClassPathAnalysisInputLocation(
+                "../shared-test-resources/java-miniapps/MiniApp.jar", SourceType.Application));
+    ViewTypeHierarchy typeHierarchy = new ViewTypeHierarchy(view);
+
+    ClassType employee = view.getIdentifierFactory().getClassType("ds.Employee");
+    ClassType dataStructure = view.getIdentifierFactory().getClassType("ds.AbstractDataStrcture");
+    assertTrue(typeHierarchy.isSubtype(dataStructure, employee));
+    // no class has to be resolved to build the hierarchy
+    assertEquals(0, view.getCachedClassesCount());
+
+    Set<List<Object>> headers =
+        view.getClassHeaders()
+            .map(ViewTypeHierarchySubtypeTest::describe)
+            .collect(Collectors.toSet());
+    Set<List<Object>> classes =
+        view.getClasses()
+            .map(sootClass -> describe(ClassHeader.of(sootClass)))
+            .collect(Collectors.toSet());
+    assertEquals(classes, headers);
+  }
+
+  private static List<Object> describe(ClassHeader header) {
+    return Arrays.asList(
+        header.getType(),
+        header.isInterface(),
+        header.getSuperclass(),
+        new HashSet<>(header.getInterfaces()));
+  }
+}